@@ -1,11 +1,29 @@
 package pl.codewise.amazon.client;
 
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.CopyObjectResult;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ListVersionsRequest;
 import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.Owner;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.services.s3.model.S3VersionSummary;
+import com.amazonaws.services.s3.model.VersionListing;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
 import io.reactivex.*;
+import io.reactivex.functions.Action;
+import io.reactivex.processors.FlowableProcessor;
+import io.reactivex.processors.UnicastProcessor;
+import io.reactivex.schedulers.Schedulers;
 import javolution.text.TextBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,10 +32,30 @@ import org.xmlpull.v1.XmlPullParserFactory;
 import pl.codewise.amazon.client.auth.AWSSignatureCalculatorFactory;
 import pl.codewise.amazon.client.http.NettyHttpClient;
 import pl.codewise.amazon.client.http.Request;
+import pl.codewise.amazon.client.http.StreamingBody;
+import pl.codewise.amazon.client.utils.KeyComparator;
 import pl.codewise.amazon.client.utils.TextBuilders;
 import pl.codewise.amazon.client.utils.UTF8UrlEncoder;
 import pl.codewise.amazon.client.xml.*;
 
+import java.nio.ByteBuffer;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
 import static pl.codewise.amazon.client.RestUtils.appendQueryString;
 
 /**
@@ -30,15 +68,49 @@ public class AsyncS3Client implements AutoCloseable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AsyncS3Client.class);
 
+    private static final String PRINTABLE_ASCII = " !\"#$%&'()*+,-./0123456789:;<=>?@ABCDEFGHIJKLMNOPQRSTUVWXYZ[\\]^_`abcdefghijklmnopqrstuvwxyz{|}~";
+    private static final int SAMPLING_CONCURRENCY = 16;
+    private static final int MAX_KEYS_PER_BULK_DELETE = 1000;
+    private static final int MAX_PARTS = 10_000;
+    private static final String COPY_SOURCE_HEADER = "x-amz-copy-source";
+
+    public static final long DEFAULT_MULTIPART_COPY_THRESHOLD = 512L * 1024 * 1024;
+    public static final long DEFAULT_COPY_PART_SIZE = 128L * 1024 * 1024;
+    public static final int DEFAULT_COPY_PARALLELISM = 8;
+
+    public static final int DEFAULT_READ_BLOCK_SIZE = 1024 * 1024;
+    public static final int DEFAULT_CACHED_READ_BLOCKS = 16;
+    public static final int DEFAULT_MAX_READAHEAD_BLOCKS = 8;
+
+    public static final long DEFAULT_VECTORED_READ_MERGE_GAP = 64 * 1024;
+    public static final long DEFAULT_VECTORED_READ_MAX_MERGED_SIZE = 8 * 1024 * 1024;
+    public static final int DEFAULT_VECTORED_READ_PARALLELISM = 8;
+
+    public static final int DEFAULT_EXISTS_PARALLELISM = 16;
+
+    public static final int DEFAULT_EXISTS_ALL_MIN_KEYS_PER_PAGE = 8;
+
+    private static final int MAX_KEYS_PER_LIST_PAGE = 1000;
+
     private final NettyHttpClient httpClient;
     @SuppressWarnings("rawtypes")
     private final SingleTransformer retryTransformer;
 
     private final ListResponseParser listResponseParser;
+    private final CompactListResponseParser compactListResponseParser;
+    private final ListObjectsV2ResponseParser listObjectsV2ResponseParser;
+    private final ListVersionsResponseParser listVersionsResponseParser;
+    private final DeleteResultResponseParser deleteResultResponseParser;
+    private final CopyResultResponseParser copyResultResponseParser;
     private final ErrorResponseParser errorResponseParser;
 
     private final AWSSignatureCalculatorFactory signatureCalculatorFactory;
 
+    private final DeleteBatcher deleteBatcher;
+    private final RequestCoalescer requestCoalescer;
+    private final ListingCache listingCache;
+    private final MissingKeyCache missingKeyCache;
+
     public AsyncS3Client(
             ClientConfiguration configuration,
             SingleTransformer retryTransformer,
@@ -51,12 +123,47 @@ public class AsyncS3Client implements AutoCloseable {
             pullParserFactory.setNamespaceAware(false);
 
             listResponseParser = ListResponseParser.newListResponseParser(pullParserFactory, configuration);
+            compactListResponseParser = new CompactListResponseParser(configuration);
+            listObjectsV2ResponseParser = ListObjectsV2ResponseParser.newListObjectsV2ResponseParser(pullParserFactory, configuration);
+            listVersionsResponseParser = ListVersionsResponseParser.newListVersionsResponseParser(pullParserFactory, configuration);
+            deleteResultResponseParser = new DeleteResultResponseParser(pullParserFactory);
+            copyResultResponseParser = new CopyResultResponseParser(pullParserFactory);
             errorResponseParser = new ErrorResponseParser(pullParserFactory);
         } catch (XmlPullParserException e) {
             throw new RuntimeException("Unable to initialize xml pull parser factory", e);
         }
 
         signatureCalculatorFactory = new AWSSignatureCalculatorFactory(configuration.getCredentialsProvider());
+
+        if (configuration.getDeleteBatchLingerMillis() > 0) {
+            deleteBatcher = new DeleteBatcher(
+                    this::deleteObjectsBatch,
+                    MAX_KEYS_PER_BULK_DELETE,
+                    configuration.getDeleteBatchLingerMillis(),
+                    Schedulers.computation());
+        } else {
+            deleteBatcher = null;
+        }
+
+        requestCoalescer = configuration.isCoalesceRequests() ? new RequestCoalescer() : null;
+
+        if (configuration.getListingCacheTtlMillis() > 0 && configuration.getListingCacheMaxEntries() > 0) {
+            listingCache = new ListingCache(
+                    configuration.getListingCacheTtlMillis(),
+                    configuration.getListingCacheMaxEntries(),
+                    Schedulers.computation());
+        } else {
+            listingCache = null;
+        }
+
+        if (configuration.getMissingKeyCacheTtlMillis() > 0 && configuration.getMissingKeyCacheMaxEntries() > 0) {
+            missingKeyCache = new MissingKeyCache(
+                    configuration.getMissingKeyCacheTtlMillis(),
+                    configuration.getMissingKeyCacheMaxEntries(),
+                    Schedulers.computation());
+        } else {
+            missingKeyCache = null;
+        }
     }
 
     public int acquiredConnections() {
@@ -82,7 +189,8 @@ public class AsyncS3Client implements AutoCloseable {
                 .setContentType(metadata.getContentType())
                 .build();
 
-        return retrieveResult(request, DiscardBytesParser.getInstance());
+        return retrieveResult(request, DiscardBytesParser.getInstance())
+                .doFinally(invalidatingCaches(bucketName, key));
     }
 
     public void listObjects(String bucketName, SingleEmitter<ObjectListing> subscriber) {
@@ -159,26 +267,481 @@ public class AsyncS3Client implements AutoCloseable {
     }
 
     private void listObjects(ListObjectsRequest listObjectsRequest, SingleEmitter<? super ObjectListing> observer) {
+        listObjects(listObjectsRequest, listResponseParser, observer);
+    }
+
+    private <T> void listObjects(
+            ListObjectsRequest listObjectsRequest,
+            GenericResponseParser<T> responseParser,
+            SingleEmitter<? super T> observer) {
+        retrieveResult(listRequest(listObjectsRequest), responseParser, observer);
+    }
+
+    private Request listRequest(ListObjectsRequest listObjectsRequest) {
         TextBuilder urlBuilder = TextBuilders.threadLocal();
         urlBuilder.append("/?");
         appendQueryString(urlBuilder, listObjectsRequest);
 
-        Request request = httpClient.prepareList(urlBuilder.toString())
+        return httpClient.prepareList(urlBuilder.toString())
                 .setBucketName(listObjectsRequest.getBucketName())
                 .setSignatureCalculatorFactory(signatureCalculatorFactory)
                 .build();
-
-        retrieveResult(request, listResponseParser, observer);
     }
 
     public Single<ObjectListing> listObjects(ListObjectsRequest listObjectsRequest) {
+        return retrieveShared(listRequest(listObjectsRequest), listResponseParser, AsyncS3Client::copyOf);
+    }
+
+    /**
+     * Lists a single page of objects keeping only those accepted by the filter. With the byte level parser objects
+     * are rejected before their summaries are created. Next marker is derived from the last object in the response,
+     * so the page can be empty and still be truncated.
+     */
+    public Single<ObjectListing> listObjects(ListObjectsRequest listObjectsRequest, ObjectSummaryFilter filter) {
+        GenericResponseParser<ObjectListing> responseParser = listResponseParser.filteredBy(filter);
+
+        return singleWithRetries(
+                subscriber -> listObjects(
+                        listObjectsRequest,
+                        responseParser,
+                        subscriber)
+        );
+    }
+
+    /**
+     * Lists a single page of objects into a {@link CompactObjectListing}, which keeps keys, sizes and other fields in
+     * flat arrays instead of creating an object summary per key. Owners are not parsed. Pages are served from the
+     * listing cache if it is configured.
+     */
+    public Single<CompactObjectListing> listObjectsCompact(ListObjectsRequest listObjectsRequest) {
+        ListObjectsRequest request = copyOf(listObjectsRequest);
+        Supplier<Single<CompactObjectListing>> loader =
+                () -> retrieveShared(listRequest(request), compactListResponseParser, UnaryOperator.identity());
+
+        return listingCache == null ? loader.get() : listingCache.get(request, loader);
+    }
+
+    /**
+     * Lists a single page of objects accepted by the filter into a {@link CompactObjectListing}.
+     */
+    public Single<CompactObjectListing> listObjectsCompact(ListObjectsRequest listObjectsRequest, ObjectSummaryFilter filter) {
+        CompactListResponseParser responseParser = compactListResponseParser.filteredBy(filter);
+
         return singleWithRetries(
                 subscriber -> listObjects(
                         listObjectsRequest,
+                        responseParser,
                         subscriber)
         );
     }
 
+    private <T> void listObjectsV2(
+            ListObjectsV2Request listObjectsRequest,
+            GenericResponseParser<T> responseParser,
+            SingleEmitter<? super T> observer) {
+        TextBuilder urlBuilder = TextBuilders.threadLocal();
+        urlBuilder.append("/?");
+        appendQueryString(urlBuilder, listObjectsRequest);
+
+        Request request = httpClient.prepareList(urlBuilder.toString())
+                .setBucketName(listObjectsRequest.getBucketName())
+                .setSignatureCalculatorFactory(signatureCalculatorFactory)
+                .build();
+
+        retrieveResult(request, responseParser, observer);
+    }
+
+    /**
+     * Lists a single page of objects with ListObjectsV2 API. Pages are followed with continuation tokens and listing
+     * can start after any key. Owners are returned only if the request asks for them.
+     */
+    public Single<ListObjectsV2Result> listObjectsV2(ListObjectsV2Request listObjectsRequest) {
+        return singleWithRetries(
+                subscriber -> listObjectsV2(
+                        listObjectsRequest,
+                        listObjectsV2ResponseParser,
+                        subscriber)
+        );
+    }
+
+    public Single<ListObjectsV2Result> listNextBatchOfObjects(ListObjectsV2Request listObjectsRequest, ListObjectsV2Result previousResult) {
+        if (!previousResult.isTruncated()) {
+            ListObjectsV2Result emptyResult = new ListObjectsV2Result();
+            emptyResult.setBucketName(previousResult.getBucketName());
+            emptyResult.setPrefix(previousResult.getPrefix());
+            emptyResult.setDelimiter(previousResult.getDelimiter());
+            emptyResult.setMaxKeys(previousResult.getMaxKeys());
+            emptyResult.setTruncated(false);
+
+            return Single.just(emptyResult);
+        }
+
+        ListObjectsV2Request nextRequest = new ListObjectsV2Request()
+                .withBucketName(listObjectsRequest.getBucketName())
+                .withPrefix(listObjectsRequest.getPrefix())
+                .withDelimiter(listObjectsRequest.getDelimiter())
+                .withMaxKeys(listObjectsRequest.getMaxKeys())
+                .withFetchOwner(listObjectsRequest.isFetchOwner())
+                .withContinuationToken(previousResult.getNextContinuationToken());
+
+        return listObjectsV2(nextRequest);
+    }
+
+    /**
+     * Lists all objects matching the request, following next markers until the listing is no longer truncated.
+     * Summaries are emitted as soon as their Contents element is parsed and the next page is requested only after
+     * the current one has been consumed, so at most a single page is buffered regardless of the number of objects.
+     * <p>
+     * Pages are not retried, as part of a failed page could have already been emitted.
+     */
+    public Flowable<S3ObjectSummary> listObjectsStream(ListObjectsRequest listObjectsRequest) {
+        return listObjectsStream(listObjectsRequest, ObjectSummaryFilter.ALL);
+    }
+
+    /**
+     * Lists all objects matching the request and accepted by the filter, as {@link #listObjectsStream(ListObjectsRequest)}
+     * does.
+     */
+    public Flowable<S3ObjectSummary> listObjectsStream(ListObjectsRequest listObjectsRequest, ObjectSummaryFilter filter) {
+        return this.<ListObjectsRequest, ObjectListing, S3ObjectSummary>pagedStream(
+                copyOf(listObjectsRequest),
+                (request, emitter) -> Single.create(subscriber -> listObjects(
+                        request,
+                        listResponseParser.streamingTo(emitter::onNext, filter),
+                        subscriber)),
+                AsyncS3Client::nextPageRequest);
+    }
+
+    /**
+     * Lists all pages of objects matching the request. Next page is requested as soon as its marker is known, which
+     * for markers sent by the server happens before the current page is parsed, so that the following round trip
+     * overlaps with parsing and consuming pages. At most prefetch pages are requested or buffered ahead of downstream
+     * demand.
+     */
+    public Flowable<ObjectListing> listObjectsPages(ListObjectsRequest listObjectsRequest, int prefetch) {
+        return new PrefetchingPageFlowable<ListObjectsRequest, ObjectListing>(
+                copyOf(listObjectsRequest),
+                (request, nextRequestConsumer) -> Single.create(subscriber -> listObjects(
+                        request,
+                        listResponseParser.notifyingNextMarker(nextMarker -> nextRequestConsumer.accept(withMarker(request, nextMarker))),
+                        subscriber)),
+                AsyncS3Client::nextPageRequest,
+                prefetch);
+    }
+
+    /**
+     * Lists all objects under the root prefix, walking the hierarchy defined by the delimiter. Every common prefix
+     * found on the way is listed on its own, page after page, with at most the given number of prefixes listed at the
+     * same time. Summaries are emitted as soon as they are parsed, so their order is not defined.
+     */
+    public Flowable<S3ObjectSummary> walkTree(String bucketName, String rootPrefix, String delimiter, int parallelism) {
+        return Flowable.defer(() -> {
+            FlowableProcessor<String> prefixes = UnicastProcessor.<String>create().toSerialized();
+            AtomicInteger pendingPrefixes = new AtomicInteger(1);
+            prefixes.onNext(rootPrefix == null ? "" : rootPrefix);
+
+            return prefixes.flatMap(
+                    prefix -> listPrefixStream(bucketName, prefix, delimiter, commonPrefix -> {
+                        pendingPrefixes.incrementAndGet();
+                        prefixes.onNext(commonPrefix);
+                    }).doOnComplete(() -> {
+                        if (pendingPrefixes.decrementAndGet() == 0) {
+                            prefixes.onComplete();
+                        }
+                    }),
+                    parallelism);
+        });
+    }
+
+    private Flowable<S3ObjectSummary> listPrefixStream(String bucketName, String prefix, String delimiter, Consumer<String> commonPrefixConsumer) {
+        return this.<ListObjectsRequest, ObjectListing, S3ObjectSummary>pagedStream(
+                new ListObjectsRequest(bucketName, prefix, null, delimiter, null),
+                (request, emitter) -> Single
+                        .<ObjectListing>create(subscriber -> listObjects(
+                                request,
+                                listResponseParser.streamingTo(emitter::onNext),
+                                subscriber))
+                        .doOnSuccess(listing -> listing.getCommonPrefixes().forEach(commonPrefixConsumer)),
+                AsyncS3Client::nextPageRequest);
+    }
+
+    /**
+     * Lists all objects matching the request in shards listed at the same time. The key range is split at given keys,
+     * each shard starting after one split point and ending with the next one, so a shard that got past its upper
+     * bound stops listing. Split points have to be sorted as S3 sorts keys, see {@link KeyComparator}.
+     * <p>
+     * With sorted set to true summaries are emitted in key order, shards following the first one are buffered until
+     * it is their turn. Otherwise they are emitted as soon as they are parsed.
+     */
+    public Flowable<S3ObjectSummary> listObjectsSharded(
+            ListObjectsRequest listObjectsRequest,
+            List<String> splitPoints,
+            int parallelism,
+            boolean sorted) {
+        List<Flowable<S3ObjectSummary>> shards = new ArrayList<>(splitPoints.size() + 1);
+        String lowerBound = listObjectsRequest.getMarker();
+        for (String upperBound : splitPoints) {
+            shards.add(listShard(listObjectsRequest, lowerBound, upperBound));
+            lowerBound = upperBound;
+        }
+        shards.add(listShard(listObjectsRequest, lowerBound, null));
+
+        if (sorted) {
+            return Flowable.concatEager(shards, parallelism, Flowable.bufferSize());
+        }
+        return Flowable.merge(shards, parallelism);
+    }
+
+    /**
+     * Lists all objects matching the request in shards split at keys found by {@link #sampleSplitPoints(ListObjectsRequest, int)}.
+     */
+    public Flowable<S3ObjectSummary> listObjectsSharded(ListObjectsRequest listObjectsRequest, int shards, boolean sorted) {
+        return sampleSplitPoints(listObjectsRequest, shards)
+                .flatMapPublisher(splitPoints -> listObjectsSharded(listObjectsRequest, splitPoints, shards, sorted));
+    }
+
+    /**
+     * Finds split points dividing keys matching the request into at most the given number of shards. Every printable
+     * ASCII character appended to the prefix is used as a marker of a single key listing and split points are picked
+     * evenly from the keys found, which works well for keys whose first characters are spread uniformly, like hashes.
+     */
+    public Single<List<String>> sampleSplitPoints(ListObjectsRequest listObjectsRequest, int shards) {
+        return sampleSplitPoints(listObjectsRequest, PRINTABLE_ASCII, shards);
+    }
+
+    /**
+     * Finds split points as {@link #sampleSplitPoints(ListObjectsRequest, int)} does, probing the key space with
+     * characters of the given alphabet.
+     */
+    public Single<List<String>> sampleSplitPoints(ListObjectsRequest listObjectsRequest, CharSequence alphabet, int shards) {
+        String prefix = listObjectsRequest.getPrefix() == null ? "" : listObjectsRequest.getPrefix();
+        List<String> markers = new ArrayList<>(alphabet.length());
+        for (int i = 0; i < alphabet.length(); i++) {
+            markers.add(prefix + alphabet.charAt(i));
+        }
+
+        return Flowable.fromIterable(markers)
+                .flatMap(marker -> listObjects(new ListObjectsRequest(listObjectsRequest.getBucketName(), prefix, marker, null, 1))
+                        .toFlowable(), SAMPLING_CONCURRENCY)
+                .filter(listing -> !listing.getObjectSummaries().isEmpty())
+                .map(listing -> listing.getObjectSummaries().get(0).getKey())
+                .distinct()
+                .toSortedList(KeyComparator.getInstance())
+                .map(keys -> pickEvenly(keys, shards - 1));
+    }
+
+    private Flowable<S3ObjectSummary> listShard(ListObjectsRequest listObjectsRequest, String lowerBound, String upperBound) {
+        Flowable<S3ObjectSummary> shard = listObjectsStream(withMarker(listObjectsRequest, lowerBound));
+        if (upperBound == null) {
+            return shard;
+        }
+        return shard.takeWhile(summary -> KeyComparator.getInstance().compare(summary.getKey(), upperBound) <= 0);
+    }
+
+    private static List<String> pickEvenly(List<String> keys, int count) {
+        if (keys.size() <= count) {
+            return keys;
+        }
+
+        List<String> result = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            result.add(keys.get(i * keys.size() / (count + 1)));
+        }
+        return result;
+    }
+
+    private <T> void listObjectVersions(
+            ListVersionsRequest listVersionsRequest,
+            GenericResponseParser<T> responseParser,
+            SingleEmitter<? super T> observer) {
+        TextBuilder urlBuilder = TextBuilders.threadLocal();
+        urlBuilder.append("/?");
+        appendQueryString(urlBuilder, listVersionsRequest);
+
+        Request request = httpClient.prepareListVersions(urlBuilder.toString())
+                .setBucketName(listVersionsRequest.getBucketName())
+                .setSignatureCalculatorFactory(signatureCalculatorFactory)
+                .build();
+
+        retrieveResult(request, responseParser, observer);
+    }
+
+    /**
+     * Lists a single page of object versions and delete markers, starting from key and version id markers of the
+     * request.
+     */
+    public Single<VersionListing> listObjectVersions(ListVersionsRequest listVersionsRequest) {
+        return singleWithRetries(
+                subscriber -> listObjectVersions(
+                        listVersionsRequest,
+                        listVersionsResponseParser,
+                        subscriber)
+        );
+    }
+
+    public Single<VersionListing> listNextBatchOfVersions(VersionListing versionListing) {
+        if (!versionListing.isTruncated()) {
+            VersionListing emptyListing = new VersionListing();
+            emptyListing.setBucketName(versionListing.getBucketName());
+            emptyListing.setDelimiter(versionListing.getDelimiter());
+            emptyListing.setKeyMarker(versionListing.getNextKeyMarker());
+            emptyListing.setVersionIdMarker(versionListing.getNextVersionIdMarker());
+            emptyListing.setMaxKeys(versionListing.getMaxKeys());
+            emptyListing.setPrefix(versionListing.getPrefix());
+            emptyListing.setTruncated(false);
+
+            return Single.just(emptyListing);
+        }
+
+        return listObjectVersions(new ListVersionsRequest(
+                versionListing.getBucketName(),
+                versionListing.getPrefix(),
+                versionListing.getNextKeyMarker(),
+                versionListing.getNextVersionIdMarker(),
+                versionListing.getDelimiter(),
+                versionListing.getMaxKeys()));
+    }
+
+    /**
+     * Lists all versions and delete markers matching the request, following key and version id markers until the
+     * listing is no longer truncated. Summaries are emitted page by page as they are parsed and the next page is
+     * requested only after the current one has been consumed. Pages are not retried.
+     */
+    public Flowable<S3VersionSummary> listObjectVersionsStream(ListVersionsRequest listVersionsRequest) {
+        return this.<ListVersionsRequest, VersionListing, S3VersionSummary>pagedStream(
+                copyOf(listVersionsRequest),
+                (request, emitter) -> Single.create(subscriber -> listObjectVersions(
+                        request,
+                        listVersionsResponseParser.streamingTo(emitter::onNext),
+                        subscriber)),
+                AsyncS3Client::nextVersionsPageRequest);
+    }
+
+    /**
+     * Requests pages one after another, until next page request is null. Parser of each page passes its summaries to
+     * the emitter.
+     */
+    private <Q, P, T> Flowable<T> pagedStream(
+            Q firstRequest,
+            BiFunction<Q, FlowableEmitter<T>, Single<P>> pageRequester,
+            BiFunction<Q, P, Q> nextPageRequest) {
+        return Flowable.defer(() -> {
+            AtomicReference<Q> nextRequest = new AtomicReference<>(firstRequest);
+
+            return Flowable
+                    .defer(() -> pageStream(nextRequest, pageRequester, nextPageRequest))
+                    .repeatUntil(() -> nextRequest.get() == null);
+        });
+    }
+
+    private <Q, P, T> Flowable<T> pageStream(
+            AtomicReference<Q> nextRequest,
+            BiFunction<Q, FlowableEmitter<T>, Single<P>> pageRequester,
+            BiFunction<Q, P, Q> nextPageRequest) {
+        Q request = nextRequest.get();
+
+        return Flowable.create(emitter -> emitter.setDisposable(pageRequester.apply(request, emitter)
+                .subscribe(
+                        page -> {
+                            nextRequest.set(nextPageRequest.apply(request, page));
+                            emitter.onComplete();
+                        },
+                        emitter::onError)), BackpressureStrategy.BUFFER);
+    }
+
+    private static ListObjectsRequest nextPageRequest(ListObjectsRequest listObjectsRequest, ObjectListing listing) {
+        if (!listing.isTruncated() || listing.getNextMarker() == null) {
+            return null;
+        }
+
+        return withMarker(listObjectsRequest, listing.getNextMarker());
+    }
+
+    private static ListObjectsRequest withMarker(ListObjectsRequest listObjectsRequest, String marker) {
+        ListObjectsRequest result = copyOf(listObjectsRequest);
+        result.setMarker(marker);
+        return result;
+    }
+
+    private static ListObjectsRequest copyOf(ListObjectsRequest listObjectsRequest) {
+        return new ListObjectsRequest(
+                listObjectsRequest.getBucketName(),
+                listObjectsRequest.getPrefix(),
+                listObjectsRequest.getMarker(),
+                listObjectsRequest.getDelimiter(),
+                listObjectsRequest.getMaxKeys());
+    }
+
+    /**
+     * Returns copy of the listing with its own summaries, so that callers sharing one listing request do not see each
+     * other's changes.
+     */
+    private static ObjectListing copyOf(ObjectListing listing) {
+        ObjectListing copy = new ObjectListing();
+        copy.setBucketName(listing.getBucketName());
+        copy.setPrefix(listing.getPrefix());
+        copy.setMarker(listing.getMarker());
+        copy.setNextMarker(listing.getNextMarker());
+        copy.setDelimiter(listing.getDelimiter());
+        copy.setMaxKeys(listing.getMaxKeys());
+        copy.setEncodingType(listing.getEncodingType());
+        copy.setTruncated(listing.isTruncated());
+        copy.setCommonPrefixes(new ArrayList<>(listing.getCommonPrefixes()));
+
+        List<S3ObjectSummary> summaries = copy.getObjectSummaries();
+        for (S3ObjectSummary summary : listing.getObjectSummaries()) {
+            summaries.add(copyOf(summary));
+        }
+        return copy;
+    }
+
+    private static S3ObjectSummary copyOf(S3ObjectSummary summary) {
+        S3ObjectSummary copy;
+        if (summary instanceof LazyObjectSummary) {
+            LazyObjectSummary lazyCopy = new LazyObjectSummary();
+            lazyCopy.setLastModifiedMillis(((LazyObjectSummary) summary).getLastModifiedMillis());
+            copy = lazyCopy;
+        } else {
+            copy = new S3ObjectSummary();
+            if (summary.getLastModified() != null) {
+                copy.setLastModified(new Date(summary.getLastModified().getTime()));
+            }
+        }
+
+        copy.setBucketName(summary.getBucketName());
+        copy.setKey(summary.getKey());
+        copy.setETag(summary.getETag());
+        copy.setSize(summary.getSize());
+        copy.setStorageClass(summary.getStorageClass());
+
+        Owner owner = summary.getOwner();
+        if (owner != null) {
+            copy.setOwner(new Owner(owner.getId(), owner.getDisplayName()));
+        }
+        return copy;
+    }
+
+    private static ListVersionsRequest nextVersionsPageRequest(ListVersionsRequest listVersionsRequest, VersionListing listing) {
+        if (!listing.isTruncated() || listing.getNextKeyMarker() == null) {
+            return null;
+        }
+
+        ListVersionsRequest result = copyOf(listVersionsRequest);
+        result.setKeyMarker(listing.getNextKeyMarker());
+        result.setVersionIdMarker(listing.getNextVersionIdMarker());
+        return result;
+    }
+
+    private static ListVersionsRequest copyOf(ListVersionsRequest listVersionsRequest) {
+        return new ListVersionsRequest(
+                listVersionsRequest.getBucketName(),
+                listVersionsRequest.getPrefix(),
+                listVersionsRequest.getKeyMarker(),
+                listVersionsRequest.getVersionIdMarker(),
+                listVersionsRequest.getDelimiter(),
+                listVersionsRequest.getMaxResults());
+    }
+
     public Single<GetObjectResponse> getObject(String bucketName, CharSequence location) {
         TextBuilder urlBuilder = TextBuilders.threadLocal();
         urlBuilder.append("/");
@@ -192,7 +755,552 @@ public class AsyncS3Client implements AutoCloseable {
         return retrieveResult(request, ConsumeBytesParser.getInstance());
     }
 
+    /**
+     * Returns content of the object as the buffer it was read into, which has to be released by the caller.
+     */
+    public Single<ObjectLease> getObjectLease(String bucketName, CharSequence key) {
+        return retrieveShared(getObjectRequest(bucketName, key), LeaseBytesParser.getInstance(), ObjectLease::retainedDuplicate, ObjectLease::release);
+    }
+
+    /**
+     * Reads the object into a buffer obtained for its Content-Length. Chunks are copied into the buffer as they arrive
+     * instead of being aggregated first. The buffer is released if the object cannot be read in full.
+     */
+    public Single<ByteBuf> getObject(String bucketName, CharSequence key, IntFunction<? extends ByteBuf> targetSupplier) {
+        return retrieveResult(getObjectRequest(bucketName, key), new ReadIntoBufferParser(targetSupplier));
+    }
+
+    /**
+     * Reads the object into the target starting at its position, which is then advanced past the content. Fails if
+     * the object does not fit into the remaining space.
+     */
+    public Single<ByteBuffer> getObject(String bucketName, CharSequence key, ByteBuffer target) {
+        int position = target.position();
+        return getObject(bucketName, key, contentLength -> {
+            if (contentLength > target.remaining()) {
+                throw new IllegalArgumentException(
+                        "Object of " + contentLength + " bytes does not fit into " + target.remaining() + " remaining bytes");
+            }
+            return Unpooled.wrappedBuffer(target).clear();
+        }).map(content -> {
+            target.position(position + content.writerIndex());
+            return target;
+        });
+    }
+
+    /**
+     * Returns bytes of the object from first to last, inclusive.
+     */
+    public Single<ObjectLease> getObjectRange(String bucketName, CharSequence key, long first, long last) {
+        return getObjectRange(bucketName, key, first, last, null);
+    }
+
+    private Single<ObjectLease> getObjectRange(String bucketName, CharSequence key, long first, long last, String eTag) {
+        Request request = getObjectRequest(bucketName, key)
+                .addHeader(Headers.RANGE, "bytes=" + first + "-" + last);
+        if (eTag != null) {
+            request.addHeader(Headers.GET_OBJECT_IF_MATCH, quoted(eTag));
+        }
+
+        return retrieveShared(request, LeaseBytesParser.getInstance(), ObjectLease::retainedDuplicate, ObjectLease::release);
+    }
+
+    /**
+     * Reads given ranges of the object, merging those less than {@link #DEFAULT_VECTORED_READ_MERGE_GAP} apart, see
+     * {@link #readVectored(String, CharSequence, List, long, long, int)}.
+     */
+    public Single<List<ObjectLease>> readVectored(String bucketName, CharSequence key, List<Range> ranges) {
+        return readVectored(
+                bucketName,
+                key,
+                ranges,
+                DEFAULT_VECTORED_READ_MERGE_GAP,
+                DEFAULT_VECTORED_READ_MAX_MERGED_SIZE,
+                DEFAULT_VECTORED_READ_PARALLELISM);
+    }
+
+    /**
+     * Reads given ranges of the object with as few range requests as possible, at most parallelism at once. Ranges
+     * less than merge gap apart are read together unless the merged range would be larger than given size. Returns
+     * leases of ranges in their order, each a retained slice of the response it was read with, to be released by the
+     * caller.
+     */
+    public Single<List<ObjectLease>> readVectored(
+            String bucketName,
+            CharSequence key,
+            List<Range> ranges,
+            long mergeGap,
+            long maxMergedSize,
+            int parallelism) {
+        String objectKey = key.toString();
+        return Single.defer(() -> {
+            VectoredRead read = new VectoredRead(ranges);
+
+            return Flowable.fromIterable(read.merge(mergeGap, maxMergedSize))
+                    .flatMapCompletable(group -> getObjectRange(bucketName, objectKey, group.getFirst(), group.getLast())
+                            .doOnSuccess(group::complete)
+                            .ignoreElement(), false, parallelism)
+                    .toSingle(read::results)
+                    .doOnError(throwable -> read.release())
+                    .doOnDispose(read::release);
+        });
+    }
+
+    /**
+     * Opens channel reading the object in blocks of {@link #DEFAULT_READ_BLOCK_SIZE} bytes, see
+     * {@link #openReadChannel(String, CharSequence, int, int, int)}.
+     */
+    public Single<ObjectReadChannel> openReadChannel(String bucketName, CharSequence key) {
+        return openReadChannel(bucketName, key, DEFAULT_READ_BLOCK_SIZE, DEFAULT_CACHED_READ_BLOCKS, DEFAULT_MAX_READAHEAD_BLOCKS);
+    }
+
+    /**
+     * Opens channel reading the object with range requests for blocks of given size, at most given number of them
+     * is cached. Sequential reads request up to given number of blocks ahead. Size and ETag of the object are read
+     * when the channel is opened, reads fail once the object changed.
+     */
+    public Single<ObjectReadChannel> openReadChannel(
+            String bucketName,
+            CharSequence key,
+            int blockSize,
+            int maxCachedBlocks,
+            int maxReadaheadBlocks) {
+        String objectKey = key.toString();
+        return getObjectMetadata(bucketName, objectKey)
+                .map(metadata -> new ObjectReadChannel(
+                        metadata.getContentLength(),
+                        (first, last) -> getObjectRange(bucketName, objectKey, first, last, metadata.getETag()),
+                        blockSize,
+                        maxCachedBlocks,
+                        maxReadaheadBlocks));
+    }
+
+    /**
+     * Returns the object unless its ETag still matches given one, in which case nothing but headers is transferred and
+     * the result is empty.
+     */
+    public Maybe<ObjectLease> getObjectIfNoneMatch(String bucketName, CharSequence key, String eTag) {
+        return getObjectConditionally(bucketName, key, Headers.GET_OBJECT_IF_NONE_MATCH, quoted(eTag));
+    }
+
+    /**
+     * Returns the object if it was modified after given time, otherwise nothing but headers is transferred and the
+     * result is empty.
+     */
+    public Maybe<ObjectLease> getObjectIfModifiedSince(String bucketName, CharSequence key, Date modifiedSince) {
+        String httpDate = DateTimeFormatter.RFC_1123_DATE_TIME.format(modifiedSince.toInstant().atZone(ZoneOffset.UTC));
+        return getObjectConditionally(bucketName, key, Headers.GET_OBJECT_IF_MODIFIED_SINCE, httpDate);
+    }
+
+    private Maybe<ObjectLease> getObjectConditionally(String bucketName, CharSequence key, String conditionHeader, String condition) {
+        Request request = getObjectRequest(bucketName, key)
+                .addHeader(conditionHeader, condition);
+
+        return retrieveShared(
+                request,
+                ModifiedObjectParser.getInstance(),
+                lease -> lease.map(ObjectLease::retainedDuplicate),
+                lease -> lease.ifPresent(ObjectLease::release))
+                .filter(Optional::isPresent)
+                .map(Optional::get);
+    }
+
+    private Request getObjectRequest(String bucketName, CharSequence key) {
+        return httpClient.prepareGet(objectUrl(key))
+                .setBucketName(bucketName)
+                .setSignatureCalculatorFactory(signatureCalculatorFactory)
+                .build();
+    }
+
+    /**
+     * Returns metadata of the object, read from headers of HEAD response.
+     */
+    public Single<ObjectMetadata> getObjectMetadata(String bucketName, CharSequence key) {
+        return getObjectMetadata(bucketName, key, null);
+    }
+
+    /**
+     * Returns metadata of the object read with a HEAD request or nothing if there is no such object. Keys found
+     * missing are remembered if the missing key cache is configured.
+     */
+    public Maybe<ObjectMetadata> headObject(String bucketName, CharSequence key) {
+        String objectKey = key.toString();
+        return Maybe.defer(() -> {
+            if (missingKeyCache == null) {
+                return getObjectMetadata(bucketName, objectKey)
+                        .toMaybe()
+                        .onErrorComplete(AsyncS3Client::isNotFound);
+            }
+
+            if (missingKeyCache.isMissing(bucketName, objectKey)) {
+                return Maybe.empty();
+            }
+
+            long writes = missingKeyCache.writes();
+            return getObjectMetadata(bucketName, objectKey)
+                    .toMaybe()
+                    .doOnError(throwable -> {
+                        if (isNotFound(throwable)) {
+                            missingKeyCache.onMissing(bucketName, objectKey, writes);
+                        }
+                    })
+                    .onErrorComplete(AsyncS3Client::isNotFound);
+        });
+    }
+
+    public Single<Boolean> exists(String bucketName, CharSequence key) {
+        return headObject(bucketName, key)
+                .map(metadata -> true)
+                .toSingle(false);
+    }
+
+    /**
+     * Checks existence of given keys with HEAD requests, see {@link #exists(String, Collection, int)}.
+     */
+    public Single<Map<String, Boolean>> exists(String bucketName, Collection<? extends CharSequence> keys) {
+        return exists(bucketName, keys, DEFAULT_EXISTS_PARALLELISM);
+    }
+
+    /**
+     * Checks existence of given keys with HEAD requests, at most parallelism at once. Returns whether each key exists
+     * in the order keys were given.
+     */
+    public Single<Map<String, Boolean>> exists(String bucketName, Collection<? extends CharSequence> keys, int parallelism) {
+        List<String> objectKeys = new ArrayList<>(keys.size());
+        for (CharSequence key : keys) {
+            objectKeys.add(key.toString());
+        }
+
+        return Flowable.fromIterable(objectKeys)
+                .concatMapEager(key -> exists(bucketName, key).toFlowable(), parallelism, 1)
+                .toList()
+                .map(found -> {
+                    Map<String, Boolean> existence = new LinkedHashMap<>();
+                    for (int i = 0; i < objectKeys.size(); i++) {
+                        existence.put(objectKeys.get(i), found.get(i));
+                    }
+                    return existence;
+                });
+    }
+
+    /**
+     * Checks existence of many keys, answering those sharing prefixes from listings, see
+     * {@link #existsAll(String, Collection, int, int)}.
+     */
+    public Single<Map<String, Boolean>> existsAll(String bucketName, Collection<? extends CharSequence> keys) {
+        return existsAll(bucketName, keys, DEFAULT_EXISTS_ALL_MIN_KEYS_PER_PAGE, DEFAULT_EXISTS_PARALLELISM);
+    }
+
+    /**
+     * Checks existence of many keys, answering those sharing prefixes from listings. Sorted keys are grouped by their
+     * longest common prefix, up to 1000 keys per group, and every group of at least minKeysPerPage keys is listed
+     * under its prefix starting right before its first key, so a single page answers up to 1000 lookups. Listing of
+     * a group stops once it passes its last key, or once a page answers fewer than minKeysPerPage keys as they are too
+     * sparse for listing to pay off. Keys left are checked with HEAD requests. At most parallelism groups are listed
+     * and at most parallelism HEAD requests are sent at once. Returns whether each key exists in the order keys were
+     * given.
+     */
+    public Single<Map<String, Boolean>> existsAll(
+            String bucketName,
+            Collection<? extends CharSequence> keys,
+            int minKeysPerPage,
+            int parallelism) {
+        List<String> objectKeys = new ArrayList<>(keys.size());
+        for (CharSequence key : keys) {
+            objectKeys.add(key.toString());
+        }
+
+        return Single.defer(() -> {
+            ExistenceScan scan = new ExistenceScan(objectKeys);
+            long writes = missingKeyCache == null ? 0 : missingKeyCache.writes();
+
+            return Flowable.fromIterable(scan.group(minKeysPerPage, MAX_KEYS_PER_LIST_PAGE))
+                    .flatMapCompletable(group -> listGroup(bucketName, group, minKeysPerPage), false, parallelism)
+                    .doOnComplete(() -> {
+                        if (missingKeyCache != null) {
+                            scan.listedMissing().forEach(key -> missingKeyCache.onMissing(bucketName, key, writes));
+                        }
+                    })
+                    .andThen(Single.defer(() -> exists(bucketName, scan.unlisted(), parallelism)))
+                    .map(scan::results);
+        });
+    }
+
+    private Completable listGroup(String bucketName, ExistenceScan.Group group, int minKeysPerPage) {
+        ListObjectsV2Request listObjectsRequest = new ListObjectsV2Request()
+                .withBucketName(bucketName)
+                .withPrefix(group.getPrefix())
+                .withStartAfter(group.getStartAfter())
+                .withMaxKeys(MAX_KEYS_PER_LIST_PAGE);
+
+        return listObjectsV2(listObjectsRequest)
+                .flatMapCompletable(page -> listGroup(listObjectsRequest, page, group, minKeysPerPage));
+    }
+
+    private Completable listGroup(
+            ListObjectsV2Request listObjectsRequest,
+            ListObjectsV2Result page,
+            ExistenceScan.Group group,
+            int minKeysPerPage) {
+        int answered = group.onListed(page.getObjectSummaries(), page.isTruncated());
+        if (group.isAnswered()) {
+            return Completable.complete();
+        }
+
+        if (answered < minKeysPerPage) {
+            // Requested keys are too sparse among listed ones
+            group.giveUp();
+            return Completable.complete();
+        }
+
+        return listNextBatchOfObjects(listObjectsRequest, page)
+                .flatMapCompletable(nextPage -> listGroup(listObjectsRequest, nextPage, group, minKeysPerPage));
+    }
+
+    private static boolean isNotFound(Throwable throwable) {
+        return throwable instanceof AmazonS3Exception
+                && ((AmazonS3Exception) throwable).getStatusCode() == HttpResponseStatus.NOT_FOUND.code();
+    }
+
+    private Single<ObjectMetadata> getObjectMetadata(String bucketName, CharSequence key, String versionId) {
+        TextBuilder urlBuilder = TextBuilders.threadLocal();
+        urlBuilder.append("/");
+        UTF8UrlEncoder.appendEncoded(urlBuilder, key);
+        if (versionId != null) {
+            urlBuilder.append("?versionId=");
+            UTF8UrlEncoder.appendEncoded(urlBuilder, versionId);
+        }
+
+        Request request = httpClient.prepareHead(urlBuilder.toString())
+                .setBucketName(bucketName)
+                .setSignatureCalculatorFactory(signatureCalculatorFactory)
+                .build();
+
+        return retrieveShared(request, ObjectMetadataParser.getInstance(), ObjectMetadata::clone);
+    }
+
+    /**
+     * Copies the object within S3, bytes are not transferred through the client. Metadata of the source is kept unless
+     * the request carries new metadata. Objects larger than {@link #DEFAULT_MULTIPART_COPY_THRESHOLD} are copied in
+     * parts, see {@link #copyObject(CopyObjectRequest, long, long, int)}.
+     */
+    public Single<CopyObjectResult> copyObject(CopyObjectRequest copyObjectRequest) {
+        return copyObject(copyObjectRequest, DEFAULT_MULTIPART_COPY_THRESHOLD, DEFAULT_COPY_PART_SIZE, DEFAULT_COPY_PARALLELISM);
+    }
+
+    /**
+     * Copies the object within S3. Size of the source is checked first and objects larger than the threshold are
+     * copied with a multipart upload whose parts are copied from ranges of the source, at most parallelism at once.
+     * The upload is aborted if any part fails.
+     */
+    public Single<CopyObjectResult> copyObject(CopyObjectRequest copyObjectRequest, long multipartThreshold, long partSize, int parallelism) {
+        return getObjectMetadata(copyObjectRequest.getSourceBucketName(), copyObjectRequest.getSourceKey(), copyObjectRequest.getSourceVersionId())
+                .flatMap(sourceMetadata -> sourceMetadata.getContentLength() > multipartThreshold
+                        ? copyInParts(copyObjectRequest, sourceMetadata, partSize, parallelism)
+                        : copyWhole(copyObjectRequest));
+    }
+
+    /**
+     * Copies objects, at most parallelism at once. Failures are reported after all the copies have been attempted.
+     */
+    public Flowable<CopyObjectResult> copyObjects(Iterable<CopyObjectRequest> copyObjectRequests, int parallelism) {
+        return Flowable.fromIterable(copyObjectRequests)
+                .flatMap(copyObjectRequest -> copyObject(copyObjectRequest).toFlowable(), true, parallelism);
+    }
+
+    /**
+     * Moves objects by copying them and deleting sources of successful copies, at most parallelism at once. Failures
+     * are reported after all the moves have been attempted.
+     */
+    public Completable renameObjects(Iterable<CopyObjectRequest> copyObjectRequests, int parallelism) {
+        return Flowable.fromIterable(copyObjectRequests)
+                .flatMapCompletable(copyObjectRequest -> copyObject(copyObjectRequest)
+                        .flatMapCompletable(result -> deleteObject(copyObjectRequest.getSourceBucketName(), copyObjectRequest.getSourceKey())),
+                        true, parallelism);
+    }
+
+    /**
+     * Copies the object between clients, e.g. different endpoints, under the same key. Body is piped from the source
+     * connection straight into a streaming upload on the destination connection without being aggregated, reading
+     * from the source is paused whenever the destination connection cannot keep up. Content type and user metadata of
+     * the source are kept. The whole transfer is retried when reading fails, the upload alone is not.
+     */
+    public static Completable transfer(
+            AsyncS3Client sourceClient,
+            String sourceBucketName,
+            CharSequence key,
+            AsyncS3Client destinationClient,
+            String destinationBucketName) {
+        String destinationKey = key.toString();
+        Request request = sourceClient.httpClient.prepareGet(objectUrl(key))
+                .setBucketName(sourceBucketName)
+                .setSignatureCalculatorFactory(sourceClient.signatureCalculatorFactory)
+                .build();
+
+        ObjectTransfer.ResponseParser responseParser = new ObjectTransfer.ResponseParser(
+                (headers, body) -> destinationClient.putObject(destinationBucketName, destinationKey, headers, body));
+
+        return sourceClient.retrieveResult(request, responseParser)
+                .flatMapCompletable(upload -> upload);
+    }
+
+    private Completable putObject(String bucketName, CharSequence key, HttpHeaders sourceHeaders, StreamingBody body) {
+        ObjectMetadata metadata = ObjectMetadataParser.toObjectMetadata(sourceHeaders);
+
+        Request request = httpClient.preparePut(objectUrl(key))
+                .setBucketName(bucketName)
+                .setSignatureCalculatorFactory(signatureCalculatorFactory)
+                .setStreamingBody(body)
+                .setContentLength(metadata.getContentLength())
+                .build();
+        addMetadataHeaders(request, metadata);
+
+        // Not retried, the body can be streamed only once
+        return Single.<Object>create(emitter -> retrieveResult(request, DiscardBytesParser.getInstance(), emitter))
+                .ignoreElement()
+                .doFinally(invalidatingCaches(bucketName, key));
+    }
+
+    private Single<CopyObjectResult> copyWhole(CopyObjectRequest copyObjectRequest) {
+        Request request = httpClient.preparePut(objectUrl(copyObjectRequest.getDestinationKey()))
+                .setBucketName(copyObjectRequest.getDestinationBucketName())
+                .setSignatureCalculatorFactory(signatureCalculatorFactory)
+                .addHeader(COPY_SOURCE_HEADER, copySource(copyObjectRequest));
+
+        ObjectMetadata newMetadata = copyObjectRequest.getNewObjectMetadata();
+        if (newMetadata == null) {
+            request.addHeader(Headers.METADATA_DIRECTIVE, "COPY");
+        } else {
+            request.addHeader(Headers.METADATA_DIRECTIVE, "REPLACE");
+            addMetadataHeaders(request, newMetadata);
+        }
+
+        if (copyObjectRequest.getStorageClass() != null) {
+            request.addHeader(Headers.STORAGE_CLASS, copyObjectRequest.getStorageClass());
+        }
+
+        return retrieveResult(request.build(), copyResultResponseParser)
+                .doFinally(invalidatingCaches(copyObjectRequest.getDestinationBucketName(), copyObjectRequest.getDestinationKey()))
+                .map(CopyResultBuilder::build);
+    }
+
+    private Single<CopyObjectResult> copyInParts(CopyObjectRequest copyObjectRequest, ObjectMetadata sourceMetadata, long partSize, int parallelism) {
+        String bucketName = copyObjectRequest.getDestinationBucketName();
+        String key = copyObjectRequest.getDestinationKey();
+        ObjectMetadata metadata = copyObjectRequest.getNewObjectMetadata() == null ? sourceMetadata : copyObjectRequest.getNewObjectMetadata();
+
+        long size = sourceMetadata.getContentLength();
+        long effectivePartSize = Math.max(partSize, (size + MAX_PARTS - 1) / MAX_PARTS);
+        int partCount = (int) ((size + effectivePartSize - 1) / effectivePartSize);
+
+        return initiateMultipartUpload(bucketName, key, metadata, copyObjectRequest.getStorageClass())
+                .flatMap(uploadId -> Flowable.range(1, partCount)
+                        .concatMapEager(partNumber -> {
+                            long first = (partNumber - 1) * effectivePartSize;
+                            long last = Math.min(first + effectivePartSize, size) - 1;
+                            return copyPart(copyObjectRequest, uploadId, partNumber, first, last).toFlowable();
+                        }, parallelism, 1)
+                        .toList()
+                        .flatMap(eTags -> completeMultipartUpload(bucketName, key, uploadId, eTags))
+                        .onErrorResumeNext(error -> abortMultipartUpload(bucketName, key, uploadId)
+                                .onErrorComplete()
+                                .andThen(Single.<CopyObjectResult>error(error))));
+    }
+
+    private Single<String> initiateMultipartUpload(String bucketName, String key, ObjectMetadata metadata, String storageClass) {
+        Request request = httpClient.preparePost(objectUrl(key) + "?uploads")
+                .setBucketName(bucketName)
+                .setSignatureCalculatorFactory(signatureCalculatorFactory);
+        addMetadataHeaders(request, metadata);
+
+        if (storageClass != null) {
+            request.addHeader(Headers.STORAGE_CLASS, storageClass);
+        }
+
+        return retrieveResult(request.build(), copyResultResponseParser)
+                .map(CopyResultBuilder::getUploadId);
+    }
+
+    private Single<String> copyPart(CopyObjectRequest copyObjectRequest, String uploadId, int partNumber, long first, long last) {
+        String url = objectUrl(copyObjectRequest.getDestinationKey()) + "?partNumber=" + partNumber + "&uploadId=" + UTF8UrlEncoder.encode(uploadId);
+        Request request = httpClient.preparePut(url)
+                .setBucketName(copyObjectRequest.getDestinationBucketName())
+                .setSignatureCalculatorFactory(signatureCalculatorFactory)
+                .addHeader(COPY_SOURCE_HEADER, copySource(copyObjectRequest))
+                .addHeader(Headers.COPY_PART_RANGE, "bytes=" + first + "-" + last)
+                .build();
+
+        return retrieveResult(request, copyResultResponseParser)
+                .map(result -> result.build().getETag());
+    }
+
+    private Single<CopyObjectResult> completeMultipartUpload(String bucketName, String key, String uploadId, List<String> eTags) {
+        return Single.defer(() -> {
+            ByteBuf body = CompleteMultipartUploadBody.write(PooledByteBufAllocator.DEFAULT, eTags);
+
+            Request request = httpClient.preparePost(objectUrl(key) + "?uploadId=" + UTF8UrlEncoder.encode(uploadId))
+                    .setBucketName(bucketName)
+                    .setSignatureCalculatorFactory(signatureCalculatorFactory)
+                    .setBody(body)
+                    .setContentLength(body.readableBytes())
+                    .setContentType("application/xml")
+                    .build();
+
+            return retrieveResult(request, copyResultResponseParser)
+                    .doFinally(body::release)
+                    .doFinally(invalidatingCaches(bucketName, key))
+                    .map(CopyResultBuilder::build);
+        });
+    }
+
+    private Completable abortMultipartUpload(String bucketName, String key, String uploadId) {
+        Request request = httpClient.prepareDelete(objectUrl(key) + "?uploadId=" + UTF8UrlEncoder.encode(uploadId))
+                .setBucketName(bucketName)
+                .setSignatureCalculatorFactory(signatureCalculatorFactory)
+                .build();
+
+        return retrieveResult(request, DiscardBytesParser.getInstance())
+                .ignoreElement();
+    }
+
+    private static String quoted(String eTag) {
+        return eTag.startsWith("\"") ? eTag : "\"" + eTag + "\"";
+    }
+
+    private static String objectUrl(CharSequence key) {
+        TextBuilder urlBuilder = TextBuilders.threadLocal();
+        urlBuilder.append("/");
+        UTF8UrlEncoder.appendEncoded(urlBuilder, key);
+        return urlBuilder.toString();
+    }
+
+    private static String copySource(CopyObjectRequest copyObjectRequest) {
+        String copySource = "/" + copyObjectRequest.getSourceBucketName() + "/" + UTF8UrlEncoder.encode(copyObjectRequest.getSourceKey());
+        if (copyObjectRequest.getSourceVersionId() != null) {
+            copySource += "?versionId=" + UTF8UrlEncoder.encode(copyObjectRequest.getSourceVersionId());
+        }
+        return copySource;
+    }
+
+    private static void addMetadataHeaders(Request request, ObjectMetadata metadata) {
+        if (metadata.getContentType() != null) {
+            request.setContentType(metadata.getContentType());
+        }
+
+        metadata.getUserMetadata().forEach((name, value) -> request.addHeader(Headers.S3_USER_METADATA_PREFIX + name, value));
+    }
+
+    /**
+     * Deletes the object. When delete batching is configured, the key is sent in a multi-object delete together with
+     * other keys of the bucket and completion reflects outcome of this key only.
+     */
     public Completable deleteObject(String bucketName, CharSequence location) {
+        if (deleteBatcher != null) {
+            String key = location.toString();
+            return Completable.create(emitter -> deleteBatcher.delete(bucketName, key, emitter))
+                    .doFinally(invalidatingCaches(bucketName, key));
+        }
+
         TextBuilder urlBuilder = TextBuilders.threadLocal();
         urlBuilder.append("/");
         UTF8UrlEncoder.appendEncoded(urlBuilder, location);
@@ -203,7 +1311,79 @@ public class AsyncS3Client implements AutoCloseable {
                 .build();
 
         return retrieveResult(request, DiscardBytesParser.getInstance())
-                .ignoreElement();
+                .ignoreElement()
+                .doFinally(invalidatingCaches(bucketName, location));
+    }
+
+    /**
+     * Deletes given keys with multi-object delete requests, up to 1000 keys each, sent one after another. Keys that
+     * could not be deleted are reported as errors of the result rather than failing it.
+     */
+    public Single<BulkDeleteResult> deleteObjects(String bucketName, Collection<? extends CharSequence> keys) {
+        List<List<String>> batches = new ArrayList<>();
+        List<String> batch = null;
+        for (CharSequence key : keys) {
+            if (batch == null || batch.size() == MAX_KEYS_PER_BULK_DELETE) {
+                batch = new ArrayList<>(MAX_KEYS_PER_BULK_DELETE);
+                batches.add(batch);
+            }
+            batch.add(key.toString());
+        }
+
+        return Flowable.fromIterable(batches)
+                .concatMap(keysBatch -> deleteObjectsBatch(bucketName, keysBatch).toFlowable())
+                .collect(BulkDeleteResult::new, BulkDeleteResult::addAll);
+    }
+
+    private Single<BulkDeleteResult> deleteObjectsBatch(String bucketName, List<String> keys) {
+        return Single.defer(() -> {
+            ByteBuf body = BulkDeleteRequestBody.write(PooledByteBufAllocator.DEFAULT, keys);
+
+            Request request = httpClient.prepareBulkDelete("/?delete")
+                    .setBucketName(bucketName)
+                    .setSignatureCalculatorFactory(signatureCalculatorFactory)
+                    .setBody(body)
+                    .setContentLength(body.readableBytes())
+                    .setMd5(BulkDeleteRequestBody.md5(body))
+                    .setContentType("application/xml")
+                    .build();
+
+            return retrieveResult(request, deleteResultResponseParser)
+                    .doFinally(body::release)
+                    .doFinally(invalidatingCaches(bucketName, keys));
+        });
+    }
+
+    /**
+     * Returns action dropping cached listings that could list the key and forgetting it was missing, to be run once
+     * it was written.
+     */
+    private Action invalidatingCaches(String bucketName, CharSequence key) {
+        if (listingCache == null && missingKeyCache == null) {
+            return () -> {
+            };
+        }
+
+        String writtenKey = key.toString();
+        return () -> invalidateCaches(bucketName, writtenKey);
+    }
+
+    private Action invalidatingCaches(String bucketName, List<String> keys) {
+        if (listingCache == null && missingKeyCache == null) {
+            return () -> {
+            };
+        }
+
+        return () -> keys.forEach(key -> invalidateCaches(bucketName, key));
+    }
+
+    private void invalidateCaches(String bucketName, String key) {
+        if (listingCache != null) {
+            listingCache.invalidate(bucketName, key);
+        }
+        if (missingKeyCache != null) {
+            missingKeyCache.onWritten(bucketName, key);
+        }
     }
 
     @Override
@@ -228,6 +1408,27 @@ public class AsyncS3Client implements AutoCloseable {
         );
     }
 
+    private <T> Single<T> retrieveShared(Request request, GenericResponseParser<T> responseParser, UnaryOperator<T> share) {
+        return retrieveShared(request, responseParser, share, result -> {});
+    }
+
+    /**
+     * Retrieves result shared with concurrent identical requests if coalescing is enabled. Every caller gets its own
+     * share of the result, the result itself is released once shares are handed out.
+     */
+    private <T> Single<T> retrieveShared(
+            Request request,
+            GenericResponseParser<T> responseParser,
+            UnaryOperator<T> share,
+            Consumer<T> release) {
+        Single<T> result = retrieveResult(request, responseParser);
+        if (requestCoalescer == null) {
+            return result;
+        }
+
+        return requestCoalescer.coalesce(request, responseParser, result, share, release);
+    }
+
     @SuppressWarnings("unchecked")
     private <T> Single<T> singleWithRetries(SingleOnSubscribe<T> source) {
         return Single
@@ -0,0 +1,97 @@
+package pl.codewise.amazon.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import org.bouncycastle.crypto.digests.MD5Digest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Writes Delete document of multi-object delete request straight into a buffer, escaping keys on the way.
+ */
+class BulkDeleteRequestBody {
+
+    private static final byte[] HEADER = ascii("<?xml version=\"1.0\" encoding=\"UTF-8\"?><Delete><Quiet>false</Quiet>");
+    private static final byte[] OBJECT_START = ascii("<Object><Key>");
+    private static final byte[] OBJECT_END = ascii("</Key></Object>");
+    private static final byte[] FOOTER = ascii("</Delete>");
+
+    private BulkDeleteRequestBody() {
+    }
+
+    /**
+     * Returns heap buffer allocated by the allocator, it has to be released by the caller.
+     */
+    static ByteBuf write(ByteBufAllocator allocator, List<String> keys) {
+        ByteBuf body = allocator.heapBuffer(HEADER.length + FOOTER.length + keys.size() * 64);
+        body.writeBytes(HEADER);
+        for (String key : keys) {
+            body.writeBytes(OBJECT_START);
+            writeEscaped(body, key);
+            body.writeBytes(OBJECT_END);
+        }
+        body.writeBytes(FOOTER);
+
+        return body;
+    }
+
+    /**
+     * Returns Base64 encoded MD5 digest of readable bytes of the buffer, as expected in Content-MD5 header.
+     */
+    static String md5(ByteBuf body) {
+        MD5Digest digest = new MD5Digest();
+        if (body.hasArray()) {
+            digest.update(body.array(), body.arrayOffset() + body.readerIndex(), body.readableBytes());
+        } else {
+            byte[] bytes = new byte[body.readableBytes()];
+            body.getBytes(body.readerIndex(), bytes);
+            digest.update(bytes, 0, bytes.length);
+        }
+
+        byte[] result = new byte[digest.getDigestSize()];
+        digest.doFinal(result, 0);
+        return Base64.getEncoder().encodeToString(result);
+    }
+
+    private static void writeEscaped(ByteBuf body, String key) {
+        int runStart = 0;
+        for (int i = 0; i < key.length(); i++) {
+            String entity = entity(key.charAt(i));
+            if (entity != null) {
+                ByteBufUtil.writeUtf8(body, key.substring(runStart, i));
+                body.writeBytes(entity.getBytes(StandardCharsets.US_ASCII));
+                runStart = i + 1;
+            }
+        }
+
+        ByteBufUtil.writeUtf8(body, runStart == 0 ? key : key.substring(runStart));
+    }
+
+    private static String entity(char character) {
+        switch (character) {
+            case '&':
+                return "&amp;";
+            case '<':
+                return "&lt;";
+            case '>':
+                return "&gt;";
+            case '"':
+                return "&quot;";
+            case '\'':
+                return "&apos;";
+            case '\r':
+                return "&#13;";
+            case '\n':
+                return "&#10;";
+            default:
+                return null;
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,36 @@
+package pl.codewise.amazon.client;
+
+import com.amazonaws.services.s3.model.DeleteObjectsResult.DeletedObject;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException.DeleteError;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a multi-object delete, keys that were deleted and errors of those that were not.
+ */
+public class BulkDeleteResult {
+
+    private final List<DeletedObject> deletedObjects = new ArrayList<>();
+    private final List<DeleteError> errors = new ArrayList<>();
+
+    public List<DeletedObject> getDeletedObjects() {
+        return deletedObjects;
+    }
+
+    public List<DeleteError> getErrors() {
+        return errors;
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    /**
+     * Adds outcome of another delete request to this one.
+     */
+    public void addAll(BulkDeleteResult other) {
+        deletedObjects.addAll(other.deletedObjects);
+        errors.addAll(other.errors);
+    }
+}
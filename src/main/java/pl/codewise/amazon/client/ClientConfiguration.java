@@ -20,6 +20,14 @@ public class ClientConfiguration {
     private final boolean skipParsingETag;
     private final boolean skipParsingLastModified;
     private final boolean skipParsingStorageClass;
+    private final boolean lazyLastModified;
+    private final boolean byteLevelListParser;
+    private final int deleteBatchLingerMillis;
+    private final boolean coalesceRequests;
+    private final long listingCacheTtlMillis;
+    private final int listingCacheMaxEntries;
+    private final long missingKeyCacheTtlMillis;
+    private final int missingKeyCacheMaxEntries;
     private final int maxRetries;
 
     public ClientConfiguration(
@@ -35,6 +43,14 @@ public class ClientConfiguration {
             boolean skipParsingETag,
             boolean skipParsingLastModified,
             boolean skipParsingStorageClass,
+            boolean lazyLastModified,
+            boolean byteLevelListParser,
+            int deleteBatchLingerMillis,
+            boolean coalesceRequests,
+            long listingCacheTtlMillis,
+            int listingCacheMaxEntries,
+            long missingKeyCacheTtlMillis,
+            int missingKeyCacheMaxEntries,
             int maxRetries) {
         this.credentialsProvider = credentialsProvider;
         this.s3Location = s3Location;
@@ -51,6 +67,15 @@ public class ClientConfiguration {
         this.skipParsingETag = skipParsingETag;
         this.skipParsingLastModified = skipParsingLastModified;
         this.skipParsingStorageClass = skipParsingStorageClass;
+        this.lazyLastModified = lazyLastModified;
+
+        this.byteLevelListParser = byteLevelListParser;
+        this.deleteBatchLingerMillis = deleteBatchLingerMillis;
+        this.coalesceRequests = coalesceRequests;
+        this.listingCacheTtlMillis = listingCacheTtlMillis;
+        this.listingCacheMaxEntries = listingCacheMaxEntries;
+        this.missingKeyCacheTtlMillis = missingKeyCacheTtlMillis;
+        this.missingKeyCacheMaxEntries = missingKeyCacheMaxEntries;
 
         this.maxRetries = maxRetries;
     }
@@ -103,6 +128,50 @@ public class ClientConfiguration {
         return skipParsingStorageClass;
     }
 
+    public boolean isLazyLastModified() {
+        return lazyLastModified;
+    }
+
+    public boolean isByteLevelListParser() {
+        return byteLevelListParser;
+    }
+
+    /**
+     * Returns time single object deletes wait to be sent together or 0 if they are sent right away.
+     */
+    public int getDeleteBatchLingerMillis() {
+        return deleteBatchLingerMillis;
+    }
+
+    /**
+     * Returns true if concurrent identical reads share one request.
+     */
+    public boolean isCoalesceRequests() {
+        return coalesceRequests;
+    }
+
+    /**
+     * Returns time pages of compact listings are cached for or 0 if they are not cached.
+     */
+    public long getListingCacheTtlMillis() {
+        return listingCacheTtlMillis;
+    }
+
+    public int getListingCacheMaxEntries() {
+        return listingCacheMaxEntries;
+    }
+
+    /**
+     * Returns time keys found missing are remembered for or 0 if they are not remembered.
+     */
+    public long getMissingKeyCacheTtlMillis() {
+        return missingKeyCacheTtlMillis;
+    }
+
+    public int getMissingKeyCacheMaxEntries() {
+        return missingKeyCacheMaxEntries;
+    }
+
     public int getMaxRetries() {
         return maxRetries;
     }
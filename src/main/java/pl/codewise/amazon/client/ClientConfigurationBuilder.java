@@ -36,6 +36,20 @@ public class ClientConfigurationBuilder {
     private boolean skipParsingLastModified;
     private boolean skipParsingStorageClass;
 
+    private boolean lazyLastModified;
+
+    private boolean byteLevelListParser;
+
+    private int deleteBatchLingerMillis;
+
+    private boolean coalesceRequests;
+
+    private long listingCacheTtlMillis;
+    private int listingCacheMaxEntries;
+
+    private long missingKeyCacheTtlMillis;
+    private int missingKeyCacheMaxEntries;
+
     private int maxRetries = DEFAULT_MAX_RETRIES;
 
     public ClientConfigurationBuilder useCredentials(AWSCredentials credentials) {
@@ -104,6 +118,60 @@ public class ClientConfigurationBuilder {
         return this;
     }
 
+    /**
+     * Keeps modification times of listed objects as milliseconds and creates dates only when they are asked for.
+     */
+    public ClientConfigurationBuilder parseLastModifiedLazily() {
+        lazyLastModified = true;
+        return this;
+    }
+
+    /**
+     * Parses list responses straight from the received bytes instead of going through the xml pull parser.
+     */
+    public ClientConfigurationBuilder useByteLevelListParser() {
+        byteLevelListParser = true;
+        return this;
+    }
+
+    /**
+     * Queues single object deletes per bucket and sends them as multi-object deletes of up to 1000 keys, waiting at
+     * most given time for a batch to fill up.
+     */
+    public ClientConfigurationBuilder batchDeletes(int lingerMillis) {
+        this.deleteBatchLingerMillis = lingerMillis;
+        return this;
+    }
+
+    /**
+     * Lets concurrent identical reads of objects, their metadata and listings share one request. Every caller of
+     * a shared object read gets its own lease of the content, metadata and listings are copied for every caller.
+     */
+    public ClientConfigurationBuilder coalesceRequests() {
+        coalesceRequests = true;
+        return this;
+    }
+
+    /**
+     * Keeps pages of compact listings for given time, at most given number of them, so that repeated listings of the
+     * same request are not sent again. Writes going through the client drop pages that could list written keys.
+     */
+    public ClientConfigurationBuilder cacheListings(long ttlMillis, int maxEntries) {
+        this.listingCacheTtlMillis = ttlMillis;
+        this.listingCacheMaxEntries = maxEntries;
+        return this;
+    }
+
+    /**
+     * Remembers for given time up to given number of keys that HEAD requests found missing, so that checking them
+     * again does not send a request. Keys written through the client are forgotten.
+     */
+    public ClientConfigurationBuilder cacheMissingKeys(long ttlMillis, int maxEntries) {
+        this.missingKeyCacheTtlMillis = ttlMillis;
+        this.missingKeyCacheMaxEntries = maxEntries;
+        return this;
+    }
+
     public ClientConfigurationBuilder withRetriesEnabled(int maxRetries) {
         this.maxRetries = maxRetries;
         return this;
@@ -123,6 +191,14 @@ public class ClientConfigurationBuilder {
                 skipParsingETag,
                 skipParsingLastModified,
                 skipParsingStorageClass,
+                lazyLastModified,
+                byteLevelListParser,
+                deleteBatchLingerMillis,
+                coalesceRequests,
+                listingCacheTtlMillis,
+                listingCacheMaxEntries,
+                missingKeyCacheTtlMillis,
+                missingKeyCacheMaxEntries,
                 maxRetries
         );
     }
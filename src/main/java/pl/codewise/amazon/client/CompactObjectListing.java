@@ -0,0 +1,382 @@
+package pl.codewise.amazon.client;
+
+import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Page of object listing kept in a few flat arrays instead of an object summary per key. Keys are stored as UTF-8
+ * bytes in a single array, sizes and modification times as primitives, ETags holding MD5 digests as 16 raw bytes and
+ * storage classes as indexes into a small dictionary. Objects are accessed by their index, either directly or with
+ * {@link #forEach(ObjectSummaryVisitor)}.
+ */
+public class CompactObjectListing {
+
+    public static final long NO_LAST_MODIFIED = Long.MIN_VALUE;
+
+    private static final int DIGEST_LENGTH = 16;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final String bucketName;
+    private final String prefix;
+    private final String marker;
+    private final String nextMarker;
+    private final String delimiter;
+    private final int maxKeys;
+    private final boolean truncated;
+    private final List<String> commonPrefixes;
+
+    private final int size;
+    private final byte[] keys;
+    private final int[] keyOffsets;
+    private final long[] sizes;
+    private final long[] lastModified;
+    private final byte[] eTagDigests;
+    private final BitSet eTagDigestPresence;
+    private final String[] eTags;
+    private final byte[] storageClassIndexes;
+    private final String[] storageClasses;
+
+    private CompactObjectListing(Builder builder) {
+        bucketName = builder.bucketName;
+        prefix = builder.prefix;
+        marker = builder.marker;
+        nextMarker = builder.truncated ? builder.nextMarker : null;
+        delimiter = builder.delimiter;
+        maxKeys = builder.maxKeys;
+        truncated = builder.truncated;
+        commonPrefixes = Collections.unmodifiableList(new ArrayList<>(builder.commonPrefixes));
+
+        size = builder.size;
+        keys = Arrays.copyOf(builder.keys, builder.keyOffsets[size]);
+        keyOffsets = Arrays.copyOf(builder.keyOffsets, size + 1);
+        sizes = Arrays.copyOf(builder.sizes, size);
+        lastModified = Arrays.copyOf(builder.lastModified, size);
+        eTagDigests = Arrays.copyOf(builder.eTagDigests, size * DIGEST_LENGTH);
+        eTagDigestPresence = (BitSet) builder.eTagDigestPresence.clone();
+        eTags = builder.hasIrregularETags ? Arrays.copyOf(builder.eTags, size) : null;
+        storageClassIndexes = Arrays.copyOf(builder.storageClassIndexes, size);
+        storageClasses = builder.storageClasses.toArray(new String[0]);
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public String getMarker() {
+        return marker;
+    }
+
+    public String getNextMarker() {
+        return nextMarker;
+    }
+
+    public String getDelimiter() {
+        return delimiter;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public List<String> getCommonPrefixes() {
+        return commonPrefixes;
+    }
+
+    /**
+     * Returns number of objects in the listing.
+     */
+    public int size() {
+        return size;
+    }
+
+    public String getKey(int index) {
+        return new String(keys, keyOffsets[index], getKeyLength(index), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns array holding UTF-8 bytes of all the keys. Key of an object starts at {@link #getKeyOffset(int)}.
+     */
+    public byte[] getKeyBytes() {
+        return keys;
+    }
+
+    public int getKeyOffset(int index) {
+        return keyOffsets[index];
+    }
+
+    public int getKeyLength(int index) {
+        return keyOffsets[index + 1] - keyOffsets[index];
+    }
+
+    public long getSize(int index) {
+        return sizes[index];
+    }
+
+    /**
+     * Returns modification time in milliseconds since epoch or {@link #NO_LAST_MODIFIED} if it was not parsed.
+     */
+    public long getLastModified(int index) {
+        return lastModified[index];
+    }
+
+    public Date getLastModifiedDate(int index) {
+        return lastModified[index] == NO_LAST_MODIFIED ? null : new Date(lastModified[index]);
+    }
+
+    /**
+     * Returns ETag as it was sent by the server, i.e. in double quotes, or null if it was not parsed.
+     */
+    public String getETag(int index) {
+        if (!hasETagDigest(index)) {
+            return eTags == null ? null : eTags[index];
+        }
+
+        char[] characters = new char[DIGEST_LENGTH * 2 + 2];
+        characters[0] = '"';
+        for (int i = 0; i < DIGEST_LENGTH; i++) {
+            int value = eTagDigests[index * DIGEST_LENGTH + i];
+            characters[1 + 2 * i] = HEX_DIGITS[(value >> 4) & 0xf];
+            characters[2 + 2 * i] = HEX_DIGITS[value & 0xf];
+        }
+        characters[characters.length - 1] = '"';
+
+        return new String(characters);
+    }
+
+    /**
+     * Copies MD5 digest held by the ETag into the target. Returns false if the ETag is not a plain MD5 digest or it
+     * was not parsed.
+     */
+    public boolean copyETagDigest(int index, byte[] target, int offset) {
+        if (!hasETagDigest(index)) {
+            return false;
+        }
+
+        System.arraycopy(eTagDigests, index * DIGEST_LENGTH, target, offset, DIGEST_LENGTH);
+        return true;
+    }
+
+    public String getStorageClass(int index) {
+        int storageClassIndex = storageClassIndexes[index] & 0xff;
+        return storageClassIndex == 0 ? null : storageClasses[storageClassIndex - 1];
+    }
+
+    public void forEach(ObjectSummaryVisitor visitor) {
+        for (int index = 0; index < size; index++) {
+            visitor.visit(this, index);
+        }
+    }
+
+    public S3ObjectSummary getObjectSummary(int index) {
+        S3ObjectSummary summary = new S3ObjectSummary();
+        summary.setBucketName(bucketName);
+        summary.setKey(getKey(index));
+        summary.setSize(sizes[index]);
+        summary.setLastModified(getLastModifiedDate(index));
+        summary.setETag(getETag(index));
+        summary.setStorageClass(getStorageClass(index));
+
+        return summary;
+    }
+
+    /**
+     * Materializes the listing, object summaries included.
+     */
+    public ObjectListing toObjectListing() {
+        ObjectListing listing = new ObjectListing();
+        listing.setBucketName(bucketName);
+        listing.setPrefix(prefix);
+        listing.setMarker(marker);
+        listing.setNextMarker(nextMarker);
+        listing.setDelimiter(delimiter);
+        listing.setMaxKeys(maxKeys);
+        listing.setTruncated(truncated);
+        listing.setCommonPrefixes(new ArrayList<>(commonPrefixes));
+
+        List<S3ObjectSummary> objectSummaries = listing.getObjectSummaries();
+        for (int index = 0; index < size; index++) {
+            objectSummaries.add(getObjectSummary(index));
+        }
+
+        return listing;
+    }
+
+    private boolean hasETagDigest(int index) {
+        return eTagDigestPresence.get(index);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private String bucketName;
+        private String prefix;
+        private String marker;
+        private String nextMarker;
+        private String delimiter;
+        private int maxKeys;
+        private boolean truncated;
+        private final List<String> commonPrefixes = new ArrayList<>();
+
+        private int size;
+        private byte[] keys = new byte[4096];
+        private int[] keyOffsets = new int[65];
+        private long[] sizes = new long[64];
+        private long[] lastModified = new long[64];
+        private byte[] eTagDigests = new byte[64 * DIGEST_LENGTH];
+        private final BitSet eTagDigestPresence = new BitSet();
+        private String[] eTags = new String[64];
+        private boolean hasIrregularETags;
+        private byte[] storageClassIndexes = new byte[64];
+        private final List<String> storageClasses = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder setBucketName(String bucketName) {
+            this.bucketName = bucketName;
+            return this;
+        }
+
+        public Builder setPrefix(String prefix) {
+            this.prefix = prefix;
+            return this;
+        }
+
+        public Builder setMarker(String marker) {
+            this.marker = marker;
+            return this;
+        }
+
+        public Builder setNextMarker(String nextMarker) {
+            this.nextMarker = nextMarker;
+            return this;
+        }
+
+        public Builder setDelimiter(String delimiter) {
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        public Builder setMaxKeys(int maxKeys) {
+            this.maxKeys = maxKeys;
+            return this;
+        }
+
+        public Builder setTruncated(boolean truncated) {
+            this.truncated = truncated;
+            return this;
+        }
+
+        public Builder addCommonPrefix(String commonPrefix) {
+            commonPrefixes.add(commonPrefix);
+            return this;
+        }
+
+        /**
+         * Adds an object without ETag and storage class, which can be set afterwards for the last added object.
+         */
+        public Builder addObject(byte[] key, int keyOffset, int keyLength, long size, long lastModified) {
+            ensureCapacity(this.size + 1, keyOffsets[this.size] + keyLength);
+
+            int index = this.size++;
+            System.arraycopy(key, keyOffset, keys, keyOffsets[index], keyLength);
+            keyOffsets[index + 1] = keyOffsets[index] + keyLength;
+            sizes[index] = size;
+            this.lastModified[index] = lastModified;
+
+            return this;
+        }
+
+        public Builder addObject(String key, long size, long lastModified) {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            return addObject(keyBytes, 0, keyBytes.length, size, lastModified);
+        }
+
+        /**
+         * Sets ETag of the last added object to given MD5 digest.
+         */
+        public Builder setETagDigest(byte[] digest, int offset) {
+            System.arraycopy(digest, offset, eTagDigests, (size - 1) * DIGEST_LENGTH, DIGEST_LENGTH);
+            eTagDigestPresence.set(size - 1);
+            return this;
+        }
+
+        /**
+         * Sets ETag of the last added object that is not a plain MD5 digest.
+         */
+        public Builder setETag(String eTag) {
+            eTags[size - 1] = eTag;
+            hasIrregularETags |= eTag != null;
+            return this;
+        }
+
+        public Builder setStorageClass(String storageClass) {
+            if (storageClass == null) {
+                return this;
+            }
+
+            int storageClassIndex = storageClasses.indexOf(storageClass);
+            if (storageClassIndex < 0) {
+                if (storageClasses.size() == 0xff) {
+                    throw new IllegalStateException("Too many distinct storage classes");
+                }
+
+                storageClasses.add(storageClass);
+                storageClassIndex = storageClasses.size() - 1;
+            }
+
+            storageClassIndexes[size - 1] = (byte) (storageClassIndex + 1);
+            return this;
+        }
+
+        /**
+         * Returns key of the last added object or null if there is none.
+         */
+        public String getLastKey() {
+            if (size == 0) {
+                return null;
+            }
+
+            return new String(keys, keyOffsets[size - 1], keyOffsets[size] - keyOffsets[size - 1], StandardCharsets.UTF_8);
+        }
+
+        public CompactObjectListing build() {
+            return new CompactObjectListing(this);
+        }
+
+        private void ensureCapacity(int objects, int keyBytes) {
+            if (keys.length < keyBytes) {
+                keys = Arrays.copyOf(keys, Math.max(keyBytes, keys.length * 2));
+            }
+
+            if (sizes.length < objects) {
+                int capacity = Math.max(objects, sizes.length * 2);
+                keyOffsets = Arrays.copyOf(keyOffsets, capacity + 1);
+                sizes = Arrays.copyOf(sizes, capacity);
+                lastModified = Arrays.copyOf(lastModified, capacity);
+                eTagDigests = Arrays.copyOf(eTagDigests, capacity * DIGEST_LENGTH);
+                eTags = Arrays.copyOf(eTags, capacity);
+                storageClassIndexes = Arrays.copyOf(storageClassIndexes, capacity);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package pl.codewise.amazon.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes CompleteMultipartUpload document listing parts numbered from 1 in the order of their ETags.
+ */
+class CompleteMultipartUploadBody {
+
+    private CompleteMultipartUploadBody() {
+    }
+
+    /**
+     * Returns heap buffer allocated by the allocator, it has to be released by the caller.
+     */
+    static ByteBuf write(ByteBufAllocator allocator, List<String> eTags) {
+        StringBuilder document = new StringBuilder(64 + eTags.size() * 96);
+        document.append("<CompleteMultipartUpload>");
+        for (int i = 0; i < eTags.size(); i++) {
+            document.append("<Part><PartNumber>")
+                    .append(i + 1)
+                    .append("</PartNumber><ETag>")
+                    .append(unquoted(eTags.get(i)))
+                    .append("</ETag></Part>");
+        }
+        document.append("</CompleteMultipartUpload>");
+
+        byte[] bytes = document.toString().getBytes(StandardCharsets.US_ASCII);
+        return allocator.heapBuffer(bytes.length).writeBytes(bytes);
+    }
+
+    // ETags are hex digests, without quotes nothing has to be escaped
+    private static String unquoted(String eTag) {
+        if (eTag.length() >= 2 && eTag.charAt(0) == '"' && eTag.charAt(eTag.length() - 1) == '"') {
+            return eTag.substring(1, eTag.length() - 1);
+        }
+        return eTag;
+    }
+}
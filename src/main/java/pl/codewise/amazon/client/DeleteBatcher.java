@@ -0,0 +1,124 @@
+package pl.codewise.amazon.client;
+
+import com.amazonaws.services.s3.model.DeleteObjectsResult.DeletedObject;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException.DeleteError;
+import io.reactivex.CompletableEmitter;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import pl.codewise.amazon.client.xml.AmazonS3ExceptionBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Collects single object deletes per bucket and sends them as multi-object deletes, either once the batch is full or
+ * after the linger time passed since the first key was added to it. Every caller is notified with the outcome of its
+ * own key.
+ */
+class DeleteBatcher {
+
+    private final BiFunction<String, List<String>, Single<BulkDeleteResult>> bulkDelete;
+    private final int maxBatchSize;
+    private final long lingerMillis;
+    private final Scheduler scheduler;
+
+    private final Map<String, Batch> batches = new HashMap<>();
+
+    DeleteBatcher(
+            BiFunction<String, List<String>, Single<BulkDeleteResult>> bulkDelete,
+            int maxBatchSize,
+            long lingerMillis,
+            Scheduler scheduler) {
+        this.bulkDelete = bulkDelete;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMillis = lingerMillis;
+        this.scheduler = scheduler;
+    }
+
+    void delete(String bucketName, String key, CompletableEmitter emitter) {
+        Batch fullBatch = null;
+        synchronized (this) {
+            Batch batch = batches.get(bucketName);
+            if (batch == null) {
+                Batch newBatch = new Batch();
+                batches.put(bucketName, newBatch);
+                scheduler.scheduleDirect(() -> flush(bucketName, newBatch), lingerMillis, TimeUnit.MILLISECONDS);
+                batch = newBatch;
+            }
+
+            batch.add(key, emitter);
+            if (batch.size() == maxBatchSize) {
+                batches.remove(bucketName);
+                fullBatch = batch;
+            }
+        }
+
+        if (fullBatch != null) {
+            send(bucketName, fullBatch);
+        }
+    }
+
+    private void flush(String bucketName, Batch batch) {
+        synchronized (this) {
+            if (batches.get(bucketName) != batch) {
+                // Already sent when it got full
+                return;
+            }
+            batches.remove(bucketName);
+        }
+
+        send(bucketName, batch);
+    }
+
+    private void send(String bucketName, Batch batch) {
+        bulkDelete.apply(bucketName, new ArrayList<>(batch.emitters.keySet()))
+                .subscribe(batch::completed, batch::failed);
+    }
+
+    private static class Batch {
+
+        private final Map<String, List<CompletableEmitter>> emitters = new LinkedHashMap<>();
+
+        void add(String key, CompletableEmitter emitter) {
+            emitters.computeIfAbsent(key, ignored -> new ArrayList<>(1)).add(emitter);
+        }
+
+        int size() {
+            return emitters.size();
+        }
+
+        void completed(BulkDeleteResult result) {
+            for (DeletedObject deletedObject : result.getDeletedObjects()) {
+                List<CompletableEmitter> keyEmitters = emitters.remove(deletedObject.getKey());
+                if (keyEmitters != null) {
+                    keyEmitters.forEach(CompletableEmitter::onComplete);
+                }
+            }
+
+            for (DeleteError error : result.getErrors()) {
+                List<CompletableEmitter> keyEmitters = emitters.remove(error.getKey());
+                if (keyEmitters != null) {
+                    AmazonS3ExceptionBuilder exceptionBuilder = new AmazonS3ExceptionBuilder();
+                    exceptionBuilder.setErrorCode(error.getCode());
+                    exceptionBuilder.setMessage(error.getMessage());
+
+                    keyEmitters.forEach(emitter -> emitter.onError(exceptionBuilder.build()));
+                }
+            }
+
+            if (!emitters.isEmpty()) {
+                failed(new IllegalStateException("Outcome of delete was not reported"));
+            }
+        }
+
+        void failed(Throwable throwable) {
+            emitters.values().forEach(keyEmitters -> keyEmitters.forEach(emitter -> emitter.onError(throwable)));
+            emitters.clear();
+        }
+    }
+}
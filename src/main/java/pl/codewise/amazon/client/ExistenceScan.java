@@ -0,0 +1,246 @@
+package pl.codewise.amazon.client;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers existence of many keys from listings instead of HEAD requests. Sorted keys are grouped by their longest
+ * common prefix, up to a page of keys per group, and every group is listed under its prefix starting right before its
+ * first key. Keys passed by the listing are either listed or missing, so a page answers up to as many lookups as keys
+ * it lists. Keys of groups too small to be worth listing, and of groups given up as too sparse, are left to HEAD
+ * requests.
+ */
+class ExistenceScan {
+
+    private final List<String> keys;
+    private final Map<String, Boolean> listed = new ConcurrentHashMap<>();
+    private final List<String> unlisted = Collections.synchronizedList(new ArrayList<>());
+
+    ExistenceScan(List<String> keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Groups keys to be listed, leaving those in groups of fewer than minGroupSize keys unlisted.
+     */
+    List<Group> group(int minGroupSize, int maxGroupSize) {
+        TreeSet<String> sorted = new TreeSet<>(ExistenceScan::compareKeys);
+        sorted.addAll(keys);
+
+        List<Group> groups = new ArrayList<>();
+        split(new ArrayList<>(sorted), minGroupSize, maxGroupSize, groups);
+        return groups;
+    }
+
+    /**
+     * Splits keys sharing a prefix by the character following it and merges adjacent parts back up to maxGroupSize
+     * keys, so that every group has the longest prefix it can. Parts still too large are split further.
+     */
+    private void split(List<String> sorted, int minGroupSize, int maxGroupSize, List<Group> groups) {
+        if (sorted.size() <= maxGroupSize) {
+            add(sorted, minGroupSize, groups);
+            return;
+        }
+
+        int prefixLength = commonPrefixLength(sorted.get(0), sorted.get(sorted.size() - 1));
+        int start = 0;
+        while (start < sorted.size()) {
+            int end = partEnd(sorted, start, prefixLength);
+            while (end < sorted.size()) {
+                int nextEnd = partEnd(sorted, end, prefixLength);
+                if (nextEnd - start > maxGroupSize) {
+                    break;
+                }
+                end = nextEnd;
+            }
+
+            List<String> part = sorted.subList(start, end);
+            if (part.size() > maxGroupSize) {
+                split(part, minGroupSize, maxGroupSize, groups);
+            } else {
+                add(part, minGroupSize, groups);
+            }
+            start = end;
+        }
+    }
+
+    private void add(List<String> sorted, int minGroupSize, List<Group> groups) {
+        if (sorted.size() < minGroupSize) {
+            unlisted.addAll(sorted);
+        } else {
+            String first = sorted.get(0);
+            String prefix = first.substring(0, commonPrefixLength(first, sorted.get(sorted.size() - 1)));
+            groups.add(new Group(prefix, sorted));
+        }
+    }
+
+    /**
+     * Returns end of the run of keys starting at given index that have the same character following the prefix.
+     */
+    private static int partEnd(List<String> sorted, int start, int prefixLength) {
+        int character = characterAt(sorted.get(start), prefixLength);
+        int end = start + 1;
+        while (end < sorted.size() && characterAt(sorted.get(end), prefixLength) == character) {
+            end++;
+        }
+        return end;
+    }
+
+    private static int characterAt(String key, int index) {
+        return index < key.length() ? key.charAt(index) : -1;
+    }
+
+    private static int commonPrefixLength(String first, String second) {
+        int length = 0;
+        int maxLength = Math.min(first.length(), second.length());
+        while (length < maxLength && first.charAt(length) == second.charAt(length)) {
+            length++;
+        }
+
+        if (length > 0 && Character.isHighSurrogate(first.charAt(length - 1))) {
+            // Prefix must not split a surrogate pair
+            length--;
+        }
+        return length;
+    }
+
+    /**
+     * Compares keys in order they are listed in, which is order of their UTF-8 bytes and so of their code points.
+     */
+    static int compareKeys(String first, String second) {
+        int length = Math.min(first.length(), second.length());
+        for (int i = 0; i < length; i++) {
+            char firstChar = first.charAt(i);
+            char secondChar = second.charAt(i);
+            if (firstChar != secondChar) {
+                return codePointOrder(firstChar) - codePointOrder(secondChar);
+            }
+        }
+        return first.length() - second.length();
+    }
+
+    /**
+     * Moves surrogates above other characters of the basic plane, so that chars compare as code points do.
+     */
+    private static int codePointOrder(char character) {
+        if (character >= 0xE000) {
+            return character - 0x800;
+        }
+        if (character >= 0xD800) {
+            return character + 0x2000;
+        }
+        return character;
+    }
+
+    /**
+     * Returns keys not answered by listings, to be checked with HEAD requests once all groups were listed.
+     */
+    List<String> unlisted() {
+        synchronized (unlisted) {
+            return new ArrayList<>(unlisted);
+        }
+    }
+
+    /**
+     * Returns keys listings found missing.
+     */
+    List<String> listedMissing() {
+        List<String> missing = new ArrayList<>();
+        listed.forEach((key, exists) -> {
+            if (!exists) {
+                missing.add(key);
+            }
+        });
+        return missing;
+    }
+
+    /**
+     * Returns whether each key exists in the order keys were given, taking keys not listed from HEAD results.
+     */
+    Map<String, Boolean> results(Map<String, Boolean> headed) {
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        for (String key : keys) {
+            Boolean exists = listed.get(key);
+            results.put(key, exists != null ? exists : headed.get(key));
+        }
+        return results;
+    }
+
+    class Group {
+
+        private final String prefix;
+        private final List<String> keys;
+        private int next;
+
+        private Group(String prefix, List<String> keys) {
+            this.prefix = prefix;
+            this.keys = keys;
+        }
+
+        /**
+         * Returns prefix to list or null if keys of the group share none.
+         */
+        String getPrefix() {
+            return prefix.isEmpty() ? null : prefix;
+        }
+
+        /**
+         * Returns key to start listing after, right before the first key of the group, or null to list from start.
+         */
+        String getStartAfter() {
+            String first = keys.get(0);
+            int length = first.offsetByCodePoints(first.length(), -1);
+            return length > 0 && length >= prefix.length() ? first.substring(0, length) : null;
+        }
+
+        int size() {
+            return keys.size();
+        }
+
+        /**
+         * Marks keys up to the last listed one as existing or missing, or all remaining keys if it was the last page.
+         * Returns number of keys answered by the page.
+         */
+        int onListed(List<S3ObjectSummary> page, boolean truncated) {
+            int answeredBefore = next;
+            for (S3ObjectSummary summary : page) {
+                String listedKey = summary.getKey();
+                while (next < keys.size() && compareKeys(keys.get(next), listedKey) < 0) {
+                    listed.put(keys.get(next++), false);
+                }
+                if (next < keys.size() && keys.get(next).equals(listedKey)) {
+                    listed.put(keys.get(next++), true);
+                }
+                if (next == keys.size()) {
+                    break;
+                }
+            }
+
+            if (!truncated) {
+                while (next < keys.size()) {
+                    listed.put(keys.get(next++), false);
+                }
+            }
+            return next - answeredBefore;
+        }
+
+        boolean isAnswered() {
+            return next == keys.size();
+        }
+
+        /**
+         * Leaves keys not answered so far to HEAD requests.
+         */
+        void giveUp() {
+            unlisted.addAll(keys.subList(next, keys.size()));
+            next = keys.size();
+        }
+    }
+}
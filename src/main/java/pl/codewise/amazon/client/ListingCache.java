@@ -0,0 +1,132 @@
+package pl.codewise.amazon.client;
+
+import com.amazonaws.services.s3.model.ListObjectsRequest;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Keeps pages of compact listings for a short time, so that repeated listings of the same prefix and marker are not
+ * sent again. Pages are immutable and shared between callers. Writes going through the client drop pages of their
+ * bucket whose prefix covers the written key, pages listed while a write was in progress are not kept.
+ */
+class ListingCache {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Scheduler scheduler;
+
+    // Guarded by this, in LRU order
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long invalidations;
+
+    ListingCache(long ttlMillis, int maxEntries, Scheduler scheduler) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.scheduler = scheduler;
+    }
+
+    Single<CompactObjectListing> get(ListObjectsRequest listObjectsRequest, Supplier<Single<CompactObjectListing>> loader) {
+        Key key = new Key(listObjectsRequest);
+
+        return Single.defer(() -> {
+            long loadedAfter;
+            synchronized (this) {
+                Entry entry = entries.get(key);
+                if (entry != null && entry.expiresAtMillis > now()) {
+                    return Single.just(entry.listing);
+                }
+
+                entries.remove(key);
+                loadedAfter = invalidations;
+            }
+
+            return loader.get()
+                    .doOnSuccess(listing -> store(key, listing, loadedAfter));
+        });
+    }
+
+    /**
+     * Drops pages that could list given key.
+     */
+    synchronized void invalidate(String bucketName, String key) {
+        invalidations++;
+        entries.keySet().removeIf(cached -> cached.bucketName.equals(bucketName)
+                && (cached.prefix == null || key.startsWith(cached.prefix)));
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void store(Key key, CompactObjectListing listing, long loadedAfter) {
+        if (invalidations != loadedAfter) {
+            // Page may miss a write that completed while it was listed
+            return;
+        }
+
+        entries.put(key, new Entry(listing, now() + ttlMillis));
+        while (entries.size() > maxEntries) {
+            Key eldest = entries.keySet().iterator().next();
+            entries.remove(eldest);
+        }
+    }
+
+    private long now() {
+        return scheduler.now(TimeUnit.MILLISECONDS);
+    }
+
+    private static class Entry {
+
+        private final CompactObjectListing listing;
+        private final long expiresAtMillis;
+
+        Entry(CompactObjectListing listing, long expiresAtMillis) {
+            this.listing = listing;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private static class Key {
+
+        private final String bucketName;
+        private final String prefix;
+        private final String marker;
+        private final String delimiter;
+        private final Integer maxKeys;
+
+        Key(ListObjectsRequest listObjectsRequest) {
+            this.bucketName = listObjectsRequest.getBucketName();
+            this.prefix = listObjectsRequest.getPrefix();
+            this.marker = listObjectsRequest.getMarker();
+            this.delimiter = listObjectsRequest.getDelimiter();
+            this.maxKeys = listObjectsRequest.getMaxKeys();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return bucketName.equals(key.bucketName)
+                    && Objects.equals(prefix, key.prefix)
+                    && Objects.equals(marker, key.marker)
+                    && Objects.equals(delimiter, key.delimiter)
+                    && Objects.equals(maxKeys, key.maxKeys);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bucketName, prefix, marker, delimiter, maxKeys);
+        }
+    }
+}
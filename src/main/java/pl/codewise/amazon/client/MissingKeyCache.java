@@ -0,0 +1,83 @@
+package pl.codewise.amazon.client;
+
+import io.reactivex.Scheduler;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers keys recently found missing, so that lookups of them are answered without a request until they expire.
+ * The set is bounded and the least recently found keys are dropped first. Unlike a Bloom filter it has no false
+ * positives and keys written through the client are removed from it, keys found missing while a write was in
+ * progress are not remembered.
+ */
+class MissingKeyCache {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Scheduler scheduler;
+
+    // Guarded by this, in insertion order, values are expiration times
+    private final LinkedHashMap<String, Long> expirations = new LinkedHashMap<>();
+    private long writes;
+
+    MissingKeyCache(long ttlMillis, int maxEntries, Scheduler scheduler) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.scheduler = scheduler;
+    }
+
+    synchronized boolean isMissing(String bucketName, String key) {
+        String cacheKey = cacheKey(bucketName, key);
+        Long expiresAtMillis = expirations.get(cacheKey);
+        if (expiresAtMillis == null) {
+            return false;
+        }
+
+        if (expiresAtMillis <= now()) {
+            expirations.remove(cacheKey);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns number of writes so far, to be passed to {@link #onMissing(String, String, long)} once lookup started
+     * after it finds the key missing.
+     */
+    synchronized long writes() {
+        return writes;
+    }
+
+    synchronized void onMissing(String bucketName, String key, long writesBeforeLookup) {
+        if (writes != writesBeforeLookup) {
+            // Key may have been written while it was looked up
+            return;
+        }
+
+        String cacheKey = cacheKey(bucketName, key);
+        expirations.remove(cacheKey);
+        expirations.put(cacheKey, now() + ttlMillis);
+
+        while (expirations.size() > maxEntries) {
+            expirations.remove(expirations.keySet().iterator().next());
+        }
+    }
+
+    synchronized void onWritten(String bucketName, String key) {
+        writes++;
+        expirations.remove(cacheKey(bucketName, key));
+    }
+
+    synchronized int size() {
+        return expirations.size();
+    }
+
+    private long now() {
+        return scheduler.now(TimeUnit.MILLISECONDS);
+    }
+
+    private static String cacheKey(String bucketName, String key) {
+        return bucketName + '/' + key;
+    }
+}
@@ -0,0 +1,73 @@
+package pl.codewise.amazon.client;
+
+import com.amazonaws.services.s3.Headers;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpHeaders;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Object content handed over as the reference counted buffer it was read into, without copying it through a stream.
+ * The lease holds a single reference that has to be released once the content is no longer needed. Content passed on
+ * to a channel, which releases what it writes, has to be retained first.
+ */
+public class ObjectLease {
+
+    private final ByteBuf content;
+    private final HttpHeaders headers;
+
+    public ObjectLease(ByteBuf content, HttpHeaders headers) {
+        this.content = content;
+        this.headers = headers;
+    }
+
+    /**
+     * Returns content that stays valid until the lease is released.
+     */
+    public ByteBuf getContent() {
+        return content;
+    }
+
+    /**
+     * Returns NIO views of the content, sharing its memory, that stay valid until the lease is released.
+     */
+    public ByteBuffer[] nioBuffers() {
+        return content.nioBuffers();
+    }
+
+    public int getContentLength() {
+        return content.readableBytes();
+    }
+
+    public String getETag() {
+        return headers.get(Headers.ETAG);
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    public int refCnt() {
+        return content.refCnt();
+    }
+
+    public ObjectLease retain() {
+        content.retain();
+        return this;
+    }
+
+    /**
+     * Returns lease of the same content with independent indexes, which holds its own reference and has to be released
+     * separately.
+     */
+    public ObjectLease retainedDuplicate() {
+        return new ObjectLease(content.duplicate().retain(), headers);
+    }
+
+    /**
+     * Returns true if it was the last reference and the content was freed.
+     */
+    public boolean release() {
+        return content.release();
+    }
+}
@@ -0,0 +1,227 @@
+package pl.codewise.amazon.client;
+
+import io.netty.buffer.ByteBuf;
+import io.reactivex.Single;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Read-only channel over an object, which reads blocks of it with range requests instead of downloading it whole.
+ * Recently read blocks are cached. Once reads follow one another, blocks ahead of the position are requested
+ * concurrently and the readahead doubles with every sequential read up to its limit, a seek switches it off again.
+ * Use {@link java.nio.channels.Channels#newInputStream} to read it as a stream.
+ */
+public class ObjectReadChannel implements SeekableByteChannel {
+
+    private static final int SEQUENTIAL_READS_BEFORE_READAHEAD = 2;
+
+    private final long size;
+    private final BiFunction<Long, Long, Single<ObjectLease>> rangeReader;
+    private final int blockSize;
+    private final int maxCachedBlocks;
+    private final int maxReadaheadBlocks;
+
+    // Guarded by this, in LRU order
+    private final LinkedHashMap<Long, Single<ObjectLease>> blocks = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long position;
+    private long lastReadEnd = -1;
+    private int sequentialReads;
+    private int readaheadBlocks;
+    private boolean open = true;
+
+    /**
+     * Range reader is given first and last byte of a block and returns its content.
+     */
+    ObjectReadChannel(
+            long size,
+            BiFunction<Long, Long, Single<ObjectLease>> rangeReader,
+            int blockSize,
+            int maxCachedBlocks,
+            int maxReadaheadBlocks) {
+        if (maxCachedBlocks <= maxReadaheadBlocks) {
+            throw new IllegalArgumentException(
+                    "Cached blocks (" + maxCachedBlocks + ") have to outnumber readahead blocks (" + maxReadaheadBlocks + ")");
+        }
+
+        this.size = size;
+        this.rangeReader = rangeReader;
+        this.blockSize = blockSize;
+        this.maxCachedBlocks = maxCachedBlocks;
+        this.maxReadaheadBlocks = maxReadaheadBlocks;
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer target) throws IOException {
+        ensureOpen();
+        if (position >= size) {
+            return -1;
+        }
+
+        onRead();
+
+        int read = 0;
+        while (target.hasRemaining() && position < size) {
+            long index = position / blockSize;
+            ByteBuf content = awaitBlock(index).getContent();
+
+            int offset = (int) (position - index * blockSize);
+            int length = Math.min(target.remaining(), content.readableBytes() - offset);
+            if (length <= 0) {
+                throw new IOException("Block " + index + " ended after " + content.readableBytes() + " bytes");
+            }
+
+            ByteBuffer destination = target.duplicate();
+            destination.limit(destination.position() + length);
+            content.getBytes(content.readerIndex() + offset, destination);
+            target.position(target.position() + length);
+
+            position += length;
+            read += length;
+        }
+
+        lastReadEnd = position;
+        readAhead();
+        return read;
+    }
+
+    @Override
+    public int write(ByteBuffer source) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        ensureOpen();
+        return position;
+    }
+
+    @Override
+    public synchronized ObjectReadChannel position(long newPosition) throws IOException {
+        ensureOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("Negative position: " + newPosition);
+        }
+
+        position = newPosition;
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        ensureOpen();
+        return size;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Releases cached blocks, blocks still being read are released once they arrive.
+     */
+    @Override
+    public synchronized void close() {
+        if (!open) {
+            return;
+        }
+
+        open = false;
+        for (Single<ObjectLease> block : new ArrayList<>(blocks.values())) {
+            release(block);
+        }
+        blocks.clear();
+    }
+
+    /**
+     * Returns number of blocks cached or being read.
+     */
+    synchronized int cachedBlocks() {
+        return blocks.size();
+    }
+
+    private void onRead() {
+        if (position == lastReadEnd) {
+            sequentialReads++;
+            if (sequentialReads >= SEQUENTIAL_READS_BEFORE_READAHEAD) {
+                readaheadBlocks = Math.min(maxReadaheadBlocks, Math.max(1, readaheadBlocks * 2));
+            }
+        } else {
+            sequentialReads = 0;
+            readaheadBlocks = 0;
+        }
+    }
+
+    private void readAhead() {
+        long lastBlock = (size - 1) / blockSize;
+        long current = (position - 1) / blockSize;
+        for (long index = current + 1; index <= Math.min(lastBlock, current + readaheadBlocks); index++) {
+            if (!blocks.containsKey(index)) {
+                fetch(index);
+            }
+        }
+    }
+
+    private ObjectLease awaitBlock(long index) throws IOException {
+        Single<ObjectLease> block = blocks.get(index);
+        if (block == null) {
+            block = fetch(index);
+        }
+
+        try {
+            return block.blockingGet();
+        } catch (RuntimeException e) {
+            blocks.remove(index);
+            throw new IOException("Failed to read block " + index, e);
+        }
+    }
+
+    private Single<ObjectLease> fetch(long index) {
+        long first = index * blockSize;
+        long last = Math.min(first + blockSize, size) - 1;
+
+        Single<ObjectLease> block = rangeReader.apply(first, last).cache();
+        block.subscribe(lease -> {
+        }, throwable -> {
+        });
+
+        blocks.put(index, block);
+        evictOverflow();
+        return block;
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Long, Single<ObjectLease>>> iterator = blocks.entrySet().iterator();
+        while (blocks.size() > maxCachedBlocks && iterator.hasNext()) {
+            Single<ObjectLease> eldest = iterator.next().getValue();
+            iterator.remove();
+            release(eldest);
+        }
+    }
+
+    private static void release(Single<ObjectLease> block) {
+        block.subscribe(ObjectLease::release, throwable -> {
+        });
+    }
+
+    private void ensureOpen() throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package pl.codewise.amazon.client;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import pl.codewise.amazon.client.xml.LazyObjectSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.regex.Pattern;
+
+/**
+ * Decides which objects are kept in a listing. Byte level parsers evaluate the filter on raw values before anything
+ * is allocated for the object: key is checked first, then size and finally modification time, so that rejected objects
+ * cost as little as possible. The pull parser evaluates it on parsed summaries and, there, checks of fields that are
+ * configured to be skipped are not performed.
+ * <p>
+ * Filtering does not affect paging: next marker is derived from the last object in the response, even if it has been
+ * rejected, so a page can be empty and still be truncated.
+ */
+public interface ObjectSummaryFilter {
+
+    ObjectSummaryFilter ALL = new AnyKey();
+
+    boolean acceptKey(CharSequence key);
+
+    /**
+     * Checks key given as UTF-8 bytes. Decodes them by default, filters that are able to work on bytes should
+     * override it.
+     */
+    default boolean acceptKey(byte[] key, int offset, int length) {
+        return acceptKey(new String(key, offset, length, StandardCharsets.UTF_8));
+    }
+
+    default boolean acceptSize(long size) {
+        return true;
+    }
+
+    default boolean acceptLastModified(long lastModified) {
+        return true;
+    }
+
+    default boolean accept(S3ObjectSummary summary) {
+        if (!acceptKey(summary.getKey()) || !acceptSize(summary.getSize())) {
+            return false;
+        }
+
+        if (summary instanceof LazyObjectSummary) {
+            // Checked on millis, so that dates are not created for summaries just to be filtered
+            long lastModified = ((LazyObjectSummary) summary).getLastModifiedMillis();
+            return lastModified == LazyObjectSummary.NO_LAST_MODIFIED || acceptLastModified(lastModified);
+        }
+
+        Date lastModified = summary.getLastModified();
+        return lastModified == null || acceptLastModified(lastModified.getTime());
+    }
+
+    default ObjectSummaryFilter and(ObjectSummaryFilter other) {
+        ObjectSummaryFilter first = this;
+
+        return new ObjectSummaryFilter() {
+            @Override
+            public boolean acceptKey(CharSequence key) {
+                return first.acceptKey(key) && other.acceptKey(key);
+            }
+
+            @Override
+            public boolean acceptKey(byte[] key, int offset, int length) {
+                return first.acceptKey(key, offset, length) && other.acceptKey(key, offset, length);
+            }
+
+            @Override
+            public boolean acceptSize(long size) {
+                return first.acceptSize(size) && other.acceptSize(size);
+            }
+
+            @Override
+            public boolean acceptLastModified(long lastModified) {
+                return first.acceptLastModified(lastModified) && other.acceptLastModified(lastModified);
+            }
+        };
+    }
+
+    static ObjectSummaryFilter keySuffix(String suffix) {
+        byte[] suffixBytes = suffix.getBytes(StandardCharsets.UTF_8);
+
+        return new ObjectSummaryFilter() {
+            @Override
+            public boolean acceptKey(CharSequence key) {
+                return key.toString().endsWith(suffix);
+            }
+
+            @Override
+            public boolean acceptKey(byte[] key, int offset, int length) {
+                if (length < suffixBytes.length) {
+                    return false;
+                }
+
+                int start = offset + length - suffixBytes.length;
+                for (int i = 0; i < suffixBytes.length; i++) {
+                    if (key[start + i] != suffixBytes[i]) {
+                        return false;
+                    }
+                }
+
+                return true;
+            }
+        };
+    }
+
+    static ObjectSummaryFilter keyMatching(Pattern pattern) {
+        return key -> pattern.matcher(key).matches();
+    }
+
+    static ObjectSummaryFilter minSize(long minSize) {
+        return new AnyKey() {
+            @Override
+            public boolean acceptSize(long size) {
+                return size >= minSize;
+            }
+        };
+    }
+
+    static ObjectSummaryFilter modifiedSince(Date date) {
+        long since = date.getTime();
+
+        return new AnyKey() {
+            @Override
+            public boolean acceptLastModified(long lastModified) {
+                return lastModified >= since;
+            }
+        };
+    }
+
+    /**
+     * Base for filters that accept every key.
+     */
+    class AnyKey implements ObjectSummaryFilter {
+
+        @Override
+        public boolean acceptKey(CharSequence key) {
+            return true;
+        }
+
+        @Override
+        public boolean acceptKey(byte[] key, int offset, int length) {
+            return true;
+        }
+    }
+}
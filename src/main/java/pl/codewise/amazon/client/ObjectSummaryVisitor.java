@@ -0,0 +1,9 @@
+package pl.codewise.amazon.client;
+
+/**
+ * Visits objects of a {@link CompactObjectListing} without materializing their summaries.
+ */
+public interface ObjectSummaryVisitor {
+
+    void visit(CompactObjectListing listing, int index);
+}
@@ -0,0 +1,202 @@
+package pl.codewise.amazon.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+import io.reactivex.Completable;
+import io.reactivex.subjects.CompletableSubject;
+import pl.codewise.amazon.client.http.StreamingBody;
+import pl.codewise.amazon.client.xml.ContentConsumer;
+import pl.codewise.amazon.client.xml.GenericResponseParser;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.function.BiFunction;
+
+/**
+ * Pipes body of an object being read into an upload started as soon as the response arrives. Chunks are written to
+ * the destination connection as they are read from the source one, without being copied, and reading from the source
+ * is paused until the upload connection is ready and whenever it cannot take more. Failure on either side aborts the
+ * other one.
+ */
+class ObjectTransfer implements ContentConsumer<Completable>, StreamingBody {
+
+    private final CompletableSubject uploaded = CompletableSubject.create();
+
+    // Guarded by this
+    private final ArrayDeque<ByteBuf> pendingChunks = new ArrayDeque<>();
+    private Channel source;
+    private Channel destination;
+    private ChannelPromise written;
+    private boolean waitingForFlush;
+    private boolean sourceDone;
+    private Throwable failure;
+
+    @Override
+    public synchronized void readFrom(Channel channel) {
+        source = channel;
+        updateSourceReading();
+    }
+
+    @Override
+    public synchronized void start(Channel channel, ChannelPromise written) {
+        destination = channel;
+        this.written = written;
+
+        if (failure != null) {
+            written.tryFailure(failure);
+            return;
+        }
+
+        while (!pendingChunks.isEmpty()) {
+            write(pendingChunks.poll());
+        }
+
+        if (sourceDone) {
+            destination.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT, written);
+        }
+
+        updateSourceReading();
+    }
+
+    @Override
+    public synchronized void consume(ByteBuf chunk) throws IOException {
+        if (failure != null) {
+            rethrowFailure();
+        }
+
+        chunk.retain();
+        if (destination == null) {
+            pendingChunks.add(chunk);
+        } else {
+            write(chunk);
+        }
+    }
+
+    @Override
+    public Completable complete() throws IOException {
+        synchronized (this) {
+            sourceDone = true;
+            updateSourceReading();
+
+            if (failure != null) {
+                rethrowFailure();
+            }
+
+            if (destination != null) {
+                destination.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT, written);
+            }
+        }
+
+        return uploaded;
+    }
+
+    @Override
+    public synchronized void discard() {
+        sourceDone = true;
+        fail(new IOException("Reading of the transferred object failed"));
+    }
+
+    void uploaded() {
+        uploaded.onComplete();
+    }
+
+    void uploadFailed(Throwable throwable) {
+        synchronized (this) {
+            fail(throwable);
+        }
+
+        uploaded.onError(throwable);
+    }
+
+    private void write(ByteBuf chunk) {
+        ChannelFuture writeFuture = destination.writeAndFlush(new DefaultHttpContent(chunk));
+        if (!destination.isWritable() && !waitingForFlush) {
+            // Reading is resumed once everything written so far is flushed
+            waitingForFlush = true;
+            updateSourceReading();
+
+            writeFuture.addListener(ignored -> flushed());
+        }
+    }
+
+    private synchronized void flushed() {
+        waitingForFlush = false;
+        updateSourceReading();
+    }
+
+    private void fail(Throwable throwable) {
+        if (failure == null) {
+            failure = throwable;
+        }
+
+        while (!pendingChunks.isEmpty()) {
+            pendingChunks.poll().release();
+        }
+
+        if (written != null) {
+            written.tryFailure(throwable);
+        }
+
+        updateSourceReading();
+    }
+
+    private void updateSourceReading() {
+        if (source == null) {
+            return;
+        }
+
+        // Once the source is done the channel is back in the pool and has to be left reading
+        boolean reading = sourceDone || failure != null || (destination != null && !waitingForFlush);
+        source.config().setAutoRead(reading);
+    }
+
+    private void rethrowFailure() throws IOException {
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        throw new IOException(failure);
+    }
+
+    /**
+     * Starts the upload given headers of the object being read and body to send. Objects of unknown length, e.g.
+     * decompressed on the fly, cannot be streamed and fail the transfer.
+     */
+    static class ResponseParser extends GenericResponseParser<Completable> {
+
+        private final BiFunction<HttpHeaders, StreamingBody, Completable> upload;
+
+        ResponseParser(BiFunction<HttpHeaders, StreamingBody, Completable> upload) {
+            super(null, null);
+            this.upload = upload;
+        }
+
+        @Override
+        public Completable parse(HttpResponseStatus status, HttpHeaders headers, ByteBuf content) {
+            ReferenceCountUtil.release(content);
+            return Completable.error(new IllegalStateException("Length of the transferred object is unknown"));
+        }
+
+        @Override
+        public ContentConsumer<Completable> newContentConsumer(HttpResponseStatus status, HttpHeaders headers) {
+            if (!headers.contains(HttpHeaders.Names.CONTENT_LENGTH)) {
+                return null;
+            }
+
+            ObjectTransfer transfer = new ObjectTransfer();
+            upload.apply(headers, transfer)
+                    .subscribe(transfer::uploaded, transfer::uploadFailed);
+
+            return transfer;
+        }
+    }
+}
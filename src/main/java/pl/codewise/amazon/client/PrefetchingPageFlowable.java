@@ -0,0 +1,218 @@
+package pl.codewise.amazon.client;
+
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Emits pages of a paginated listing in order. Request for the next page is issued as soon as it is known, which may
+ * be reported by the page requester before the current page is complete, otherwise it is derived from the completed
+ * page. At most prefetch pages are being requested or waiting for downstream demand at any time and none is requested
+ * before the first demand.
+ */
+class PrefetchingPageFlowable<Q, P> extends Flowable<P> {
+
+    private final Q firstRequest;
+    private final BiFunction<Q, Consumer<Q>, Single<P>> pageRequester;
+    private final BiFunction<Q, P, Q> nextPageRequest;
+    private final int prefetch;
+
+    /**
+     * @param pageRequester   requests a page, it may pass request for the next page to the consumer before the
+     *                        returned single succeeds
+     * @param nextPageRequest returns request for the page following the given one or null if it was the last page
+     */
+    PrefetchingPageFlowable(
+            Q firstRequest,
+            BiFunction<Q, Consumer<Q>, Single<P>> pageRequester,
+            BiFunction<Q, P, Q> nextPageRequest,
+            int prefetch) {
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("Prefetch has to be positive: " + prefetch);
+        }
+
+        this.firstRequest = firstRequest;
+        this.pageRequester = pageRequester;
+        this.nextPageRequest = nextPageRequest;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super P> subscriber) {
+        subscriber.onSubscribe(new PageSubscription<>(subscriber, firstRequest, pageRequester, nextPageRequest, prefetch));
+    }
+
+    private static class PageSubscription<Q, P> implements Subscription {
+
+        private final Subscriber<? super P> subscriber;
+        private final BiFunction<Q, Consumer<Q>, Single<P>> pageRequester;
+        private final BiFunction<Q, P, Q> nextPageRequest;
+        private final int prefetch;
+
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger work = new AtomicInteger();
+
+        private volatile boolean cancelled;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        // Accessed only by the thread draining
+        private final ArrayDeque<Page<Q, P>> pages = new ArrayDeque<>();
+        private Q nextRequest;
+        private boolean lastPageRequested;
+
+        PageSubscription(
+                Subscriber<? super P> subscriber,
+                Q firstRequest,
+                BiFunction<Q, Consumer<Q>, Single<P>> pageRequester,
+                BiFunction<Q, P, Q> nextPageRequest,
+                int prefetch) {
+            this.subscriber = subscriber;
+            this.nextRequest = firstRequest;
+            this.pageRequester = pageRequester;
+            this.nextPageRequest = nextPageRequest;
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("Requested non-positive number of pages: " + n));
+                return;
+            }
+
+            requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (work.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    disposeAll();
+                    return;
+                }
+
+                Throwable throwable = error.get();
+                if (throwable != null) {
+                    cancelled = true;
+                    disposeAll();
+                    subscriber.onError(throwable);
+                    return;
+                }
+
+                resolveNextRequest();
+
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && !pages.isEmpty() && pages.peek().result != null) {
+                    // Page may have completed after the check above, its next request is lost once it is polled
+                    resolveNextRequest();
+                    subscriber.onNext(pages.poll().result);
+                    emitted++;
+
+                    if (cancelled) {
+                        disposeAll();
+                        return;
+                    }
+                }
+
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+
+                if (lastPageRequested && nextRequest == null && pages.isEmpty()) {
+                    cancelled = true;
+                    subscriber.onComplete();
+                    return;
+                }
+
+                if (nextRequest != null && pages.size() < prefetch) {
+                    requestPage(nextRequest);
+                    // Loop once more, the page may have completed already or be followed by another one
+                    continue;
+                }
+
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void resolveNextRequest() {
+            Page<Q, P> last = pages.peekLast();
+            if (last == null || last.nextRequestResolved) {
+                return;
+            }
+
+            if (last.earlyNextRequest != null) {
+                last.nextRequestResolved = true;
+                nextRequest = last.earlyNextRequest;
+            } else if (last.result != null) {
+                last.nextRequestResolved = true;
+                nextRequest = nextPageRequest.apply(last.request, last.result);
+                lastPageRequested = nextRequest == null;
+            }
+        }
+
+        private void requestPage(Q request) {
+            Page<Q, P> page = new Page<>(request);
+            pages.add(page);
+            nextRequest = null;
+
+            page.disposable = pageRequester.apply(request, earlyNextRequest -> {
+                page.earlyNextRequest = earlyNextRequest;
+                drain();
+            }).subscribe(
+                    result -> {
+                        page.result = result;
+                        drain();
+                    },
+                    throwable -> {
+                        error.compareAndSet(null, throwable);
+                        drain();
+                    });
+        }
+
+        private void disposeAll() {
+            for (Page<Q, P> page : pages) {
+                if (page.disposable != null) {
+                    page.disposable.dispose();
+                }
+            }
+            pages.clear();
+        }
+    }
+
+    private static class Page<Q, P> {
+
+        private final Q request;
+
+        private volatile Q earlyNextRequest;
+        private volatile P result;
+
+        private Disposable disposable;
+        private boolean nextRequestResolved;
+
+        Page(Q request) {
+            this.request = request;
+        }
+    }
+}
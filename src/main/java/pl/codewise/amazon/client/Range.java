@@ -0,0 +1,39 @@
+package pl.codewise.amazon.client;
+
+/**
+ * Bytes of an object starting at given offset.
+ */
+public class Range {
+
+    private final long offset;
+    private final int length;
+
+    public Range(long offset, int length) {
+        if (offset < 0 || length <= 0) {
+            throw new IllegalArgumentException("Invalid range of " + length + " bytes at " + offset);
+        }
+
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns offset of the last byte of the range.
+     */
+    public long getLast() {
+        return offset + length - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "bytes=" + offset + "-" + getLast();
+    }
+}
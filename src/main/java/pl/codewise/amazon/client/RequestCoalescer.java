@@ -0,0 +1,177 @@
+package pl.codewise.amazon.client;
+
+import io.reactivex.Single;
+import io.reactivex.SingleEmitter;
+import io.reactivex.SingleObserver;
+import io.reactivex.disposables.CompositeDisposable;
+import io.reactivex.disposables.Disposable;
+import pl.codewise.amazon.client.auth.Operation;
+import pl.codewise.amazon.client.http.Request;
+import pl.codewise.amazon.client.xml.GenericResponseParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lets concurrent callers asking for the same thing share one in-flight request. Requests are the same if they have
+ * the same operation, bucket, URL and headers, so conditional requests are shared only with the same condition, and
+ * their responses are parsed the same way. Every caller gets its own share of the result and the result itself is
+ * released once all shares are handed out. The request is cancelled once all its callers cancelled.
+ */
+class RequestCoalescer {
+
+    // Guarded by this
+    private final Map<Key, Call<?>> calls = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    <T> Single<T> coalesce(
+            Request request,
+            GenericResponseParser<T> responseParser,
+            Single<T> result,
+            UnaryOperator<T> share,
+            Consumer<T> release) {
+        Key key = new Key(request, responseParser);
+
+        return Single.create(emitter -> {
+            Call<T> call;
+            boolean started = false;
+            synchronized (this) {
+                call = (Call<T>) calls.get(key);
+                if (call == null) {
+                    call = new Call<>(key, share, release);
+                    calls.put(key, call);
+                    started = true;
+                }
+                call.emitters.add(emitter);
+            }
+
+            Call<T> joined = call;
+            emitter.setCancellable(() -> leave(joined, emitter));
+
+            if (started) {
+                result.subscribe(call);
+            }
+        });
+    }
+
+    /**
+     * Returns number of requests in flight.
+     */
+    synchronized int inFlight() {
+        return calls.size();
+    }
+
+    private void leave(Call<?> call, SingleEmitter<?> emitter) {
+        boolean cancelled;
+        synchronized (this) {
+            cancelled = call.emitters.remove(emitter) && call.emitters.isEmpty() && !call.done;
+            if (cancelled) {
+                calls.remove(call.key, call);
+                call.done = true;
+            }
+        }
+
+        if (cancelled) {
+            call.upstream.dispose();
+        }
+    }
+
+    private class Call<T> implements SingleObserver<T> {
+
+        private final Key key;
+        private final UnaryOperator<T> share;
+        private final Consumer<T> release;
+
+        private final CompositeDisposable upstream = new CompositeDisposable();
+
+        // Guarded by RequestCoalescer.this
+        private final List<SingleEmitter<? super T>> emitters = new ArrayList<>();
+        private boolean done;
+
+        Call(Key key, UnaryOperator<T> share, Consumer<T> release) {
+            this.key = key;
+            this.share = share;
+            this.release = release;
+        }
+
+        @Override
+        public void onSubscribe(Disposable disposable) {
+            upstream.add(disposable);
+        }
+
+        @Override
+        public void onSuccess(T result) {
+            try {
+                for (SingleEmitter<? super T> emitter : complete()) {
+                    if (!emitter.isDisposed()) {
+                        emitter.onSuccess(share.apply(result));
+                    }
+                }
+            } finally {
+                release.accept(result);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            for (SingleEmitter<? super T> emitter : complete()) {
+                emitter.tryOnError(throwable);
+            }
+        }
+
+        private List<SingleEmitter<? super T>> complete() {
+            synchronized (RequestCoalescer.this) {
+                calls.remove(key, this);
+                done = true;
+
+                List<SingleEmitter<? super T>> waiting = new ArrayList<>(emitters);
+                emitters.clear();
+                return waiting;
+            }
+        }
+    }
+
+    private static class Key {
+
+        private final Operation operation;
+        private final String bucketName;
+        private final String url;
+        private final Map<String, String> headers;
+        private final GenericResponseParser<?> responseParser;
+
+        Key(Request request, GenericResponseParser<?> responseParser) {
+            this.operation = request.getOperation();
+            this.bucketName = request.getBucketName();
+            this.url = request.getUrl();
+            this.headers = request.getHeaders();
+            this.responseParser = responseParser;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return operation == key.operation
+                    && Objects.equals(bucketName, key.bucketName)
+                    && url.equals(key.url)
+                    && headers.equals(key.headers)
+                    && responseParser == key.responseParser;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operation, bucketName, url, headers);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package pl.codewise.amazon.client;
 
 import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListVersionsRequest;
 import com.amazonaws.services.s3.model.ObjectListing;
 import javolution.text.TextBuilder;
 import pl.codewise.amazon.client.utils.UTF8UrlEncoder;
@@ -15,6 +17,49 @@ public class RestUtils {
         return appendQueryString(result, objectListing.getPrefix(), objectListing.getMarker(), objectListing.getDelimiter(), objectListing.getMaxKeys());
     }
 
+    /**
+     * Appends query string of ListObjectsV2 request. Owners are asked for only if the request says so.
+     */
+    public static TextBuilder appendQueryString(TextBuilder result, ListObjectsV2Request listObjectsRequest) {
+        result.append("list-type=2");
+        appendParameter(result, "prefix", listObjectsRequest.getPrefix());
+        appendParameter(result, "delimiter", listObjectsRequest.getDelimiter());
+
+        if (listObjectsRequest.getMaxKeys() != null) {
+            appendParameter(result, "max-keys", listObjectsRequest.getMaxKeys().toString());
+        }
+
+        appendParameter(result, "continuation-token", listObjectsRequest.getContinuationToken());
+        appendParameter(result, "start-after", listObjectsRequest.getStartAfter());
+
+        if (listObjectsRequest.isFetchOwner()) {
+            appendParameter(result, "fetch-owner", "true");
+        }
+
+        return result;
+    }
+
+    public static TextBuilder appendQueryString(TextBuilder result, ListVersionsRequest listVersionsRequest) {
+        result.append("versions");
+        appendParameter(result, "prefix", listVersionsRequest.getPrefix());
+        appendParameter(result, "key-marker", listVersionsRequest.getKeyMarker());
+        appendParameter(result, "version-id-marker", listVersionsRequest.getVersionIdMarker());
+        appendParameter(result, "delimiter", listVersionsRequest.getDelimiter());
+
+        if (listVersionsRequest.getMaxResults() != null) {
+            appendParameter(result, "max-keys", listVersionsRequest.getMaxResults().toString());
+        }
+
+        return result;
+    }
+
+    private static void appendParameter(TextBuilder result, String name, CharSequence value) {
+        if (value != null) {
+            result.append('&').append(name).append('=');
+            UTF8UrlEncoder.appendEncoded(result, value, 0);
+        }
+    }
+
     public static TextBuilder appendQueryString(TextBuilder result, CharSequence prefix, CharSequence marker, CharSequence delimiter, Integer maxKeys) {
         if (prefix != null) {
             result.append("prefix=");
@@ -1,11 +1,15 @@
 package pl.codewise.amazon.client;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.util.ReferenceCountUtil;
 import io.reactivex.SingleEmitter;
 import org.slf4j.Logger;
 import pl.codewise.amazon.client.http.Request;
+import pl.codewise.amazon.client.xml.ContentConsumer;
 import pl.codewise.amazon.client.xml.ErrorResponseParser;
 import pl.codewise.amazon.client.xml.GenericResponseParser;
 
@@ -25,6 +29,8 @@ public class SubscriptionCompletionHandler<T> {
     private final GenericResponseParser<T> responseParser;
     private final ErrorResponseParser errorResponseParser;
 
+    private ContentConsumer<T> contentConsumer;
+
     SubscriptionCompletionHandler(SingleEmitter<? super T> subscriber, Request request, GenericResponseParser<T> responseParser, ErrorResponseParser errorResponseParser) {
         this.subscriber = subscriber;
         this.request = request;
@@ -53,7 +59,63 @@ public class SubscriptionCompletionHandler<T> {
         }
     }
 
+    /**
+     * Returns true if the response body will be consumed chunk by chunk, as it arrives, instead of being aggregated.
+     */
+    public boolean onResponseStart(HttpResponse response, Channel channel) {
+        HttpResponseStatus status = response.getStatus();
+        if (!isSuccessful(status) || subscriber.isDisposed()) {
+            return false;
+        }
+
+        contentConsumer = responseParser.newContentConsumer(status, response.headers());
+        if (contentConsumer == null) {
+            return false;
+        }
+
+        contentConsumer.readFrom(channel);
+        return true;
+    }
+
+    public void onContent(ByteBuf content) {
+        if (contentConsumer == null) {
+            return;
+        }
+
+        if (subscriber.isDisposed()) {
+            discardContentConsumer();
+            return;
+        }
+
+        try {
+            contentConsumer.consume(content);
+        } catch (Exception e) {
+            onError(e);
+        }
+    }
+
+    public void onResponseEnd() {
+        ContentConsumer<T> consumer = contentConsumer;
+        if (consumer == null) {
+            return;
+        }
+
+        contentConsumer = null;
+        if (subscriber.isDisposed() || !downstreamNotified.compareAndSet(false, true)) {
+            consumer.discard();
+            return;
+        }
+
+        try {
+            subscriber.onSuccess(consumer.complete());
+        } catch (Exception e) {
+            subscriber.onError(e);
+        }
+    }
+
     public void onError(Throwable t) {
+        discardContentConsumer();
+
         if (downstreamNotified.compareAndSet(false, true)) {
             if (subscriber.isDisposed()) {
                 LOGGER.error("Failed request: {}", request.getUrl());
@@ -63,9 +125,24 @@ public class SubscriptionCompletionHandler<T> {
         }
     }
 
+    private void discardContentConsumer() {
+        if (contentConsumer != null) {
+            contentConsumer.discard();
+            contentConsumer = null;
+        }
+    }
+
+    private boolean isSuccessful(HttpResponseStatus status) {
+        // Not modified is only received for conditional requests, whose parsers tell it apart
+        return status.equals(HttpResponseStatus.OK)
+                || status.equals(HttpResponseStatus.PARTIAL_CONTENT)
+                || status.equals(HttpResponseStatus.NO_CONTENT)
+                || status.equals(HttpResponseStatus.NOT_MODIFIED);
+    }
+
     private boolean emitExceptionIfUnsuccessful(FullHttpResponse response, SingleEmitter<?> observer) {
         HttpResponseStatus status = response.getStatus();
-        if (!status.equals(HttpResponseStatus.OK) && !status.equals(HttpResponseStatus.NO_CONTENT)) {
+        if (!isSuccessful(status)) {
             try {
                 observer.onError(
                         errorResponseParser.parse(
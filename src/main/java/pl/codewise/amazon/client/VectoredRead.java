@@ -0,0 +1,129 @@
+package pl.codewise.amazon.client;
+
+import io.netty.buffer.ByteBuf;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Merges ranges read from one object into fewer range requests. Ranges are sorted and those closer to each other than
+ * the gap are read together, as long as the merged range does not grow over its limit. Every range is then cut out of
+ * the merged response as a retained slice, so its bytes are not copied.
+ */
+class VectoredRead {
+
+    private final List<Range> ranges;
+    private final AtomicReferenceArray<ObjectLease> results;
+    private volatile boolean released;
+
+    VectoredRead(List<Range> ranges) {
+        this.ranges = ranges;
+        this.results = new AtomicReferenceArray<>(ranges.size());
+    }
+
+    List<Group> merge(long mergeGap, long maxMergedSize) {
+        List<Integer> order = new ArrayList<>(ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingLong(index -> ranges.get(index).getOffset()));
+
+        List<Group> groups = new ArrayList<>();
+        Group group = null;
+        for (int index : order) {
+            Range range = ranges.get(index);
+            if (group == null
+                    || range.getOffset() > group.last + mergeGap + 1
+                    || Math.max(group.last, range.getLast()) - group.first + 1 > maxMergedSize) {
+                group = new Group(range.getOffset());
+                groups.add(group);
+            }
+
+            group.add(index, range);
+        }
+
+        return groups;
+    }
+
+    /**
+     * Returns slices of all ranges in their original order, once all groups were read.
+     */
+    List<ObjectLease> results() {
+        List<ObjectLease> leases = new ArrayList<>(results.length());
+        for (int i = 0; i < results.length(); i++) {
+            leases.add(results.get(i));
+        }
+        return Collections.unmodifiableList(leases);
+    }
+
+    /**
+     * Releases slices handed out so far, once the read failed or was cancelled.
+     */
+    void release() {
+        released = true;
+        for (int i = 0; i < results.length(); i++) {
+            ObjectLease lease = results.getAndSet(i, null);
+            if (lease != null) {
+                lease.release();
+            }
+        }
+    }
+
+    class Group {
+
+        private final long first;
+        private long last;
+        private final List<Integer> indexes = new ArrayList<>();
+
+        Group(long first) {
+            this.first = first;
+            this.last = first;
+        }
+
+        private void add(int index, Range range) {
+            indexes.add(index);
+            last = Math.max(last, range.getLast());
+        }
+
+        long getFirst() {
+            return first;
+        }
+
+        long getLast() {
+            return last;
+        }
+
+        int size() {
+            return indexes.size();
+        }
+
+        /**
+         * Cuts ranges of the group out of its response and releases the response.
+         */
+        void complete(ObjectLease response) throws IOException {
+            try {
+                ByteBuf content = response.getContent();
+                if (content.readableBytes() < last - first + 1) {
+                    throw new IOException("Received " + content.readableBytes() + " bytes of range " + first + "-" + last);
+                }
+
+                for (int index : indexes) {
+                    Range range = ranges.get(index);
+                    ByteBuf slice = content.slice(content.readerIndex() + (int) (range.getOffset() - first), range.getLength());
+                    results.set(index, new ObjectLease(slice.retain(), response.getHeaders()));
+                }
+
+                if (released) {
+                    // Read failed while this group was being cut
+                    VectoredRead.this.release();
+                }
+            } finally {
+                response.release();
+            }
+        }
+    }
+}
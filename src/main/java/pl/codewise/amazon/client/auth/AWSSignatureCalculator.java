@@ -3,6 +3,7 @@ package pl.codewise.amazon.client.auth;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Locale;
+import java.util.Map;
 
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.AWSCredentialsProvider;
@@ -23,6 +24,8 @@ public class AWSSignatureCalculator implements SignatureCalculator {
     public final static String HEADER_TOKEN = "x-amz-security-token";
     public final static String HEADER_DATE = "Date";
 
+    private static final String AMAZON_HEADER_PREFIX = "x-amz-";
+
     private final AWSCredentialsProvider credentialsProvider;
 
     private final HMac hmac = new HMac(new SHA1Digest());
@@ -38,7 +41,8 @@ public class AWSSignatureCalculator implements SignatureCalculator {
     public void calculateAndAddSignature(HttpHeaders headers, Request requestData) {
         try {
             calculateAndAddSignatureInternal(headers, requestData.getOperation(),
-                    requestData.getUrl(), requestData.getMd5(), requestData.getContentType(), requestData.getBucketName());
+                    requestData.getUrl(), requestData.getMd5(), requestData.getContentType(), requestData.getBucketName(),
+                    requestData.getHeaders());
         } finally {
             stringToSignBuilder.clear();
             Arrays.fill(signingResultHolder, (byte) 0);
@@ -47,7 +51,8 @@ public class AWSSignatureCalculator implements SignatureCalculator {
     }
 
     private void calculateAndAddSignatureInternal(HttpHeaders httpHeaders, Operation operation,
-                                                  String objectName, String contentMd5, String contentType, String virtualHost) {
+                                                  String objectName, String contentMd5, String contentType, String virtualHost,
+                                                  Map<String, String> requestHeaders) {
         String dateString = RFC_822_DATE_FORMAT.format(System.currentTimeMillis());
         stringToSignBuilder
                 .append(operation.getHttpMethod())
@@ -59,15 +64,29 @@ public class AWSSignatureCalculator implements SignatureCalculator {
                 .append(dateString)
                 .append('\n');
 
+        // Request headers are sorted by their lower case names, the token has to be signed in its place among them
+        String sessionToken = null;
         AWSCredentials credentials = credentialsProvider.getCredentials();
         if (credentials instanceof AWSSessionCredentials) {
-            String sessionToken = ((AWSSessionCredentials) credentials).getSessionToken();
+            sessionToken = ((AWSSessionCredentials) credentials).getSessionToken();
             httpHeaders.set(HEADER_TOKEN, sessionToken);
-            stringToSignBuilder
-                    .append(HEADER_TOKEN)
-                    .append(':')
-                    .append(sessionToken)
-                    .append('\n');
+        }
+
+        for (Map.Entry<String, String> header : requestHeaders.entrySet()) {
+            String name = header.getKey();
+            if (!name.startsWith(AMAZON_HEADER_PREFIX)) {
+                continue;
+            }
+
+            if (sessionToken != null && HEADER_TOKEN.compareTo(name) < 0) {
+                appendAmazonHeader(HEADER_TOKEN, sessionToken);
+                sessionToken = null;
+            }
+            appendAmazonHeader(name, header.getValue());
+        }
+
+        if (sessionToken != null) {
+            appendAmazonHeader(HEADER_TOKEN, sessionToken);
         }
 
         stringToSignBuilder.append('/');
@@ -85,6 +104,14 @@ public class AWSSignatureCalculator implements SignatureCalculator {
         httpHeaders.set(HEADER_DATE, dateString);
     }
 
+    private void appendAmazonHeader(String name, String value) {
+        stringToSignBuilder
+                .append(name)
+                .append(':')
+                .append(value)
+                .append('\n');
+    }
+
     public String calculateRFC2104HMAC(String stringToSign, KeyParameter keyParameter) {
         hmac.init(keyParameter);
 
@@ -17,12 +17,19 @@ public enum Operation {
             builder.append('/');
         }
     },
+    LIST_VERSIONS(HttpMethod.GET) {
+        @Override
+        public void getResourceName(TextBuilder builder, CharSequence objectName) {
+            builder.append("/?versions");
+        }
+    },
     DELETE(HttpMethod.DELETE),
+    HEAD(HttpMethod.HEAD),
+    POST(HttpMethod.POST),
     BULK_DELETE(HttpMethod.POST) {
         @Override
         public void getResourceName(TextBuilder builder, CharSequence objectName) {
-            super.getResourceName(builder, objectName);
-            builder.append("?delete");
+            builder.append("/?delete");
         }
     };
 
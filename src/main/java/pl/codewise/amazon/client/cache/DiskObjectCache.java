@@ -0,0 +1,304 @@
+package pl.codewise.amazon.client.cache;
+
+import com.amazonaws.services.s3.Headers;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.codewise.amazon.client.ObjectLease;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of objects on local disk, kept in log-structured segment files that are memory-mapped for reads. Objects are
+ * appended to the newest segment and looked up by an in-memory index of bucket, key and ETag to their place in
+ * a segment. When the cache grows over its bound the oldest segment is deleted as a whole. Records torn by a crash are
+ * dropped on restart, the index is otherwise rebuilt from footers of segments without reading objects.
+ * <p>
+ * Objects loaded over the network are written by a thread of the cache, as appending can create a segment file and
+ * flush the previous one to disk, which must not stall the event loop that received the object.
+ */
+public class DiskObjectCache implements AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiskObjectCache.class);
+
+    private static final String SEGMENT_SUFFIX = ".segment";
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+
+    // Guarded by this, the oldest segment first
+    private final ArrayDeque<DiskSegment> segments = new ArrayDeque<>();
+    private final Map<String, DiskSegment.Record> index = new HashMap<>();
+    private DiskSegment active;
+    // Segments rolled over and not sealed yet, sealed outside of the lock so that flushing them does not block reads
+    private final List<DiskSegment> rolled = new ArrayList<>();
+    private long nextSegmentId;
+    private long invalidations;
+
+    private final ExecutorService writer;
+    // Bytes of objects waiting for the writer, bounded by size of a segment
+    private final AtomicLong pendingBytes = new AtomicLong();
+
+    private DiskObjectCache(Path directory, long maxBytes, int segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = (int) Math.max(2, maxBytes / segmentBytes);
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "RxS3-disk-cache-writer-" + directory.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static DiskObjectCache open(Path directory, long maxBytes) throws IOException {
+        return open(directory, maxBytes, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Opens cache kept in given directory, objects cached there before are readable again.
+     */
+    public static DiskObjectCache open(Path directory, long maxBytes, int segmentBytes) throws IOException {
+        if (segmentBytes <= 0 || maxBytes < segmentBytes) {
+            throw new IllegalArgumentException("Cache of " + maxBytes + " bytes can not hold segments of " + segmentBytes + " bytes");
+        }
+
+        Files.createDirectories(directory);
+        DiskObjectCache cache = new DiskObjectCache(directory, maxBytes, segmentBytes);
+        cache.recover();
+        return cache;
+    }
+
+    /**
+     * Returns lease of the cached object backed by the mapped file, or null if the object is not cached.
+     */
+    public synchronized ObjectLease get(String bucketName, CharSequence key) {
+        DiskSegment.Record record = index.get(cacheKey(bucketName, key.toString()));
+        if (record == null) {
+            return null;
+        }
+
+        HttpHeaders headers = new DefaultHttpHeaders();
+        headers.set(HttpHeaders.Names.CONTENT_LENGTH, record.getLength());
+        if (record.getETag() != null) {
+            headers.set(Headers.ETAG, record.getETag());
+        }
+
+        return new ObjectLease(record.getSegment().content(record), headers);
+    }
+
+    /**
+     * Writes copy of the object. Objects that do not fit in a segment are not cached.
+     */
+    public void put(String bucketName, CharSequence key, String eTag, ByteBuf content) throws IOException {
+        synchronized (this) {
+            putLocked(cacheKey(bucketName, key.toString()), eTag, content);
+        }
+        sealRolled();
+    }
+
+    /**
+     * Writes copy of the object on the writer thread of the cache and returns without waiting for it. The content is
+     * retained until it is written. Objects are not written if writes waiting already hold a segment worth of bytes,
+     * or if any object was invalidated before the write got its turn.
+     */
+    public void putInBackground(String bucketName, CharSequence key, String eTag, ByteBuf content) {
+        int length = content.readableBytes();
+        if (pendingBytes.addAndGet(length) > segmentBytes) {
+            pendingBytes.addAndGet(-length);
+            return;
+        }
+
+        String objectKey = key.toString();
+        ByteBuf retained = content.duplicate().retain();
+        long invalidationsBeforeWrite;
+        synchronized (this) {
+            invalidationsBeforeWrite = invalidations;
+        }
+
+        try {
+            writer.execute(() -> {
+                try {
+                    synchronized (this) {
+                        if (invalidations == invalidationsBeforeWrite) {
+                            putLocked(cacheKey(bucketName, objectKey), eTag, retained);
+                        }
+                    }
+                    sealRolled();
+                } catch (IOException e) {
+                    LOGGER.warn("Failed to write {}/{} to disk cache", bucketName, objectKey, e);
+                } finally {
+                    retained.release();
+                    pendingBytes.addAndGet(-length);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Cache is closed
+            retained.release();
+            pendingBytes.addAndGet(-length);
+        }
+    }
+
+    public void invalidate(String bucketName, CharSequence key) throws IOException {
+        synchronized (this) {
+            invalidations++;
+            invalidate(cacheKey(bucketName, key.toString()));
+        }
+        sealRolled();
+    }
+
+    /**
+     * Returns number of cached objects.
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns number of segment files.
+     */
+    public synchronized int segments() {
+        return segments.size();
+    }
+
+    /**
+     * Finishes writes started in background and writes footer of the segment written to, so that the next start does
+     * not have to recover it.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warn("Disk cache writes in {} did not finish in {}s", directory, CLOSE_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        sealRolled();
+        synchronized (this) {
+            if (active != null) {
+                active.seal();
+                active = null;
+            }
+        }
+    }
+
+    private void putLocked(String cacheKey, String eTag, ByteBuf content) throws IOException {
+        if (DiskSegment.fits(segmentBytes, cacheKey, eTag, content.readableBytes())) {
+            index.put(cacheKey, append(cacheKey, eTag, content));
+        } else {
+            // Older version must not be returned after a newer one was read
+            invalidate(cacheKey);
+        }
+    }
+
+    private void sealRolled() {
+        List<DiskSegment> toSeal;
+        synchronized (this) {
+            if (rolled.isEmpty()) {
+                return;
+            }
+            toSeal = new ArrayList<>(rolled);
+            rolled.clear();
+        }
+
+        for (DiskSegment segment : toSeal) {
+            segment.seal();
+        }
+    }
+
+    private void invalidate(String cacheKey) throws IOException {
+        if (index.remove(cacheKey) != null) {
+            // Tombstone keeps the object from being recovered on restart
+            append(cacheKey, null, null);
+        }
+    }
+
+    private DiskSegment.Record append(String cacheKey, String eTag, ByteBuf content) throws IOException {
+        DiskSegment.Record record = active == null ? null : active.append(cacheKey, eTag, content);
+        if (record == null) {
+            roll();
+            record = active.append(cacheKey, eTag, content);
+        }
+        return record;
+    }
+
+    private void roll() throws IOException {
+        if (active != null) {
+            rolled.add(active);
+        }
+
+        long id = nextSegmentId++;
+        active = DiskSegment.create(directory.resolve(id + SEGMENT_SUFFIX), segmentBytes);
+        segments.addLast(active);
+
+        while (segments.size() > maxSegments) {
+            evict(segments.removeFirst());
+        }
+    }
+
+    private void evict(DiskSegment segment) throws IOException {
+        for (DiskSegment.Record record : segment.getRecords()) {
+            index.remove(record.getCacheKey(), record);
+        }
+        segment.delete();
+    }
+
+    private void recover() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    ids.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    // Not written by the cache
+                }
+            }
+        }
+        Collections.sort(ids);
+
+        for (long id : ids) {
+            DiskSegment segment = DiskSegment.open(directory.resolve(id + SEGMENT_SUFFIX));
+            segments.addLast(segment);
+
+            for (DiskSegment.Record record : segment.getRecords()) {
+                if (record.isTombstone()) {
+                    index.remove(record.getCacheKey());
+                } else {
+                    index.put(record.getCacheKey(), record);
+                }
+            }
+            nextSegmentId = id + 1;
+        }
+
+        while (segments.size() > maxSegments) {
+            evict(segments.removeFirst());
+        }
+    }
+
+    private static String cacheKey(String bucketName, String key) {
+        return bucketName + '/' + key;
+    }
+}
@@ -0,0 +1,293 @@
+package pl.codewise.amazon.client.cache;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of cached objects, memory-mapped as a whole. Every record carries a checksum, so that records torn
+ * by a crash are recognized and dropped when the segment is recovered. Once the segment is full an index of its
+ * records is written as its footer, which lets it be opened without reading the records.
+ */
+class DiskSegment {
+
+    static final int TOMBSTONE = -1;
+
+    private static final int RECORD_MAGIC = 0x53335243;
+    private static final int FOOTER_MAGIC = 0x53334654;
+
+    // Magic, checksum, key length, ETag length and content length
+    private static final int RECORD_HEADER_BYTES = 20;
+    // Key length, ETag length, content offset and content length
+    private static final int FOOTER_ENTRY_BYTES = 16;
+    // Footer offset, footer length, number of entries, checksum and magic
+    private static final int TRAILER_BYTES = 20;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+
+    private final List<Record> records = new ArrayList<>();
+    private int position;
+    private int footerBytes;
+    private boolean sealed;
+
+    private DiskSegment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+    }
+
+    static DiskSegment create(Path path, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new DiskSegment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        }
+    }
+
+    /**
+     * Opens segment written before, segment that was not sealed is recovered by reading its records and sealed.
+     */
+    static DiskSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            DiskSegment segment = new DiskSegment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+            if (!segment.readFooter()) {
+                segment.recover();
+                segment.seal();
+            }
+            return segment;
+        }
+    }
+
+    /**
+     * Returns true if the object fits in an empty segment of given capacity.
+     */
+    static boolean fits(int capacity, String cacheKey, String eTag, int length) {
+        long keyBytes = cacheKey.getBytes(StandardCharsets.UTF_8).length
+                + (eTag == null ? 0 : eTag.getBytes(StandardCharsets.UTF_8).length);
+        return RECORD_HEADER_BYTES + FOOTER_ENTRY_BYTES + TRAILER_BYTES + 2 * keyBytes + length <= capacity;
+    }
+
+    /**
+     * Returns records in the order they were written.
+     */
+    List<Record> getRecords() {
+        return Collections.unmodifiableList(records);
+    }
+
+    /**
+     * Appends the object, or a tombstone if content is null. Returns null if the record does not fit.
+     */
+    Record append(String cacheKey, String eTag, ByteBuf content) {
+        if (sealed) {
+            return null;
+        }
+
+        byte[] key = cacheKey.getBytes(StandardCharsets.UTF_8);
+        byte[] eTagBytes = eTag == null ? null : eTag.getBytes(StandardCharsets.UTF_8);
+        int eTagLength = eTagBytes == null ? 0 : eTagBytes.length;
+        int length = content == null ? TOMBSTONE : content.readableBytes();
+
+        long recordBytes = (long) RECORD_HEADER_BYTES + key.length + eTagLength + Math.max(length, 0);
+        if (position + recordBytes + footerBytes + FOOTER_ENTRY_BYTES + key.length + eTagLength + TRAILER_BYTES > buffer.capacity()) {
+            return null;
+        }
+
+        ByteBuffer record = slice(position, (int) recordBytes);
+        record.putInt(RECORD_MAGIC)
+                .putInt(0)
+                .putInt(key.length)
+                .putInt(eTagBytes == null ? TOMBSTONE : eTagBytes.length)
+                .putInt(length)
+                .put(key);
+        if (eTagBytes != null) {
+            record.put(eTagBytes);
+        }
+        if (content != null) {
+            content.getBytes(content.readerIndex(), record);
+        }
+        buffer.putInt(position + 4, checksum(position + 8, (int) recordBytes - 8));
+
+        return addRecord(cacheKey, eTag, position + RECORD_HEADER_BYTES + key.length + eTagLength, length, (int) recordBytes);
+    }
+
+    /**
+     * Returns content of the record, backed by the mapped file.
+     */
+    ByteBuf content(Record record) {
+        return Unpooled.wrappedBuffer(slice(record.offset, record.length));
+    }
+
+    /**
+     * Writes the footer, no more records can be appended afterwards.
+     */
+    void seal() {
+        if (sealed) {
+            return;
+        }
+
+        ByteBuffer footer = slice(position, footerBytes);
+        for (Record record : records) {
+            byte[] key = record.cacheKey.getBytes(StandardCharsets.UTF_8);
+            byte[] eTag = record.eTag == null ? null : record.eTag.getBytes(StandardCharsets.UTF_8);
+
+            footer.putInt(key.length)
+                    .putInt(eTag == null ? TOMBSTONE : eTag.length)
+                    .putInt(record.offset)
+                    .putInt(record.length)
+                    .put(key);
+            if (eTag != null) {
+                footer.put(eTag);
+            }
+        }
+
+        int trailer = buffer.capacity() - TRAILER_BYTES;
+        buffer.putInt(trailer, position)
+                .putInt(trailer + 4, footerBytes)
+                .putInt(trailer + 8, records.size())
+                .putInt(trailer + 12, checksum(position, footerBytes));
+        buffer.force();
+
+        // Written last, so that a footer torn by a crash is not trusted
+        buffer.putInt(trailer + 16, FOOTER_MAGIC);
+        buffer.force();
+
+        sealed = true;
+    }
+
+    void delete() throws IOException {
+        // Records still in use stay readable, mapping outlives the file
+        Files.deleteIfExists(path);
+    }
+
+    private boolean readFooter() {
+        int trailer = buffer.capacity() - TRAILER_BYTES;
+        if (trailer < 0 || buffer.getInt(trailer + 16) != FOOTER_MAGIC) {
+            return false;
+        }
+
+        int footerOffset = buffer.getInt(trailer);
+        int footerLength = buffer.getInt(trailer + 4);
+        int count = buffer.getInt(trailer + 8);
+        if (footerOffset < 0 || footerLength < 0 || footerOffset + footerLength > trailer
+                || checksum(footerOffset, footerLength) != buffer.getInt(trailer + 12)) {
+            return false;
+        }
+
+        ByteBuffer footer = slice(footerOffset, footerLength);
+        for (int i = 0; i < count; i++) {
+            int keyLength = footer.getInt();
+            int eTagLength = footer.getInt();
+            int offset = footer.getInt();
+            int length = footer.getInt();
+            String cacheKey = readString(footer, keyLength);
+            String eTag = eTagLength == TOMBSTONE ? null : readString(footer, eTagLength);
+
+            addRecord(cacheKey, eTag, offset, length, 0);
+        }
+
+        position = footerOffset;
+        sealed = true;
+        return true;
+    }
+
+    private void recover() {
+        int limit = buffer.capacity() - TRAILER_BYTES;
+        while (position + RECORD_HEADER_BYTES <= limit && buffer.getInt(position) == RECORD_MAGIC) {
+            int keyLength = buffer.getInt(position + 8);
+            int eTagLength = buffer.getInt(position + 12);
+            int length = buffer.getInt(position + 16);
+            if (keyLength < 0 || eTagLength < TOMBSTONE || length < TOMBSTONE) {
+                break;
+            }
+
+            long recordBytes = (long) RECORD_HEADER_BYTES + keyLength + Math.max(eTagLength, 0) + Math.max(length, 0);
+            if (position + recordBytes > limit || checksum(position + 8, (int) recordBytes - 8) != buffer.getInt(position + 4)) {
+                break;
+            }
+
+            ByteBuffer record = slice(position + RECORD_HEADER_BYTES, (int) recordBytes - RECORD_HEADER_BYTES);
+            String cacheKey = readString(record, keyLength);
+            String eTag = eTagLength == TOMBSTONE ? null : readString(record, eTagLength);
+            int offset = position + RECORD_HEADER_BYTES + keyLength + Math.max(eTagLength, 0);
+
+            addRecord(cacheKey, eTag, offset, length, (int) recordBytes);
+        }
+    }
+
+    private Record addRecord(String cacheKey, String eTag, int offset, int length, int recordBytes) {
+        Record record = new Record(cacheKey, eTag, this, offset, length);
+        records.add(record);
+
+        position += recordBytes;
+        footerBytes += FOOTER_ENTRY_BYTES
+                + cacheKey.getBytes(StandardCharsets.UTF_8).length
+                + (eTag == null ? 0 : eTag.getBytes(StandardCharsets.UTF_8).length);
+
+        return record;
+    }
+
+    private int checksum(int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private ByteBuffer slice(int offset, int length) {
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.limit(offset + length).position(offset);
+        return duplicate.slice();
+    }
+
+    private static String readString(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static class Record {
+
+        private final String cacheKey;
+        private final String eTag;
+        private final DiskSegment segment;
+        private final int offset;
+        private final int length;
+
+        Record(String cacheKey, String eTag, DiskSegment segment, int offset, int length) {
+            this.cacheKey = cacheKey;
+            this.eTag = eTag;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        String getCacheKey() {
+            return cacheKey;
+        }
+
+        String getETag() {
+            return eTag;
+        }
+
+        DiskSegment getSegment() {
+            return segment;
+        }
+
+        boolean isTombstone() {
+            return length == TOMBSTONE;
+        }
+
+        int getLength() {
+            return length;
+        }
+    }
+}
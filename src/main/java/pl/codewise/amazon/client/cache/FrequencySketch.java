@@ -0,0 +1,80 @@
+package pl.codewise.amazon.client.cache;
+
+/**
+ * Count-min sketch of 4-bit counters estimating how often items were seen recently. Each item is counted in four
+ * counters and its frequency is the smallest of them. Once the number of increments reaches ten times the capacity all
+ * counters are halved, so that items that stopped being popular are forgotten.
+ */
+class FrequencySketch {
+
+    private static final int MAX_FREQUENCY = 15;
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    private final long[] table;
+    private final int counterMask;
+    private final int sampleSize;
+
+    private int increments;
+
+    FrequencySketch(int expectedItems) {
+        // Sixteen counters per long, at least one long per expected item
+        int length = Integer.highestOneBit(Math.max(expectedItems, 16) - 1) << 1;
+        table = new long[length];
+        counterMask = length * 16 - 1;
+        sampleSize = 10 * length;
+    }
+
+    int frequency(int hashCode) {
+        int item = spread(hashCode);
+
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < SEEDS.length; i++) {
+            frequency = Math.min(frequency, counter(indexOf(item, i)));
+        }
+        return frequency;
+    }
+
+    void increment(int hashCode) {
+        int item = spread(hashCode);
+
+        boolean incremented = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int index = indexOf(item, i);
+            if (counter(index) < MAX_FREQUENCY) {
+                table[index >>> 4] += 1L << offset(index);
+                incremented = true;
+            }
+        }
+
+        if (incremented && ++increments == sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        increments /= 2;
+    }
+
+    private int counter(int index) {
+        return (int) ((table[index >>> 4] >>> offset(index)) & 0xf);
+    }
+
+    private int indexOf(int item, int i) {
+        long hash = (item + SEEDS[i]) * SEEDS[i];
+        hash += hash >>> 32;
+        return (int) hash & counterMask;
+    }
+
+    private static int offset(int index) {
+        return (index & 0xf) << 2;
+    }
+
+    private static int spread(int hashCode) {
+        int item = ((hashCode >>> 16) ^ hashCode) * 0x45d9f3b;
+        return (item >>> 16) ^ item;
+    }
+}
@@ -0,0 +1,381 @@
+package pl.codewise.amazon.client.cache;
+
+import com.amazonaws.services.s3.Headers;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.reactivex.Maybe;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.codewise.amazon.client.ObjectLease;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through cache of whole objects, kept off-heap in pooled buffers and bounded by their total size. Admission and
+ * eviction follow W-TinyLFU: new objects enter a small LRU window and once they leave it they are admitted into the
+ * main segmented LRU only if they were requested more often than the objects they would evict, so that a scan of
+ * objects read once does not flush the ones read often. Objects expire after TTL configured per bucket, frequently
+ * read ones may be reloaded in the background before they expire. Expired objects are revalidated by their ETag, so
+ * an unchanged object costs a round trip without body. Hits return a retained slice of cached content and do not touch
+ * the connection pool.
+ */
+public class ObjectCache implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ObjectCache.class);
+
+    private static final double WINDOW_FRACTION = 0.01;
+    private static final double PROTECTED_FRACTION = 0.8;
+    private static final int REFRESH_AHEAD_MIN_FREQUENCY = 3;
+
+    private final ObjectLoader loader;
+
+    private final long mainMaxBytes;
+    private final long defaultTtlMillis;
+    private final Map<String, Long> bucketTtlMillis;
+    private final double refreshAheadFraction;
+    private final Scheduler scheduler;
+
+    // Guarded by this
+    private final FrequencySketch sketch;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Segment window;
+    private final Segment probation;
+    private final Segment protectedSegment;
+
+    ObjectCache(
+            ObjectLoader loader,
+            long maxBytes,
+            int expectedEntries,
+            long defaultTtlMillis,
+            Map<String, Long> bucketTtlMillis,
+            double refreshAheadFraction,
+            Scheduler scheduler) {
+        this.loader = loader;
+        this.defaultTtlMillis = defaultTtlMillis;
+        this.bucketTtlMillis = new HashMap<>(bucketTtlMillis);
+        this.refreshAheadFraction = refreshAheadFraction;
+        this.scheduler = scheduler;
+
+        long windowMaxBytes = Math.max(1, (long) (maxBytes * WINDOW_FRACTION));
+        mainMaxBytes = maxBytes - windowMaxBytes;
+
+        sketch = new FrequencySketch(expectedEntries);
+        window = new Segment(windowMaxBytes);
+        probation = new Segment(mainMaxBytes);
+        protectedSegment = new Segment((long) (mainMaxBytes * PROTECTED_FRACTION));
+    }
+
+    public static ObjectCacheBuilder builder() {
+        return new ObjectCacheBuilder();
+    }
+
+    /**
+     * Returns lease of the cached object, loading it on a miss. Caller owns the lease and has to release it.
+     */
+    public Single<ObjectLease> getObject(String bucketName, CharSequence key) {
+        String objectKey = key.toString();
+        return Single.defer(() -> {
+            String cacheKey = cacheKey(bucketName, objectKey);
+            ObjectLease hit = null;
+            Entry stale = null;
+            Entry refreshed = null;
+
+            synchronized (this) {
+                long now = now();
+                sketch.increment(cacheKey.hashCode());
+
+                Entry entry = entries.get(cacheKey);
+                if (entry != null && entry.expiresAtMillis <= now && entry.eTag == null) {
+                    evict(entry);
+                } else if (entry != null) {
+                    onHit(entry);
+                    hit = entry.lease();
+
+                    if (entry.expiresAtMillis <= now) {
+                        stale = entry;
+                    } else if (shouldRefresh(entry, now)) {
+                        entry.refreshing = true;
+                        refreshed = entry;
+                    }
+                }
+            }
+
+            if (hit == null) {
+                return loader.load(bucketName, objectKey)
+                        .doOnSuccess(lease -> store(bucketName, cacheKey, lease));
+            }
+
+            if (stale != null) {
+                return revalidate(bucketName, objectKey, cacheKey, stale, hit);
+            }
+
+            if (refreshed != null) {
+                refresh(bucketName, objectKey, cacheKey, refreshed);
+            }
+
+            return Single.just(hit);
+        });
+    }
+
+    public synchronized void invalidate(String bucketName, CharSequence key) {
+        Entry entry = entries.get(cacheKey(bucketName, key.toString()));
+        if (entry != null) {
+            evict(entry);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        for (Entry entry : new ArrayList<>(entries.values())) {
+            evict(entry);
+        }
+    }
+
+    /**
+     * Returns number of cached objects.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns total size of cached objects in bytes.
+     */
+    public synchronized long weightedSize() {
+        return window.bytes + probation.bytes + protectedSegment.bytes;
+    }
+
+    @Override
+    public void close() {
+        invalidateAll();
+    }
+
+    /**
+     * Returns the stale lease if the object did not change, the entry is then renewed.
+     */
+    private Single<ObjectLease> revalidate(String bucketName, String key, String cacheKey, Entry stale, ObjectLease staleLease) {
+        return loader.loadIfChanged(bucketName, key, stale.eTag)
+                .map(lease -> {
+                    staleLease.release();
+                    store(bucketName, cacheKey, lease);
+                    return lease;
+                })
+                .toSingle(staleLease)
+                .doOnSuccess(lease -> {
+                    if (lease == staleLease) {
+                        renew(bucketName, cacheKey, stale);
+                    }
+                })
+                .doOnError(throwable -> staleLease.release());
+    }
+
+    private void refresh(String bucketName, String key, String cacheKey, Entry entry) {
+        Maybe<ObjectLease> changed = entry.eTag == null
+                ? loader.load(bucketName, key).toMaybe()
+                : loader.loadIfChanged(bucketName, key, entry.eTag);
+
+        changed.subscribe(
+                lease -> {
+                    try {
+                        store(bucketName, cacheKey, lease);
+                    } finally {
+                        lease.release();
+                    }
+                },
+                throwable -> {
+                    LOGGER.debug("Failed to refresh {}", cacheKey, throwable);
+                    synchronized (this) {
+                        entry.refreshing = false;
+                    }
+                },
+                () -> renew(bucketName, cacheKey, entry));
+    }
+
+    private synchronized void renew(String bucketName, String cacheKey, Entry entry) {
+        entry.refreshing = false;
+        if (entries.get(cacheKey) == entry) {
+            entry.setLoadedAt(now(), ttlMillis(bucketName), refreshAheadFraction);
+        }
+    }
+
+    private void store(String bucketName, String cacheKey, ObjectLease lease) {
+        int size = lease.getContentLength();
+        if (size > mainMaxBytes) {
+            return;
+        }
+
+        // Copied into a buffer of exact size, aggregated responses may hold more memory than their content
+        ByteBuf source = lease.getContent();
+        ByteBuf content = PooledByteBufAllocator.DEFAULT.directBuffer(size, size);
+        content.writeBytes(source, source.readerIndex(), size);
+
+        synchronized (this) {
+            Entry entry = new Entry(cacheKey, content, lease.getHeaders());
+            entry.setLoadedAt(now(), ttlMillis(bucketName), refreshAheadFraction);
+
+            // Reloaded object keeps its place in the main space
+            Segment segment = window;
+            Entry previous = entries.get(cacheKey);
+            if (previous != null) {
+                segment = previous.segment;
+                evict(previous);
+            }
+
+            entries.put(cacheKey, entry);
+            segment.add(entry);
+            evictOverflow();
+        }
+    }
+
+    private void onHit(Entry entry) {
+        if (entry.segment == probation) {
+            probation.remove(entry);
+            protectedSegment.add(entry);
+
+            while (protectedSegment.isOverflowing()) {
+                Entry demoted = protectedSegment.eldest();
+                protectedSegment.remove(demoted);
+                probation.add(demoted);
+            }
+        } else {
+            entry.segment.touch(entry);
+        }
+    }
+
+    private boolean shouldRefresh(Entry entry, long now) {
+        return !entry.refreshing
+                && now >= entry.refreshAtMillis
+                && sketch.frequency(entry.cacheKey.hashCode()) >= REFRESH_AHEAD_MIN_FREQUENCY;
+    }
+
+    private void evictOverflow() {
+        while (window.isOverflowing()) {
+            Entry candidate = window.eldest();
+            window.remove(candidate);
+            admit(candidate);
+        }
+
+        while (probation.bytes + protectedSegment.bytes > mainMaxBytes) {
+            evict(probation.isEmpty() ? protectedSegment.eldest() : probation.eldest());
+        }
+    }
+
+    private void admit(Entry candidate) {
+        int candidateFrequency = sketch.frequency(candidate.cacheKey.hashCode());
+        while (probation.bytes + protectedSegment.bytes + candidate.size() > mainMaxBytes) {
+            Entry victim = probation.isEmpty() ? protectedSegment.eldest() : probation.eldest();
+            if (victim == null || sketch.frequency(victim.cacheKey.hashCode()) >= candidateFrequency) {
+                entries.remove(candidate.cacheKey);
+                candidate.content.release();
+                return;
+            }
+
+            evict(victim);
+        }
+
+        probation.add(candidate);
+    }
+
+    private void evict(Entry entry) {
+        entry.segment.remove(entry);
+        entries.remove(entry.cacheKey);
+        entry.content.release();
+    }
+
+    private long ttlMillis(String bucketName) {
+        return bucketTtlMillis.getOrDefault(bucketName, defaultTtlMillis);
+    }
+
+    private long now() {
+        return scheduler.now(TimeUnit.MILLISECONDS);
+    }
+
+    private static String cacheKey(String bucketName, String key) {
+        return bucketName + '/' + key;
+    }
+
+    private static class Entry {
+
+        private final String cacheKey;
+        private final ByteBuf content;
+        private final HttpHeaders headers;
+        private final String eTag;
+
+        private long expiresAtMillis;
+        private long refreshAtMillis;
+
+        private Segment segment;
+        private boolean refreshing;
+
+        Entry(String cacheKey, ByteBuf content, HttpHeaders headers) {
+            this.cacheKey = cacheKey;
+            this.content = content;
+            this.headers = headers;
+            this.eTag = headers.get(Headers.ETAG);
+        }
+
+        void setLoadedAt(long now, long ttlMillis, double refreshAheadFraction) {
+            expiresAtMillis = now + ttlMillis;
+            refreshAtMillis = refreshAheadFraction > 0 ? now + (long) (ttlMillis * refreshAheadFraction) : Long.MAX_VALUE;
+        }
+
+        ObjectLease lease() {
+            return new ObjectLease(content.slice().retain(), headers);
+        }
+
+        int size() {
+            return content.readableBytes();
+        }
+    }
+
+    /**
+     * Entries of a segment in LRU order, the eldest first.
+     */
+    private static class Segment {
+
+        private final long maxBytes;
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+        private long bytes;
+
+        Segment(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        void add(Entry entry) {
+            entries.put(entry.cacheKey, entry);
+            entry.segment = this;
+            bytes += entry.size();
+        }
+
+        void remove(Entry entry) {
+            entries.remove(entry.cacheKey);
+            entry.segment = null;
+            bytes -= entry.size();
+        }
+
+        void touch(Entry entry) {
+            entries.remove(entry.cacheKey);
+            entries.put(entry.cacheKey, entry);
+        }
+
+        Entry eldest() {
+            Iterator<Entry> iterator = entries.values().iterator();
+            return iterator.hasNext() ? iterator.next() : null;
+        }
+
+        boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        boolean isOverflowing() {
+            return bytes > maxBytes;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package pl.codewise.amazon.client.cache;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import pl.codewise.amazon.client.AsyncS3Client;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class ObjectCacheBuilder {
+
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    public static final int DEFAULT_EXPECTED_ENTRIES = 16_384;
+    public static final long DEFAULT_TTL_MILLIS = 60_000;
+
+    private long maxBytes = DEFAULT_MAX_BYTES;
+    private int expectedEntries = DEFAULT_EXPECTED_ENTRIES;
+
+    private long defaultTtlMillis = DEFAULT_TTL_MILLIS;
+    private final Map<String, Long> bucketTtlMillis = new HashMap<>();
+
+    private double refreshAheadFraction;
+
+    private Scheduler scheduler = Schedulers.computation();
+
+    private DiskObjectCache diskCache;
+
+    ObjectCacheBuilder() {
+    }
+
+    /**
+     * Bounds total size of cached objects.
+     */
+    public ObjectCacheBuilder limitSizeTo(long maxBytes) {
+        this.maxBytes = maxBytes;
+        return this;
+    }
+
+    /**
+     * Sizes frequency sketch used for admission, it should be close to the number of objects that fit in the cache.
+     */
+    public ObjectCacheBuilder expectEntries(int expectedEntries) {
+        this.expectedEntries = expectedEntries;
+        return this;
+    }
+
+    public ObjectCacheBuilder expireAfter(long ttlMillis) {
+        this.defaultTtlMillis = ttlMillis;
+        return this;
+    }
+
+    /**
+     * Overrides TTL of objects of given bucket.
+     */
+    public ObjectCacheBuilder expireAfter(String bucketName, long ttlMillis) {
+        bucketTtlMillis.put(bucketName, ttlMillis);
+        return this;
+    }
+
+    /**
+     * Reloads frequently read objects in the background when they are read after given fraction of their TTL passed,
+     * so that they do not expire while they are in use.
+     */
+    public ObjectCacheBuilder refreshAheadAfter(double fractionOfTtl) {
+        if (fractionOfTtl <= 0 || fractionOfTtl >= 1) {
+            throw new IllegalArgumentException("Fraction of TTL has to be between 0 and 1: " + fractionOfTtl);
+        }
+
+        this.refreshAheadFraction = fractionOfTtl;
+        return this;
+    }
+
+    /**
+     * Sets scheduler whose clock is used to expire objects.
+     */
+    public ObjectCacheBuilder withScheduler(Scheduler scheduler) {
+        this.scheduler = scheduler;
+        return this;
+    }
+
+    /**
+     * Keeps objects also on local disk, objects evicted from memory or too large for it are then read from disk and
+     * only revalidated with S3. Disk cache is not closed together with the cache.
+     */
+    public ObjectCacheBuilder withDiskTier(DiskObjectCache diskCache) {
+        this.diskCache = diskCache;
+        return this;
+    }
+
+    public ObjectCache build(AsyncS3Client client) {
+        ObjectLoader loader = ObjectLoader.of(client);
+        if (diskCache != null) {
+            loader = new TieredObjectLoader(diskCache, loader);
+        }
+
+        return new ObjectCache(
+                loader,
+                maxBytes,
+                expectedEntries,
+                defaultTtlMillis,
+                bucketTtlMillis,
+                refreshAheadFraction,
+                scheduler);
+    }
+}
@@ -0,0 +1,33 @@
+package pl.codewise.amazon.client.cache;
+
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import pl.codewise.amazon.client.AsyncS3Client;
+import pl.codewise.amazon.client.ObjectLease;
+
+/**
+ * Loads objects missing in the cache and revalidates stale ones.
+ */
+interface ObjectLoader {
+
+    Single<ObjectLease> load(String bucketName, String key);
+
+    /**
+     * Returns the object unless its ETag still matches given one.
+     */
+    Maybe<ObjectLease> loadIfChanged(String bucketName, String key, String eTag);
+
+    static ObjectLoader of(AsyncS3Client client) {
+        return new ObjectLoader() {
+            @Override
+            public Single<ObjectLease> load(String bucketName, String key) {
+                return client.getObjectLease(bucketName, key);
+            }
+
+            @Override
+            public Maybe<ObjectLease> loadIfChanged(String bucketName, String key, String eTag) {
+                return client.getObjectIfNoneMatch(bucketName, key, eTag);
+            }
+        };
+    }
+}
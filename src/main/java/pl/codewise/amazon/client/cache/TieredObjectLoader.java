@@ -0,0 +1,51 @@
+package pl.codewise.amazon.client.cache;
+
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import pl.codewise.amazon.client.ObjectLease;
+
+/**
+ * Loads objects missing in memory from the disk cache and writes objects downloaded from S3 to it. Objects found on
+ * disk are revalidated by their ETag, so that after a restart they cost a round trip without body. Downloaded objects
+ * are written by the writer thread of the disk cache, not by the thread that received them.
+ */
+class TieredObjectLoader implements ObjectLoader {
+
+    private final DiskObjectCache diskCache;
+    private final ObjectLoader loader;
+
+    TieredObjectLoader(DiskObjectCache diskCache, ObjectLoader loader) {
+        this.diskCache = diskCache;
+        this.loader = loader;
+    }
+
+    @Override
+    public Single<ObjectLease> load(String bucketName, String key) {
+        return Single.defer(() -> {
+            ObjectLease stored = diskCache.get(bucketName, key);
+            if (stored == null || stored.getETag() == null) {
+                if (stored != null) {
+                    stored.release();
+                }
+
+                return loader.load(bucketName, key)
+                        .doOnSuccess(lease -> write(bucketName, key, lease));
+            }
+
+            return loadIfChanged(bucketName, key, stored.getETag())
+                    .doOnSuccess(lease -> stored.release())
+                    .toSingle(stored)
+                    .doOnError(throwable -> stored.release());
+        });
+    }
+
+    @Override
+    public Maybe<ObjectLease> loadIfChanged(String bucketName, String key, String eTag) {
+        return loader.loadIfChanged(bucketName, key, eTag)
+                .doOnSuccess(lease -> write(bucketName, key, lease));
+    }
+
+    private void write(String bucketName, String key, ObjectLease lease) {
+        diskCache.putInBackground(bucketName, key, lease.getETag(), lease.getContent());
+    }
+}
@@ -0,0 +1,22 @@
+package pl.codewise.amazon.client.http;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.HttpObject;
+
+/**
+ * Sits in front of the aggregator and hands response parts over to the handler of the current request if it is able
+ * to consume them as they arrive. Everything else is passed on to be aggregated.
+ */
+@ChannelHandler.Sharable
+class ChunkDemultiplexer extends ChannelInboundHandlerAdapter {
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        HttpClientHandler httpClientHandler = ctx.channel().attr(HandlerDemultiplexer.HANDLER_ATTRIBUTE_KEY).get();
+        if (httpClientHandler == null || !(msg instanceof HttpObject) || !httpClientHandler.chunkRead(ctx, (HttpObject) msg)) {
+            ctx.fireChannelRead(msg);
+        }
+    }
+}
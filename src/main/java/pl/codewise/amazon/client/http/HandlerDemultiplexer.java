@@ -14,7 +14,7 @@ class HandlerDemultiplexer extends SimpleChannelInboundHandler<FullHttpResponse>
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HandlerDemultiplexer.class);
 
-    private static final AttributeKey<HttpClientHandler> HANDLER_ATTRIBUTE_KEY = AttributeKey.valueOf("handler");
+    static final AttributeKey<HttpClientHandler> HANDLER_ATTRIBUTE_KEY = AttributeKey.valueOf("handler");
 
     HandlerDemultiplexer() {
         super(false);
@@ -6,8 +6,13 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.pool.ChannelPool;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.concurrent.Future;
 import pl.codewise.amazon.client.SubscriptionCompletionHandler;
 
 class HttpClientHandler {
@@ -17,13 +22,26 @@ class HttpClientHandler {
 
     private boolean channelReleased;
 
+    private boolean readingChunks;
+    private boolean keepAlive;
+
+    private Future<?> requestBodyWritten;
+
     HttpClientHandler(ChannelPool channelPool, SubscriptionCompletionHandler completionHandler) {
         this.channelPool = channelPool;
         this.completionHandler = completionHandler;
     }
 
+    /**
+     * Makes the connection closed rather than reused if the response arrives before the request body is written in
+     * full, as the rest of the body could still be written to it.
+     */
+    void awaitRequestBody(Future<?> requestBodyWritten) {
+        this.requestBodyWritten = requestBodyWritten;
+    }
+
     void channelRead(ChannelHandlerContext ctx, FullHttpResponse msg) {
-        if (!HttpHeaders.isKeepAlive(msg)) {
+        if (!isReusable(HttpHeaders.isKeepAlive(msg))) {
             ctx.close();
         }
 
@@ -33,6 +51,48 @@ class HttpClientHandler {
         completionHandler.onSuccess(msg);
     }
 
+    /**
+     * Returns false if the response is not consumed chunk by chunk and should be aggregated instead.
+     */
+    boolean chunkRead(ChannelHandlerContext ctx, HttpObject msg) {
+        if (msg instanceof HttpResponse) {
+            HttpResponse response = (HttpResponse) msg;
+
+            keepAlive = HttpHeaders.isKeepAlive(response);
+            readingChunks = completionHandler.onResponseStart(response, ctx.channel());
+        }
+
+        if (!readingChunks) {
+            return false;
+        }
+
+        if (msg instanceof HttpContent) {
+            HttpContent content = (HttpContent) msg;
+            try {
+                completionHandler.onContent(content.content());
+            } finally {
+                content.release();
+            }
+
+            if (msg instanceof LastHttpContent) {
+                if (!isReusable(keepAlive)) {
+                    ctx.close();
+                }
+
+                channelReleased = true;
+                channelPool.release(ctx.channel());
+
+                completionHandler.onResponseEnd();
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isReusable(boolean keepAlive) {
+        return keepAlive && (requestBodyWritten == null || requestBodyWritten.isSuccess());
+    }
+
     void exceptionCaught(Channel channel, Throwable cause) {
         channel.close();
 
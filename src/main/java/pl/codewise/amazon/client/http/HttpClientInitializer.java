@@ -17,10 +17,12 @@ class HttpClientInitializer {
     private static final int MAX_REQUEST_SIZE = 1200 * BYTES_IN_MEGABYTE;
 
     private final HandlerDemultiplexer demultiplexer;
+    private final ChunkDemultiplexer chunkDemultiplexer;
     private final int requestTimeoutMillis;
 
-    HttpClientInitializer(HandlerDemultiplexer demultiplexer, int requestTimeoutMillis) {
+    HttpClientInitializer(HandlerDemultiplexer demultiplexer, ChunkDemultiplexer chunkDemultiplexer, int requestTimeoutMillis) {
         this.demultiplexer = demultiplexer;
+        this.chunkDemultiplexer = chunkDemultiplexer;
         this.requestTimeoutMillis = requestTimeoutMillis;
     }
 
@@ -29,6 +31,7 @@ class HttpClientInitializer {
         p.addLast(new IdleStateHandler(requestTimeoutMillis, 0, 60));
         p.addLast(new HttpClientCodec());
         p.addLast(new HttpContentDecompressor());
+        p.addLast(chunkDemultiplexer);
         p.addLast(new HttpObjectAggregator(MAX_REQUEST_SIZE));
         p.addLast(demultiplexer);
         p.addLast(new InactiveConnectionsHandler());
@@ -26,6 +26,7 @@ public class NettyHttpClient implements AutoCloseable {
     private final EventLoopGroup group;
 
     private final HandlerDemultiplexer demultiplexer;
+    private final ChunkDemultiplexer chunkDemultiplexer;
     private final ChannelPool channelPool;
 
     public NettyHttpClient(ClientConfiguration configuration) {
@@ -45,6 +46,7 @@ public class NettyHttpClient implements AutoCloseable {
         }
 
         demultiplexer = new HandlerDemultiplexer();
+        chunkDemultiplexer = new ChunkDemultiplexer();
 
         Bootstrap bootstrap = new Bootstrap();
         bootstrap.group(group)
@@ -57,7 +59,7 @@ public class NettyHttpClient implements AutoCloseable {
 
         channelPool = new FixedChannelPool(bootstrap, new AbstractChannelPoolHandler() {
 
-            HttpClientInitializer initializer = new HttpClientInitializer(demultiplexer, configuration.getRequestTimeoutMillis());
+            HttpClientInitializer initializer = new HttpClientInitializer(demultiplexer, chunkDemultiplexer, configuration.getRequestTimeoutMillis());
 
             @Override
             public void channelCreated(Channel ch) {
@@ -81,6 +83,10 @@ public class NettyHttpClient implements AutoCloseable {
         return new Request(url, Operation.LIST);
     }
 
+    public Request prepareListVersions(String url) {
+        return new Request(url, Operation.LIST_VERSIONS);
+    }
+
     public Request preparePut(String url) {
         return new Request(url, Operation.PUT);
     }
@@ -89,6 +95,18 @@ public class NettyHttpClient implements AutoCloseable {
         return new Request(url, Operation.DELETE);
     }
 
+    public Request prepareHead(String url) {
+        return new Request(url, Operation.HEAD);
+    }
+
+    public Request preparePost(String url) {
+        return new Request(url, Operation.POST);
+    }
+
+    public Request prepareBulkDelete(String url) {
+        return new Request(url, Operation.BULK_DELETE);
+    }
+
     public <T> void executeRequest(Request requestData, SubscriptionCompletionHandler<T> completionHandler) {
         channelPool.acquire().addListener(new RequestSender(s3Location, requestData, completionHandler, demultiplexer, channelPool));
     }
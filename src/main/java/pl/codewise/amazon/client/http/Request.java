@@ -5,6 +5,11 @@ import io.netty.buffer.Unpooled;
 import pl.codewise.amazon.client.auth.AWSSignatureCalculatorFactory;
 import pl.codewise.amazon.client.auth.Operation;
 
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
 public class Request {
 
     private String url;
@@ -14,11 +19,14 @@ public class Request {
     private AWSSignatureCalculatorFactory signatureCalculatorFactory;
 
     private ByteBuf body;
+    private StreamingBody streamingBody;
 
     private String contentType = "";
     private long contentLength;
     private String md5 = "";
 
+    private Map<String, String> headers = Collections.emptyMap();
+
     public Request(String url, Operation operation) {
         this.url = url;
         this.operation = operation;
@@ -39,6 +47,14 @@ public class Request {
         return this;
     }
 
+    /**
+     * Sets body written after the request head as it becomes available. Content length has to be set as well.
+     */
+    public Request setStreamingBody(StreamingBody streamingBody) {
+        this.streamingBody = streamingBody;
+        return this;
+    }
+
     public Request setContentType(String contentType) {
         this.contentType = contentType;
         return this;
@@ -54,6 +70,19 @@ public class Request {
         return this;
     }
 
+    /**
+     * Adds header sent with the request. Names are kept in lower case and sorted, so that x-amz-* headers can be
+     * signed in canonical form.
+     */
+    public Request addHeader(String name, String value) {
+        if (headers.isEmpty()) {
+            headers = new TreeMap<>();
+        }
+
+        headers.put(name.toLowerCase(Locale.US), value);
+        return this;
+    }
+
     public Operation getOperation() {
         return operation;
     }
@@ -74,6 +103,10 @@ public class Request {
         return body;
     }
 
+    public StreamingBody getStreamingBody() {
+        return streamingBody;
+    }
+
     public String getContentType() {
         return contentType;
     }
@@ -86,6 +119,10 @@ public class Request {
         return md5;
     }
 
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
     public Request build() {
         return this;
     }
@@ -1,16 +1,19 @@
 package pl.codewise.amazon.client.http;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.pool.ChannelPool;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpRequest;
 import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.GenericFutureListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pl.codewise.amazon.client.SubscriptionCompletionHandler;
-import pl.codewise.amazon.client.auth.Operation;
 
 class RequestSender implements FutureListener<Channel> {
 
@@ -45,10 +48,15 @@ class RequestSender implements FutureListener<Channel> {
     }
 
     private void executeRequest(Channel channel, Request requestData) {
-        DefaultFullHttpRequest request;
-        if (requestData.getOperation().equals(Operation.PUT)) {
+        HttpRequest request;
+        if (requestData.getStreamingBody() != null) {
+            request = new DefaultHttpRequest(
+                    HttpVersion.HTTP_1_1, requestData.getOperation().getHttpMethod(), requestData.getUrl());
+        } else if (requestData.getBody() != null) {
+            // Every write gets its own reader index and reference, so that the whole body is sent again when the
+            // request is retried and the body is released only by the one who set it
             request = new DefaultFullHttpRequest(
-                    HttpVersion.HTTP_1_1, requestData.getOperation().getHttpMethod(), requestData.getUrl(), requestData.getBody());
+                    HttpVersion.HTTP_1_1, requestData.getOperation().getHttpMethod(), requestData.getUrl(), requestData.getBody().duplicate().retain());
         } else {
             request = new DefaultFullHttpRequest(
                     HttpVersion.HTTP_1_1, requestData.getOperation().getHttpMethod(), requestData.getUrl());
@@ -60,18 +68,29 @@ class RequestSender implements FutureListener<Channel> {
         request.headers().set(HttpHeaders.Names.CONTENT_TYPE, requestData.getContentType());
         request.headers().set(HttpHeaders.Names.CONTENT_LENGTH, requestData.getContentLength());
         request.headers().set(HttpHeaders.Names.CONTENT_MD5, requestData.getMd5());
+        requestData.getHeaders().forEach(request.headers()::set);
 
         requestData.getSignatureCalculatorFactory().getSignatureCalculator()
                 .calculateAndAddSignature(request.headers(), requestData);
 
         HttpClientHandler httpClientHandler = new HttpClientHandler(channelPool, completionHandler);
         demultiplexer.setAttributeValue(channel, httpClientHandler);
+        GenericFutureListener<Future<Void>> writeListener = writeFuture -> {
+            if (!writeFuture.isSuccess()) {
+                LOGGER.error("Exception during write and flush", writeFuture.cause());
+                httpClientHandler.exceptionCaught(channel, writeFuture.cause());
+            }
+        };
         channel.writeAndFlush(request)
-                .addListener(writeFuture -> {
-                    if (!writeFuture.isSuccess()) {
-                        LOGGER.error("Exception during write and flush", writeFuture.cause());
-                        httpClientHandler.exceptionCaught(channel, writeFuture.cause());
-                    }
-                });
+                .addListener(writeListener);
+
+        StreamingBody streamingBody = requestData.getStreamingBody();
+        if (streamingBody != null) {
+            ChannelPromise bodyWritten = channel.newPromise();
+            bodyWritten.addListener(writeListener);
+            httpClientHandler.awaitRequestBody(bodyWritten);
+
+            streamingBody.start(channel, bodyWritten);
+        }
     }
 }
@@ -0,0 +1,20 @@
+package pl.codewise.amazon.client.http;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * Request body that is written chunk by chunk after the request head instead of being sent as a whole. Length of the
+ * body has to be known upfront and set on the request. The body can be started only once, so requests carrying it are
+ * not retried.
+ */
+public interface StreamingBody {
+
+    /**
+     * Called once the request head is written to the channel. Implementation writes the body as
+     * {@link io.netty.handler.codec.http.HttpContent} chunks ending with
+     * {@link io.netty.handler.codec.http.LastHttpContent} and completes the promise when the last one is written, or
+     * fails it if the body cannot be written in full.
+     */
+    void start(Channel channel, ChannelPromise written);
+}
@@ -0,0 +1,38 @@
+package pl.codewise.amazon.client.utils;
+
+import java.util.Comparator;
+
+/**
+ * Orders keys the way S3 lists them, i.e. by their UTF-8 bytes. It differs from {@link String#compareTo(String)} for
+ * characters outside of the basic multilingual plane, which are compared by code points here.
+ */
+public class KeyComparator implements Comparator<String> {
+
+    private static final KeyComparator INSTANCE = new KeyComparator();
+
+    public static KeyComparator getInstance() {
+        return INSTANCE;
+    }
+
+    private KeyComparator() {
+    }
+
+    @Override
+    public int compare(String first, String second) {
+        int firstIndex = 0;
+        int secondIndex = 0;
+
+        while (firstIndex < first.length() && secondIndex < second.length()) {
+            int firstCodePoint = first.codePointAt(firstIndex);
+            int secondCodePoint = second.codePointAt(secondIndex);
+            if (firstCodePoint != secondCodePoint) {
+                return Integer.compare(firstCodePoint, secondCodePoint);
+            }
+
+            firstIndex += Character.charCount(firstCodePoint);
+            secondIndex += Character.charCount(secondCodePoint);
+        }
+
+        return Integer.compare(first.length() - firstIndex, second.length() - secondIndex);
+    }
+}
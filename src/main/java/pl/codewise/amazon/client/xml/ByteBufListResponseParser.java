@@ -0,0 +1,57 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.model.ObjectListing;
+import io.netty.buffer.ByteBuf;
+import pl.codewise.amazon.client.ClientConfiguration;
+
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * List response parser specialized for ListBucketResult documents. It scans UTF-8 bytes of the response directly,
+ * matches tags by comparing bytes and decodes only the values that are not configured to be skipped. Responses are
+ * parsed incrementally, chunk by chunk, as they arrive.
+ */
+public class ByteBufListResponseParser extends ListResponseParser {
+
+    private final boolean skipParsingOwner;
+    private final boolean skipParsingETag;
+    private final boolean skipParsingLastModified;
+    private final boolean skipParsingStorageClass;
+    private final boolean lazyLastModified;
+
+    public ByteBufListResponseParser(ClientConfiguration configuration) {
+        super(null, Collections.emptyMap());
+
+        skipParsingOwner = configuration.isSkipParsingOwner();
+        skipParsingETag = configuration.isSkipParsingETag();
+        skipParsingLastModified = configuration.isSkipParsingLastModified();
+        skipParsingStorageClass = configuration.isSkipParsingStorageClass();
+        lazyLastModified = configuration.isLazyLastModified();
+    }
+
+    @Override
+    protected void parseContent(ByteBuf content, ObjectListing listing) throws IOException {
+        ListBucketResultReader<ObjectListing> reader = newReader(listing);
+        reader.read(content);
+
+        if (!reader.isComplete()) {
+            throw new IOException("Incomplete ListBucketResult document");
+        }
+    }
+
+    @Override
+    protected ContentConsumer<ObjectListing> newContentConsumer(ObjectListing listing) {
+        return new ListBucketResultConsumer<>(newReader(listing));
+    }
+
+    private ListBucketResultReader<ObjectListing> newReader(ObjectListing listing) {
+        return new ListBucketResultReader<>(new ObjectListingSink(
+                listing,
+                skipParsingOwner,
+                skipParsingETag,
+                skipParsingLastModified,
+                skipParsingStorageClass,
+                lazyLastModified));
+    }
+}
@@ -0,0 +1,77 @@
+package pl.codewise.amazon.client.xml;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.ReferenceCountUtil;
+import pl.codewise.amazon.client.ClientConfiguration;
+import pl.codewise.amazon.client.CompactObjectListing;
+import pl.codewise.amazon.client.ObjectSummaryFilter;
+
+import java.io.IOException;
+
+/**
+ * Parses ListBucketResult documents into {@link CompactObjectListing}, chunk by chunk as they arrive. Owners are
+ * never parsed, other fields are skipped as configured.
+ */
+public class CompactListResponseParser extends GenericResponseParser<CompactObjectListing> {
+
+    private final ObjectSummaryFilter filter;
+
+    private final boolean skipParsingETag;
+    private final boolean skipParsingLastModified;
+    private final boolean skipParsingStorageClass;
+
+    public CompactListResponseParser(ClientConfiguration configuration) {
+        this(null, configuration.isSkipParsingETag(), configuration.isSkipParsingLastModified(), configuration.isSkipParsingStorageClass());
+    }
+
+    private CompactListResponseParser(
+            ObjectSummaryFilter filter,
+            boolean skipParsingETag,
+            boolean skipParsingLastModified,
+            boolean skipParsingStorageClass) {
+        super(null, null);
+
+        this.filter = filter;
+        this.skipParsingETag = skipParsingETag;
+        this.skipParsingLastModified = skipParsingLastModified;
+        this.skipParsingStorageClass = skipParsingStorageClass;
+    }
+
+    /**
+     * Returns parser that keeps only the objects accepted by the filter.
+     */
+    public CompactListResponseParser filteredBy(ObjectSummaryFilter filter) {
+        return new CompactListResponseParser(filter, skipParsingETag, skipParsingLastModified, skipParsingStorageClass);
+    }
+
+    @Override
+    public CompactObjectListing parse(HttpResponseStatus status, HttpHeaders headers, ByteBuf content) throws IOException {
+        try {
+            ListBucketResultReader<CompactObjectListing> reader = newReader();
+            reader.read(content);
+
+            if (!reader.isComplete()) {
+                throw new IOException("Incomplete ListBucketResult document");
+            }
+
+            return reader.getResult();
+        } finally {
+            ReferenceCountUtil.release(content);
+        }
+    }
+
+    @Override
+    public ContentConsumer<CompactObjectListing> newContentConsumer(HttpResponseStatus status, HttpHeaders headers) {
+        return new ListBucketResultConsumer<>(newReader());
+    }
+
+    private ListBucketResultReader<CompactObjectListing> newReader() {
+        return new ListBucketResultReader<>(new CompactListingSink(
+                filter,
+                skipParsingETag,
+                skipParsingLastModified,
+                skipParsingStorageClass));
+    }
+}
@@ -0,0 +1,127 @@
+package pl.codewise.amazon.client.xml;
+
+import pl.codewise.amazon.client.CompactObjectListing;
+import pl.codewise.amazon.client.ObjectSummaryFilter;
+
+import java.io.IOException;
+
+/**
+ * Copies listing into flat arrays of {@link CompactObjectListing}. Keys are copied as bytes, without decoding them
+ * into strings, and ETags are stored as binary digests whenever possible. Objects rejected by the filter, if there is
+ * one, are dropped before anything is copied.
+ */
+class CompactListingSink implements ListBucketResultSink<CompactObjectListing> {
+
+    private final CompactObjectListing.Builder builder = CompactObjectListing.builder();
+    private final byte[] digest = new byte[16];
+    private final KeyBytes rejectedKey = new KeyBytes();
+
+    private final ObjectSummaryFilter filter;
+
+    private boolean nextMarkerReceived;
+
+    private final boolean skipParsingETag;
+    private final boolean skipParsingLastModified;
+    private final boolean skipParsingStorageClass;
+
+    CompactListingSink(
+            ObjectSummaryFilter filter,
+            boolean skipParsingETag,
+            boolean skipParsingLastModified,
+            boolean skipParsingStorageClass) {
+        this.filter = filter;
+        this.skipParsingETag = skipParsingETag;
+        this.skipParsingLastModified = skipParsingLastModified;
+        this.skipParsingStorageClass = skipParsingStorageClass;
+    }
+
+    @Override
+    public void onBucketName(String bucketName) {
+        builder.setBucketName(bucketName);
+    }
+
+    @Override
+    public void onPrefix(String prefix) {
+        builder.setPrefix(prefix);
+    }
+
+    @Override
+    public void onMarker(String marker) {
+        builder.setMarker(marker);
+    }
+
+    @Override
+    public void onNextMarker(String nextMarker) {
+        nextMarkerReceived = nextMarker != null;
+        builder.setNextMarker(nextMarker);
+    }
+
+    @Override
+    public void onDelimiter(String delimiter) {
+        builder.setDelimiter(delimiter);
+    }
+
+    @Override
+    public void onMaxKeys(int maxKeys) {
+        builder.setMaxKeys(maxKeys);
+    }
+
+    @Override
+    public void onTruncated(boolean truncated) {
+        builder.setTruncated(truncated);
+    }
+
+    @Override
+    public void onContents(ListBucketResultReader.Contents contents) throws IOException {
+        int keyLength = contents.decodeKey();
+        if (filter != null) {
+            if (!contents.accepts(filter, keyLength)) {
+                rejectedKey.set(contents.getDecodedBytes(), keyLength);
+                return;
+            }
+
+            rejectedKey.clear();
+        }
+
+        long size = contents.hasSize() ? contents.getSize() : 0;
+        long lastModified = !skipParsingLastModified && contents.hasLastModified()
+                ? contents.getLastModifiedMillis()
+                : CompactObjectListing.NO_LAST_MODIFIED;
+
+        builder.addObject(contents.getDecodedBytes(), 0, keyLength, size, lastModified);
+
+        if (!skipParsingETag) {
+            if (contents.getETagDigest(digest, 0)) {
+                builder.setETagDigest(digest, 0);
+            } else {
+                builder.setETag(contents.getETag());
+            }
+        }
+
+        if (!skipParsingStorageClass) {
+            builder.setStorageClass(contents.getStorageClass());
+        }
+    }
+
+    @Override
+    public void onCommonPrefix(String prefix) {
+        builder.addCommonPrefix(prefix);
+    }
+
+    @Override
+    public void onEnd() {
+        if (nextMarkerReceived) {
+            return;
+        }
+
+        String lastKey = rejectedKey.isSet() ? rejectedKey.toString() : builder.getLastKey();
+        if (lastKey != null) {
+            builder.setNextMarker(lastKey);
+        }
+    }
+
+    @Override
+    public CompactObjectListing getResult() {
+        return builder.build();
+    }
+}
@@ -0,0 +1,27 @@
+package pl.codewise.amazon.client.xml;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+
+import java.io.IOException;
+
+/**
+ * Parses response body chunk by chunk, while the response is still arriving. Chunks are owned by the caller and have
+ * to be copied or retained if consumer needs them after {@link #consume(ByteBuf)} returns.
+ */
+public interface ContentConsumer<T> {
+
+    /**
+     * Called before the first chunk with the channel the response is read from. Consumer that cannot keep up may turn
+     * auto read of the channel off for a while, it has to be turned on again by the time consumer completes or is
+     * discarded, as the channel goes back to the pool.
+     */
+    default void readFrom(Channel channel) {
+    }
+
+    void consume(ByteBuf chunk) throws IOException;
+
+    T complete() throws IOException;
+
+    void discard();
+}
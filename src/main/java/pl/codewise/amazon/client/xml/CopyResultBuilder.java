@@ -0,0 +1,71 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CopyObjectResult;
+
+import java.util.Date;
+
+/**
+ * Collects results of copy and multipart upload requests. These may fail after the response status has been sent,
+ * in which case the document holds an error instead of the result.
+ */
+public class CopyResultBuilder {
+
+    private String eTag;
+    private Date lastModified;
+    private String uploadId;
+
+    private final AmazonS3ExceptionBuilder exceptionBuilder = new AmazonS3ExceptionBuilder();
+    private boolean failed;
+
+    public void setETag(String eTag) {
+        this.eTag = eTag;
+    }
+
+    public void setLastModified(Date lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public void setStatusCode(int statusCode) {
+        exceptionBuilder.setStatusCode(statusCode);
+    }
+
+    /**
+     * Marks the result as failed and returns builder of the exception describing the failure.
+     */
+    public AmazonS3ExceptionBuilder failed() {
+        failed = true;
+        return exceptionBuilder;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * Returns id of initiated multipart upload.
+     */
+    public String getUploadId() throws AmazonS3Exception {
+        throwIfFailed();
+        return uploadId;
+    }
+
+    public CopyObjectResult build() throws AmazonS3Exception {
+        throwIfFailed();
+
+        CopyObjectResult result = new CopyObjectResult();
+        result.setETag(eTag);
+        result.setLastModifiedDate(lastModified);
+        return result;
+    }
+
+    private void throwIfFailed() {
+        if (failed) {
+            throw exceptionBuilder.build();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package pl.codewise.amazon.client.xml;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.ReferenceCountUtil;
+import org.xmlpull.v1.XmlPullParserFactory;
+import pl.codewise.amazon.client.xml.handlers.CopyResultTagHandler;
+
+import java.io.IOException;
+
+/**
+ * Parses CopyObjectResult, CopyPartResult, InitiateMultipartUploadResult and CompleteMultipartUploadResult documents.
+ */
+public class CopyResultResponseParser extends GenericResponseParser<CopyResultBuilder> {
+
+    public CopyResultResponseParser(XmlPullParserFactory pullParserFactory) {
+        super(pullParserFactory, CopyResultTagHandler.UNKNOWN, CopyResultTagHandler.values());
+    }
+
+    @Override
+    public CopyResultBuilder parse(HttpResponseStatus status, HttpHeaders headers, ByteBuf content) throws IOException {
+        try {
+            CopyResultBuilder result = new CopyResultBuilder();
+            result.setStatusCode(status.code());
+            parse(new ByteBufInputStream(content), result);
+            return result;
+        } finally {
+            ReferenceCountUtil.release(content);
+        }
+    }
+}
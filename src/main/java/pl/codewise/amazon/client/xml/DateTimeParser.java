@@ -2,44 +2,116 @@ package pl.codewise.amazon.client.xml;
 
 import javolution.text.CharArray;
 import javolution.text.Cursor;
-import javolution.text.TypeFormat;
 
 import java.util.Calendar;
 import java.util.Date;
 
+/**
+ * Parses ISO-8601 timestamps in UTC, as sent by S3, e.g. {@code 2014-12-20T23:02:11.123Z}. Milliseconds since epoch
+ * are computed directly from the digits, without a calendar, so the result does not depend on the default time zone.
+ */
 public class DateTimeParser {
 
+	private static final long MILLIS_PER_SECOND = 1000;
+	private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+	private static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+	private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+
+	/**
+	 * Same as {@link #parse(CharSequence)}, calendar and cursor are not used.
+	 */
 	public Date parse(CharArray text, Cursor cursor, Calendar calendar) {
-		cursor.setIndex(0);
-		calendar.set(Calendar.YEAR, TypeFormat.parseInt(text, cursor));
+		return parse(text);
+	}
+
+	public Date parse(CharSequence text) {
+		return new Date(parseMillis(text));
+	}
+
+	public long parseMillis(CharSequence text) {
+		int year = parseDigits(text, 0, 4);
+		verifyCharacter(text, 4, '-');
+		int month = parseDigits(text, 5, 2);
+		verifyCharacter(text, 7, '-');
+		int day = parseDigits(text, 8, 2);
+		verifyCharacter(text, 10, 'T');
+		int hour = parseDigits(text, 11, 2);
+		verifyCharacter(text, 13, ':');
+		int minute = parseDigits(text, 14, 2);
+		verifyCharacter(text, 16, ':');
+		int second = parseDigits(text, 17, 2);
 
-		verifyCharacterAndAdvanceCursor(text, cursor, '-');
-		calendar.set(Calendar.MONTH, TypeFormat.parseInt(text, cursor) - 1);
+		int index = 19;
+		int millis = 0;
+		if (index < text.length() && text.charAt(index) == '.') {
+			index++;
 
-		verifyCharacterAndAdvanceCursor(text, cursor, '-');
-		calendar.set(Calendar.DAY_OF_MONTH, TypeFormat.parseInt(text, cursor));
+			int scale = 100;
+			int fractionStart = index;
+			while (index < text.length() && isDigit(text.charAt(index))) {
+				millis += (text.charAt(index) - '0') * scale;
+				scale /= 10;
+				index++;
+			}
 
-		verifyCharacterAndAdvanceCursor(text, cursor, 'T');
-		calendar.set(Calendar.HOUR_OF_DAY, TypeFormat.parseInt(text, cursor));
+			if (index == fractionStart) {
+				throw new IllegalArgumentException(text.toString());
+			}
+		}
 
-		verifyCharacterAndAdvanceCursor(text, cursor, ':');
-		calendar.set(Calendar.MINUTE, TypeFormat.parseInt(text, cursor));
+		verifyCharacter(text, index, 'Z');
+		if (index + 1 != text.length() || month < 1 || month > 12 || day < 1 || day > 31 || hour > 23 || minute > 59 || second > 60) {
+			throw new IllegalArgumentException(text.toString());
+		}
+
+		return daysFromEpoch(year, month, day) * MILLIS_PER_DAY
+				+ hour * MILLIS_PER_HOUR
+				+ minute * MILLIS_PER_MINUTE
+				+ second * MILLIS_PER_SECOND
+				+ millis;
+	}
 
-		verifyCharacterAndAdvanceCursor(text, cursor, ':');
-		calendar.set(Calendar.SECOND, TypeFormat.parseInt(text, cursor));
+	/**
+	 * Number of days between 1970-01-01 and given date of the proleptic Gregorian calendar.
+	 */
+	private static long daysFromEpoch(int year, int month, int day) {
+		if (month <= 2) {
+			year--;
+		}
 
-		verifyCharacterAndAdvanceCursor(text, cursor, '.');
-		calendar.set(Calendar.MILLISECOND, TypeFormat.parseInt(text, cursor));
+		long era = (year >= 0 ? year : year - 399) / 400;
+		long yearOfEra = year - era * 400;
+		long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+		long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
 
-		verifyCharacterAndAdvanceCursor(text, cursor, 'Z');
-		return calendar.getTime();
+		return era * 146097 + dayOfEra - 719468;
 	}
 
-	private void verifyCharacterAndAdvanceCursor(CharArray text, Cursor cursor, char expectedCharacter) {
-		if (text.charAt(cursor.getIndex()) != expectedCharacter) {
+	private static int parseDigits(CharSequence text, int start, int count) {
+		if (start + count > text.length()) {
 			throw new IllegalArgumentException(text.toString());
 		}
 
-		cursor.increment();
+		int result = 0;
+		for (int index = start; index < start + count; index++) {
+			char character = text.charAt(index);
+			if (!isDigit(character)) {
+				throw new IllegalArgumentException(text.toString());
+			}
+
+			result = result * 10 + character - '0';
+		}
+
+		return result;
+	}
+
+	private static boolean isDigit(char character) {
+		return character >= '0' && character <= '9';
+	}
+
+	private static void verifyCharacter(CharSequence text, int index, char expectedCharacter) {
+		if (index >= text.length() || text.charAt(index) != expectedCharacter) {
+			throw new IllegalArgumentException(text.toString());
+		}
 	}
 }
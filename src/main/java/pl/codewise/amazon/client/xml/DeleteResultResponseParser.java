@@ -0,0 +1,30 @@
+package pl.codewise.amazon.client.xml;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.ReferenceCountUtil;
+import org.xmlpull.v1.XmlPullParserFactory;
+import pl.codewise.amazon.client.BulkDeleteResult;
+import pl.codewise.amazon.client.xml.handlers.DeleteResultTagHandler;
+
+import java.io.IOException;
+
+public class DeleteResultResponseParser extends GenericResponseParser<BulkDeleteResult> {
+
+    public DeleteResultResponseParser(XmlPullParserFactory pullParserFactory) {
+        super(pullParserFactory, DeleteResultTagHandler.UNKNOWN, DeleteResultTagHandler.values());
+    }
+
+    @Override
+    public BulkDeleteResult parse(HttpResponseStatus status, HttpHeaders headers, ByteBuf content) throws IOException {
+        try {
+            BulkDeleteResult result = new BulkDeleteResult();
+            parse(new ByteBufInputStream(content), result);
+            return result;
+        } finally {
+            ReferenceCountUtil.release(content);
+        }
+    }
+}
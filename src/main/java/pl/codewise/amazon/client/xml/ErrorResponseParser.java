@@ -29,7 +29,10 @@ public class ErrorResponseParser extends GenericResponseParser<AmazonS3Exception
             LOGGER.debug("Error content body:\n{}", content.toString(Charset.defaultCharset()));
         }
 
-        parse(new ByteBufInputStream(content), exceptionBuilder);
+        // Responses to HEAD requests carry no body
+        if (content.isReadable()) {
+            parse(new ByteBufInputStream(content), exceptionBuilder);
+        }
         return exceptionBuilder;
     }
 
@@ -0,0 +1,55 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import pl.codewise.amazon.client.ObjectSummaryFilter;
+
+import java.util.List;
+
+/**
+ * ObjectListing that keeps only summaries accepted by the filter. Key of the last object seen is retained whether it
+ * has been accepted or not, so that the next marker still points past every object in the response.
+ */
+public class FilteringObjectListing extends ObjectListing {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ObjectSummaryFilter filter;
+
+    private String lastKey;
+
+    public FilteringObjectListing(ObjectSummaryFilter filter) {
+        this.filter = filter;
+    }
+
+    public ObjectSummaryFilter getFilter() {
+        return filter;
+    }
+
+    public void summaryParsed() {
+        List<S3ObjectSummary> objectSummaries = getObjectSummaries();
+        S3ObjectSummary summary = objectSummaries.get(objectSummaries.size() - 1);
+
+        if (filter.accept(summary)) {
+            summaryAccepted(summary);
+        } else {
+            objectSummaries.remove(objectSummaries.size() - 1);
+            keySeen(summary.getKey());
+        }
+    }
+
+    /**
+     * Called for the last summary of the listing once it is known to be accepted.
+     */
+    void summaryAccepted(S3ObjectSummary summary) {
+        lastKey = summary.getKey();
+    }
+
+    void keySeen(String key) {
+        lastKey = key;
+    }
+
+    public String getLastKey() {
+        return lastKey;
+    }
+}
@@ -53,6 +53,14 @@ public abstract class GenericResponseParser<Context> {
             ByteBuf content
     ) throws IOException;
 
+    /**
+     * Returns consumer that parses response body chunk by chunk as it arrives or null if parser needs the whole body
+     * to be aggregated first.
+     */
+    public ContentConsumer<Context> newContentConsumer(HttpResponseStatus status, HttpHeaders headers) {
+        return null;
+    }
+
     private void processContents(XmlPullParser parser, Context context) throws XmlPullParserException, IOException {
         ContextStack<Context> handlerStack = ContextStack.<Context>getInstance();
 
@@ -0,0 +1,35 @@
+package pl.codewise.amazon.client.xml;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reusable copy of UTF-8 bytes of a key, decoded into a string only when it is needed.
+ */
+class KeyBytes {
+
+    private byte[] bytes = new byte[128];
+    private int length = -1;
+
+    void set(byte[] key, int length) {
+        if (bytes.length < length) {
+            bytes = Arrays.copyOf(bytes, Math.max(length, bytes.length * 2));
+        }
+
+        System.arraycopy(key, 0, bytes, 0, length);
+        this.length = length;
+    }
+
+    void clear() {
+        length = -1;
+    }
+
+    boolean isSet() {
+        return length >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
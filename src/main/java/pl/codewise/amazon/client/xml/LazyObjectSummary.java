@@ -0,0 +1,50 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+import java.util.Date;
+
+/**
+ * Object summary that keeps modification time as milliseconds since epoch and creates the date only when it is
+ * asked for.
+ */
+public class LazyObjectSummary extends S3ObjectSummary {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Modification time in milliseconds of a summary that has none.
+     */
+    public static final long NO_LAST_MODIFIED = Long.MIN_VALUE;
+
+    private long lastModifiedMillis = NO_LAST_MODIFIED;
+
+    public void setLastModifiedMillis(long lastModifiedMillis) {
+        this.lastModifiedMillis = lastModifiedMillis;
+        super.setLastModified(null);
+    }
+
+    /**
+     * Returns modification time in milliseconds since epoch or {@link #NO_LAST_MODIFIED} if it is not known.
+     */
+    public long getLastModifiedMillis() {
+        return lastModifiedMillis;
+    }
+
+    @Override
+    public Date getLastModified() {
+        Date lastModified = super.getLastModified();
+        if (lastModified == null && lastModifiedMillis != NO_LAST_MODIFIED) {
+            lastModified = new Date(lastModifiedMillis);
+            super.setLastModified(lastModified);
+        }
+
+        return lastModified;
+    }
+
+    @Override
+    public void setLastModified(Date lastModified) {
+        super.setLastModified(lastModified);
+        lastModifiedMillis = lastModified == null ? NO_LAST_MODIFIED : lastModified.getTime();
+    }
+}
@@ -0,0 +1,24 @@
+package pl.codewise.amazon.client.xml;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import pl.codewise.amazon.client.ObjectLease;
+
+public class LeaseBytesParser extends GenericResponseParser<ObjectLease> {
+
+    private static final LeaseBytesParser INSTANCE = new LeaseBytesParser();
+
+    public static LeaseBytesParser getInstance() {
+        return INSTANCE;
+    }
+
+    private LeaseBytesParser() {
+        super(null, null);
+    }
+
+    @Override
+    public ObjectLease parse(HttpResponseStatus status, HttpHeaders headers, ByteBuf content) {
+        return new ObjectLease(content, headers);
+    }
+}
@@ -0,0 +1,61 @@
+package pl.codewise.amazon.client.xml;
+
+import io.netty.buffer.ByteBuf;
+
+import java.io.IOException;
+
+/**
+ * Feeds chunks to the reader as they arrive. Chunks are read in place and only the tail of an element that is split
+ * between chunks is copied aside until the rest of it is received.
+ */
+class ListBucketResultConsumer<T> implements ContentConsumer<T> {
+
+    private final ListBucketResultReader<T> reader;
+
+    private ByteBuf pending;
+
+    ListBucketResultConsumer(ListBucketResultReader<T> reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public void consume(ByteBuf chunk) throws IOException {
+        if (pending != null && pending.isReadable()) {
+            pending.writeBytes(chunk);
+            reader.read(pending);
+            pending.discardSomeReadBytes();
+            return;
+        }
+
+        reader.read(chunk);
+        if (chunk.isReadable()) {
+            if (pending == null) {
+                pending = chunk.alloc().buffer(chunk.readableBytes() * 2);
+            }
+
+            pending.clear();
+            pending.writeBytes(chunk);
+        }
+    }
+
+    @Override
+    public T complete() throws IOException {
+        try {
+            if (!reader.isComplete()) {
+                throw new IOException("Incomplete ListBucketResult document");
+            }
+
+            return reader.getResult();
+        } finally {
+            discard();
+        }
+    }
+
+    @Override
+    public void discard() {
+        if (pending != null) {
+            pending.release();
+            pending = null;
+        }
+    }
+}
@@ -0,0 +1,704 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.model.Owner;
+import io.netty.buffer.ByteBuf;
+import javolution.text.CharArray;
+import pl.codewise.amazon.client.ObjectSummaryFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Reads ListBucketResult document from UTF-8 bytes and passes its contents to the sink. Only complete top level
+ * elements are processed, so the reader can be given a buffer that does not hold the whole document yet and resumed
+ * once more bytes arrive. Values of Contents elements are decoded only when the sink asks for them.
+ */
+class ListBucketResultReader<T> {
+
+    private static final int PROLOG = 0;
+    private static final int BODY = 1;
+    private static final int DONE = 2;
+
+    private final ListBucketResultSink<T> sink;
+
+    private final Element element = new Element();
+    private final Element child = new Element();
+    private final Element grandChild = new Element();
+    private final Contents contents = new Contents(this);
+
+    private final DateTimeParser dateTimeParser = new DateTimeParser();
+    private final CharArray dateText = new CharArray();
+    private char[] dateCharacters = new char[24];
+
+    private byte[] unescaped = new byte[128];
+
+    private int state = PROLOG;
+
+    ListBucketResultReader(ListBucketResultSink<T> sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Processes all complete elements available in the buffer and moves its reader index past them.
+     */
+    void read(ByteBuf buffer) throws IOException {
+        int index = buffer.readerIndex();
+        int end = buffer.writerIndex();
+
+        while (state != DONE) {
+            int next = state == PROLOG ? readProlog(buffer, index, end) : readBody(buffer, index, end);
+            if (next < 0) {
+                break;
+            }
+
+            index = next;
+        }
+
+        buffer.readerIndex(index);
+    }
+
+    boolean isComplete() {
+        return state == DONE;
+    }
+
+    T getResult() {
+        return sink.getResult();
+    }
+
+    private int readProlog(ByteBuf buffer, int index, int end) throws IOException {
+        index = skipWhitespace(buffer, index, end);
+        if (index + 1 >= end) {
+            return -1;
+        }
+
+        expectTagStart(buffer, index);
+        int tagEnd = buffer.indexOf(index, end, (byte) '>');
+        if (tagEnd < 0) {
+            return -1;
+        }
+
+        byte next = buffer.getByte(index + 1);
+        if (next == '?' || next == '!') {
+            return tagEnd + 1;
+        }
+
+        int nameEnd = nameEnd(buffer, index + 1, tagEnd);
+        if (Tag.of(buffer, index + 1, nameEnd - index - 1) != Tag.LIST_BUCKET_RESULT) {
+            throw malformed(buffer, index);
+        }
+
+        state = BODY;
+        return tagEnd + 1;
+    }
+
+    private int readBody(ByteBuf buffer, int index, int end) throws IOException {
+        index = skipWhitespace(buffer, index, end);
+        if (index + 1 >= end) {
+            return -1;
+        }
+
+        expectTagStart(buffer, index);
+        if (buffer.getByte(index + 1) == '/') {
+            int tagEnd = buffer.indexOf(index, end, (byte) '>');
+            if (tagEnd < 0) {
+                return -1;
+            }
+
+            sink.onEnd();
+            state = DONE;
+            return tagEnd + 1;
+        }
+
+        if (!element.find(buffer, index, end)) {
+            return -1;
+        }
+
+        readTopLevelElement(buffer, element);
+        return element.end;
+    }
+
+    private void readTopLevelElement(ByteBuf buffer, Element element) throws IOException {
+        switch (Tag.of(buffer, element.nameStart, element.nameLength)) {
+            case NAME:
+                sink.onBucketName(text(buffer, element.contentStart, element.contentEnd));
+                break;
+            case PREFIX:
+                sink.onPrefix(text(buffer, element.contentStart, element.contentEnd));
+                break;
+            case MARKER:
+                sink.onMarker(text(buffer, element.contentStart, element.contentEnd));
+                break;
+            case NEXT_MARKER:
+                sink.onNextMarker(text(buffer, element.contentStart, element.contentEnd));
+                break;
+            case DELIMITER:
+                sink.onDelimiter(text(buffer, element.contentStart, element.contentEnd));
+                break;
+            case MAX_KEYS:
+                if (!element.isEmpty()) {
+                    sink.onMaxKeys((int) parseLong(buffer, element.contentStart, element.contentEnd));
+                }
+                break;
+            case IS_TRUNCATED:
+                if (!element.isEmpty()) {
+                    sink.onTruncated(Tag.TRUE.matches(buffer, element.contentStart, element.contentLength()));
+                }
+                break;
+            case CONTENTS:
+                contents.read(buffer, element);
+                sink.onContents(contents);
+                break;
+            case COMMON_PREFIXES:
+                readCommonPrefixes(buffer, element);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void readCommonPrefixes(ByteBuf buffer, Element commonPrefixes) throws IOException {
+        int index = skipWhitespace(buffer, commonPrefixes.contentStart, commonPrefixes.contentEnd);
+        while (index < commonPrefixes.contentEnd) {
+            findChild(buffer, child, index, commonPrefixes.contentEnd);
+
+            if (Tag.of(buffer, child.nameStart, child.nameLength) == Tag.PREFIX && !child.isEmpty()) {
+                sink.onCommonPrefix(text(buffer, child.contentStart, child.contentEnd));
+            }
+
+            index = skipWhitespace(buffer, child.end, commonPrefixes.contentEnd);
+        }
+    }
+
+    private void findChild(ByteBuf buffer, Element child, int index, int end) throws IOException {
+        expectTagStart(buffer, index);
+        if (!child.find(buffer, index, end)) {
+            throw malformed(buffer, index);
+        }
+    }
+
+    /**
+     * Decodes text between given indexes, resolving entity references. Returns null for empty elements, just like
+     * the pull parser that does not report any text for them.
+     */
+    private String text(ByteBuf buffer, int start, int end) throws IOException {
+        if (start >= end) {
+            return null;
+        }
+
+        if (buffer.indexOf(start, end, (byte) '&') < 0) {
+            return buffer.toString(start, end - start, StandardCharsets.UTF_8);
+        }
+
+        return new String(unescaped, 0, unescape(buffer, start, end), StandardCharsets.UTF_8);
+    }
+
+    private int unescape(ByteBuf buffer, int start, int end) throws IOException {
+        if (unescaped.length < end - start) {
+            unescaped = new byte[end - start];
+        }
+
+        int length = 0;
+        int index = start;
+        while (index < end) {
+            byte value = buffer.getByte(index);
+            if (value != '&') {
+                unescaped[length++] = value;
+                index++;
+                continue;
+            }
+
+            int referenceEnd = buffer.indexOf(index, end, (byte) ';');
+            if (referenceEnd < 0) {
+                throw malformed(buffer, index);
+            }
+
+            length = appendReference(buffer, index + 1, referenceEnd, length);
+            index = referenceEnd + 1;
+        }
+
+        return length;
+    }
+
+    private int appendReference(ByteBuf buffer, int start, int end, int length) throws IOException {
+        int referenceLength = end - start;
+        if (Tag.AMP.matches(buffer, start, referenceLength)) {
+            unescaped[length++] = '&';
+        } else if (Tag.LT.matches(buffer, start, referenceLength)) {
+            unescaped[length++] = '<';
+        } else if (Tag.GT.matches(buffer, start, referenceLength)) {
+            unescaped[length++] = '>';
+        } else if (Tag.QUOT.matches(buffer, start, referenceLength)) {
+            unescaped[length++] = '"';
+        } else if (Tag.APOS.matches(buffer, start, referenceLength)) {
+            unescaped[length++] = '\'';
+        } else if (referenceLength > 1 && buffer.getByte(start) == '#') {
+            length = appendCodePoint(parseCharacterReference(buffer, start + 1, end), length);
+        } else {
+            throw malformed(buffer, start);
+        }
+
+        return length;
+    }
+
+    private int parseCharacterReference(ByteBuf buffer, int start, int end) throws IOException {
+        int radix = 10;
+        if (buffer.getByte(start) == 'x') {
+            radix = 16;
+            start++;
+        }
+
+        int codePoint = 0;
+        for (int index = start; index < end; index++) {
+            int digit = Character.digit(buffer.getByte(index), radix);
+            if (digit < 0 || codePoint > Character.MAX_CODE_POINT) {
+                throw malformed(buffer, index);
+            }
+
+            codePoint = codePoint * radix + digit;
+        }
+
+        if (start == end || codePoint > Character.MAX_CODE_POINT
+                || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+            throw malformed(buffer, start);
+        }
+
+        return codePoint;
+    }
+
+    private int appendCodePoint(int codePoint, int length) {
+        if (codePoint < 0x80) {
+            unescaped[length++] = (byte) codePoint;
+        } else if (codePoint < 0x800) {
+            unescaped[length++] = (byte) (0xc0 | (codePoint >> 6));
+            unescaped[length++] = (byte) (0x80 | (codePoint & 0x3f));
+        } else if (codePoint < 0x10000) {
+            unescaped[length++] = (byte) (0xe0 | (codePoint >> 12));
+            unescaped[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+            unescaped[length++] = (byte) (0x80 | (codePoint & 0x3f));
+        } else {
+            unescaped[length++] = (byte) (0xf0 | (codePoint >> 18));
+            unescaped[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+            unescaped[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+            unescaped[length++] = (byte) (0x80 | (codePoint & 0x3f));
+        }
+
+        return length;
+    }
+
+    private long parseLong(ByteBuf buffer, int start, int end) throws IOException {
+        long result = 0;
+        for (int index = start; index < end; index++) {
+            int digit = buffer.getByte(index) - '0';
+            if (digit < 0 || digit > 9) {
+                throw malformed(buffer, index);
+            }
+
+            result = result * 10 + digit;
+        }
+
+        return result;
+    }
+
+    private long parseDate(ByteBuf buffer, int start, int end) {
+        int length = end - start;
+        if (dateCharacters.length < length) {
+            dateCharacters = new char[length];
+        }
+
+        for (int i = 0; i < length; i++) {
+            dateCharacters[i] = (char) buffer.getByte(start + i);
+        }
+
+        dateText.setArray(dateCharacters, 0, length);
+        return dateTimeParser.parseMillis(dateText);
+    }
+
+    private static int skipWhitespace(ByteBuf buffer, int index, int end) {
+        while (index < end && buffer.getByte(index) <= ' ' && buffer.getByte(index) >= 0) {
+            index++;
+        }
+
+        return index;
+    }
+
+    private static int nameEnd(ByteBuf buffer, int index, int end) {
+        while (index < end) {
+            byte value = buffer.getByte(index);
+            if (value == '/' || (value <= ' ' && value >= 0)) {
+                break;
+            }
+
+            index++;
+        }
+
+        return index;
+    }
+
+    private static void expectTagStart(ByteBuf buffer, int index) throws IOException {
+        if (buffer.getByte(index) != '<') {
+            throw malformed(buffer, index);
+        }
+    }
+
+    private static IOException malformed(ByteBuf buffer, int index) {
+        return new IOException("Malformed ListBucketResult document at byte " + (index - buffer.readerIndex()));
+    }
+
+    /**
+     * Contents element that has just been read. Positions of its values are recorded, but values themselves are
+     * decoded only on demand and only until the next element is read.
+     */
+    static class Contents {
+
+        private final ListBucketResultReader<?> reader;
+
+        private ByteBuf buffer;
+
+        private int keyStart;
+        private int keyEnd;
+        private int eTagStart;
+        private int eTagEnd;
+        private int sizeStart;
+        private int sizeEnd;
+        private int lastModifiedStart;
+        private int lastModifiedEnd;
+        private int storageClassStart;
+        private int storageClassEnd;
+        private int ownerStart;
+        private int ownerEnd;
+
+        private Contents(ListBucketResultReader<?> reader) {
+            this.reader = reader;
+        }
+
+        private void read(ByteBuf buffer, Element contents) throws IOException {
+            this.buffer = buffer;
+            Element child = reader.child;
+            keyStart = keyEnd = eTagStart = eTagEnd = sizeStart = sizeEnd = -1;
+            lastModifiedStart = lastModifiedEnd = storageClassStart = storageClassEnd = ownerStart = ownerEnd = -1;
+
+            int index = skipWhitespace(buffer, contents.contentStart, contents.contentEnd);
+            while (index < contents.contentEnd) {
+                reader.findChild(buffer, child, index, contents.contentEnd);
+
+                switch (Tag.of(buffer, child.nameStart, child.nameLength)) {
+                    case KEY:
+                        keyStart = child.contentStart;
+                        keyEnd = child.contentEnd;
+                        break;
+                    case ETAG:
+                        eTagStart = child.contentStart;
+                        eTagEnd = child.contentEnd;
+                        break;
+                    case SIZE:
+                        sizeStart = child.contentStart;
+                        sizeEnd = child.contentEnd;
+                        break;
+                    case LAST_MODIFIED:
+                        lastModifiedStart = child.contentStart;
+                        lastModifiedEnd = child.contentEnd;
+                        break;
+                    case STORAGE_CLASS:
+                        storageClassStart = child.contentStart;
+                        storageClassEnd = child.contentEnd;
+                        break;
+                    case OWNER:
+                        ownerStart = child.contentStart;
+                        ownerEnd = child.contentEnd;
+                        break;
+                    default:
+                        break;
+                }
+
+                index = skipWhitespace(buffer, child.end, contents.contentEnd);
+            }
+        }
+
+        String getKey() throws IOException {
+            return reader.text(buffer, keyStart, keyEnd);
+        }
+
+        /**
+         * Decodes UTF-8 bytes of the key into {@link #getDecodedBytes()} and returns their number.
+         */
+        int decodeKey() throws IOException {
+            if (keyStart >= keyEnd) {
+                return 0;
+            }
+
+            return reader.unescape(buffer, keyStart, keyEnd);
+        }
+
+        byte[] getDecodedBytes() {
+            return reader.unescaped;
+        }
+
+        /**
+         * Evaluates the filter on raw values, without creating a summary. Expects the key to be decoded with
+         * {@link #decodeKey()} and leaves it in place.
+         */
+        boolean accepts(ObjectSummaryFilter filter, int keyLength) throws IOException {
+            return filter.acceptKey(reader.unescaped, 0, keyLength)
+                    && (!hasSize() || filter.acceptSize(getSize()))
+                    && (!hasLastModified() || filter.acceptLastModified(getLastModifiedMillis()));
+        }
+
+        String getETag() throws IOException {
+            return reader.text(buffer, eTagStart, eTagEnd);
+        }
+
+        /**
+         * Stores binary MD5 digest held by the ETag into the target. Returns false if the ETag is missing or it is
+         * not a plain MD5 digest, e.g. for objects uploaded in multiple parts.
+         */
+        boolean getETagDigest(byte[] target, int offset) throws IOException {
+            if (eTagStart >= eTagEnd) {
+                return false;
+            }
+
+            int length = reader.unescape(buffer, eTagStart, eTagEnd);
+            byte[] unescaped = reader.unescaped;
+            int start = 0;
+            if (length >= 2 && unescaped[0] == '"' && unescaped[length - 1] == '"') {
+                start = 1;
+                length -= 2;
+            }
+
+            if (length != 32) {
+                return false;
+            }
+
+            for (int i = 0; i < 16; i++) {
+                int high = Character.digit(unescaped[start + 2 * i], 16);
+                int low = Character.digit(unescaped[start + 2 * i + 1], 16);
+                if (high < 0 || low < 0) {
+                    return false;
+                }
+
+                target[offset + i] = (byte) ((high << 4) | low);
+            }
+
+            return true;
+        }
+
+        boolean hasSize() {
+            return sizeStart < sizeEnd;
+        }
+
+        long getSize() throws IOException {
+            return reader.parseLong(buffer, sizeStart, sizeEnd);
+        }
+
+        boolean hasLastModified() {
+            return lastModifiedStart < lastModifiedEnd;
+        }
+
+        Date getLastModified() {
+            return new Date(getLastModifiedMillis());
+        }
+
+        long getLastModifiedMillis() {
+            return reader.parseDate(buffer, lastModifiedStart, lastModifiedEnd);
+        }
+
+        String getStorageClass() throws IOException {
+            return reader.text(buffer, storageClassStart, storageClassEnd);
+        }
+
+        /**
+         * Returns owner of the object or null if there is no Owner element.
+         */
+        Owner getOwner() throws IOException {
+            if (ownerStart < 0) {
+                return null;
+            }
+
+            Owner owner = new Owner();
+            Element grandChild = reader.grandChild;
+
+            int index = skipWhitespace(buffer, ownerStart, ownerEnd);
+            while (index < ownerEnd) {
+                reader.findChild(buffer, grandChild, index, ownerEnd);
+
+                switch (Tag.of(buffer, grandChild.nameStart, grandChild.nameLength)) {
+                    case ID:
+                        owner.setId(reader.text(buffer, grandChild.contentStart, grandChild.contentEnd));
+                        break;
+                    case DISPLAY_NAME:
+                        owner.setDisplayName(reader.text(buffer, grandChild.contentStart, grandChild.contentEnd));
+                        break;
+                    default:
+                        break;
+                }
+
+                index = skipWhitespace(buffer, grandChild.end, ownerEnd);
+            }
+
+            return owner;
+        }
+    }
+
+    /**
+     * Position of a complete element within the buffer.
+     */
+    private static class Element {
+
+        private int nameStart;
+        private int nameLength;
+
+        private int contentStart;
+        private int contentEnd;
+
+        private int end;
+
+        /**
+         * Locates element starting at given index. Returns false when the buffer does not contain the whole element yet.
+         */
+        boolean find(ByteBuf buffer, int index, int limit) {
+            int tagEnd = buffer.indexOf(index, limit, (byte) '>');
+            if (tagEnd < 0) {
+                return false;
+            }
+
+            nameStart = index + 1;
+            nameLength = nameEnd(buffer, nameStart, tagEnd) - nameStart;
+            contentStart = tagEnd + 1;
+
+            if (buffer.getByte(tagEnd - 1) == '/') {
+                contentEnd = contentStart;
+                end = contentStart;
+                return true;
+            }
+
+            int candidate = contentStart;
+            while (true) {
+                int closingTagStart = buffer.indexOf(candidate, limit, (byte) '<');
+                if (closingTagStart < 0) {
+                    return false;
+                }
+
+                int closingTagEnd = closingTagStart + 2 + nameLength;
+                if (closingTagEnd >= limit) {
+                    return false;
+                }
+
+                if (buffer.getByte(closingTagStart + 1) == '/'
+                        && buffer.getByte(closingTagEnd) == '>'
+                        && regionMatches(buffer, closingTagStart + 2, nameStart, nameLength)) {
+                    contentEnd = closingTagStart;
+                    end = closingTagEnd + 1;
+                    return true;
+                }
+
+                candidate = closingTagStart + 1;
+            }
+        }
+
+        boolean isEmpty() {
+            return contentStart == contentEnd;
+        }
+
+        int contentLength() {
+            return contentEnd - contentStart;
+        }
+
+        private static boolean regionMatches(ByteBuf buffer, int first, int second, int length) {
+            for (int i = 0; i < length; i++) {
+                if (buffer.getByte(first + i) != buffer.getByte(second + i)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Names recognized by the reader, grouped by length so that a name is identified with at most a few byte
+     * comparisons.
+     */
+    private enum Tag {
+        LIST_BUCKET_RESULT("ListBucketResult"),
+        NAME("Name"),
+        PREFIX("Prefix"),
+        MARKER("Marker"),
+        NEXT_MARKER("NextMarker"),
+        MAX_KEYS("MaxKeys"),
+        DELIMITER("Delimiter"),
+        IS_TRUNCATED("IsTruncated"),
+        CONTENTS("Contents"),
+        COMMON_PREFIXES("CommonPrefixes"),
+        KEY("Key"),
+        LAST_MODIFIED("LastModified"),
+        ETAG("ETag"),
+        SIZE("Size"),
+        STORAGE_CLASS("StorageClass"),
+        OWNER("Owner"),
+        ID("ID"),
+        DISPLAY_NAME("DisplayName"),
+        TRUE("true"),
+        AMP("amp"),
+        LT("lt"),
+        GT("gt"),
+        QUOT("quot"),
+        APOS("apos"),
+        UNKNOWN("");
+
+        private static final Tag[][] BY_LENGTH;
+
+        static {
+            List<List<Tag>> tagsByLength = new ArrayList<>();
+            for (Tag tag : values()) {
+                while (tagsByLength.size() <= tag.bytes.length) {
+                    tagsByLength.add(new ArrayList<>());
+                }
+
+                if (tag != UNKNOWN) {
+                    tagsByLength.get(tag.bytes.length).add(tag);
+                }
+            }
+
+            BY_LENGTH = new Tag[tagsByLength.size()][];
+            for (int length = 0; length < BY_LENGTH.length; length++) {
+                BY_LENGTH[length] = tagsByLength.get(length).toArray(new Tag[0]);
+            }
+        }
+
+        private final byte[] bytes;
+
+        Tag(String name) {
+            this.bytes = name.getBytes(StandardCharsets.US_ASCII);
+        }
+
+        static Tag of(ByteBuf buffer, int start, int length) {
+            if (length >= BY_LENGTH.length) {
+                return UNKNOWN;
+            }
+
+            for (Tag tag : BY_LENGTH[length]) {
+                if (tag.matches(buffer, start, length)) {
+                    return tag;
+                }
+            }
+
+            return UNKNOWN;
+        }
+
+        boolean matches(ByteBuf buffer, int start, int length) {
+            if (length != bytes.length) {
+                return false;
+            }
+
+            for (int i = 0; i < length; i++) {
+                if (buffer.getByte(start + i) != bytes[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
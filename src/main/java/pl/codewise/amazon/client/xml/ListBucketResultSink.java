@@ -0,0 +1,34 @@
+package pl.codewise.amazon.client.xml;
+
+import java.io.IOException;
+
+/**
+ * Receives values of ListBucketResult document in the order they are read and builds the result out of them.
+ */
+interface ListBucketResultSink<T> {
+
+    void onBucketName(String bucketName);
+
+    void onPrefix(String prefix);
+
+    void onMarker(String marker);
+
+    void onNextMarker(String nextMarker);
+
+    void onDelimiter(String delimiter);
+
+    void onMaxKeys(int maxKeys);
+
+    void onTruncated(boolean truncated);
+
+    /**
+     * Called for every Contents element. Given view is valid only until this method returns.
+     */
+    void onContents(ListBucketResultReader.Contents contents) throws IOException;
+
+    void onCommonPrefix(String prefix);
+
+    void onEnd();
+
+    T getResult();
+}
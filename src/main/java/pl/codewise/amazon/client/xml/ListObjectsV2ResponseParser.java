@@ -0,0 +1,69 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.ReferenceCountUtil;
+import org.xmlpull.v1.XmlPullParserFactory;
+import pl.codewise.amazon.client.ClientConfiguration;
+import pl.codewise.amazon.client.xml.handlers.ListObjectsV2TagHandler;
+import pl.codewise.amazon.client.xml.handlers.TagHandler;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.util.Arrays.stream;
+import static java.util.stream.Collectors.toMap;
+
+public class ListObjectsV2ResponseParser extends GenericResponseParser<ListObjectsV2Result> {
+
+    public ListObjectsV2ResponseParser(XmlPullParserFactory pullParserFactory, Map<String, TagHandler<ListObjectsV2Result>> tagHandlerMap) {
+        super(pullParserFactory, ListObjectsV2TagHandler.UNKNOWN, tagHandlerMap);
+    }
+
+    @Override
+    public ListObjectsV2Result parse(HttpResponseStatus status, HttpHeaders headers, ByteBuf content) throws IOException {
+        try {
+            ListObjectsV2Result result = new ListObjectsV2Result();
+            parse(new ByteBufInputStream(content), result);
+            return result;
+        } finally {
+            ReferenceCountUtil.release(content);
+        }
+    }
+
+    public static ListObjectsV2ResponseParser newListObjectsV2ResponseParser(XmlPullParserFactory pullParserFactory, ClientConfiguration configuration) {
+        EnumSet<ListObjectsV2TagHandler> excludedHandlers = EnumSet.noneOf(ListObjectsV2TagHandler.class);
+        if (configuration.isLazyLastModified()) {
+            excludedHandlers.add(ListObjectsV2TagHandler.CONTENTS);
+        } else {
+            excludedHandlers.add(ListObjectsV2TagHandler.LAZY_CONTENTS);
+        }
+
+        if (configuration.isSkipParsingStorageClass()) {
+            excludedHandlers.add(ListObjectsV2TagHandler.STORAGE_CLASS);
+        }
+
+        if (configuration.isSkipParsingLastModified()) {
+            excludedHandlers.add(ListObjectsV2TagHandler.LAST_MODIFIED);
+        }
+
+        if (configuration.isSkipParsingETag()) {
+            excludedHandlers.add(ListObjectsV2TagHandler.ETAG);
+        }
+
+        if (configuration.isSkipParsingOwner()) {
+            excludedHandlers.add(ListObjectsV2TagHandler.OWNER);
+            excludedHandlers.add(ListObjectsV2TagHandler.ID);
+            excludedHandlers.add(ListObjectsV2TagHandler.DISPLAY_NAME);
+        }
+
+        return new ListObjectsV2ResponseParser(pullParserFactory, stream(ListObjectsV2TagHandler.values())
+                .filter((handler) -> !excludedHandlers.contains(handler))
+                .collect(toMap(TagHandler::getTagName, Function.<TagHandler<ListObjectsV2Result>>identity())));
+    }
+}
@@ -1,6 +1,7 @@
 package pl.codewise.amazon.client.xml;
 
 import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.handler.codec.http.HttpHeaders;
@@ -8,13 +9,17 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.util.ReferenceCountUtil;
 import org.xmlpull.v1.XmlPullParserFactory;
 import pl.codewise.amazon.client.ClientConfiguration;
+import pl.codewise.amazon.client.ObjectSummaryFilter;
 import pl.codewise.amazon.client.xml.handlers.ListObjectsTagHandler;
 import pl.codewise.amazon.client.xml.handlers.TagHandler;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static java.util.Arrays.stream;
 import static java.util.stream.Collectors.toMap;
@@ -26,22 +31,98 @@ public class ListResponseParser extends GenericResponseParser<ObjectListing> {
     }
 
     public ObjectListing parse(HttpResponseStatus status, HttpHeaders headers, ByteBuf content) throws IOException {
-        try {
-            ObjectListing listing = new ObjectListing();
-            parse(new ByteBufInputStream(content), listing);
-
-            if (!listing.isTruncated()) {
-                listing.setNextMarker(null);
-            }
+        return parse(content, new ObjectListing());
+    }
 
-            return listing;
+    protected ObjectListing parse(ByteBuf content, ObjectListing listing) throws IOException {
+        try {
+            parseContent(content, listing);
+            return completed(listing);
         } finally {
             ReferenceCountUtil.release(content);
         }
     }
 
+    @Override
+    public ContentConsumer<ObjectListing> newContentConsumer(HttpResponseStatus status, HttpHeaders headers) {
+        return newContentConsumer(new ObjectListing());
+    }
+
+    /**
+     * Returns consumer parsing response into given listing as it arrives or null if parser needs the whole response.
+     */
+    protected ContentConsumer<ObjectListing> newContentConsumer(ObjectListing listing) {
+        return null;
+    }
+
+    static ObjectListing completed(ObjectListing listing) {
+        if (!listing.isTruncated()) {
+            listing.setNextMarker(null);
+        }
+
+        return listing;
+    }
+
+    protected void parseContent(ByteBuf content, ObjectListing listing) throws IOException {
+        parse(new ByteBufInputStream(content), listing);
+    }
+
+    /**
+     * Returns parser that passes every object summary to the consumer as soon as it is parsed. Returned listing
+     * contains everything but the summaries.
+     */
+    public GenericResponseParser<ObjectListing> streamingTo(Consumer<S3ObjectSummary> summaryConsumer) {
+        return streamingTo(summaryConsumer, ObjectSummaryFilter.ALL);
+    }
+
+    /**
+     * Returns parser that passes object summaries accepted by the filter to the consumer as soon as they are parsed.
+     */
+    public GenericResponseParser<ObjectListing> streamingTo(Consumer<S3ObjectSummary> summaryConsumer, ObjectSummaryFilter filter) {
+        return parsingInto(() -> new StreamingObjectListing(summaryConsumer, filter));
+    }
+
+    /**
+     * Returns parser that keeps only the object summaries accepted by the filter.
+     */
+    public GenericResponseParser<ObjectListing> filteredBy(ObjectSummaryFilter filter) {
+        return parsingInto(() -> new FilteringObjectListing(filter));
+    }
+
+    /**
+     * Returns parser that passes next marker of a truncated listing to the listener as soon as it is parsed, so that
+     * the next page can be requested before the current one is complete.
+     */
+    public GenericResponseParser<ObjectListing> notifyingNextMarker(Consumer<String> nextMarkerListener) {
+        return parsingInto(() -> new NextMarkerNotifyingObjectListing(nextMarkerListener));
+    }
+
+    private GenericResponseParser<ObjectListing> parsingInto(Supplier<ObjectListing> listingSupplier) {
+        return new GenericResponseParser<ObjectListing>(null, null, Collections.emptyMap()) {
+            @Override
+            public ObjectListing parse(HttpResponseStatus status, HttpHeaders headers, ByteBuf content) throws IOException {
+                return ListResponseParser.this.parse(content, listingSupplier.get());
+            }
+
+            @Override
+            public ContentConsumer<ObjectListing> newContentConsumer(HttpResponseStatus status, HttpHeaders headers) {
+                return ListResponseParser.this.newContentConsumer(listingSupplier.get());
+            }
+        };
+    }
+
     public static ListResponseParser newListResponseParser(XmlPullParserFactory pullParserFactory, ClientConfiguration configuration) {
+        if (configuration.isByteLevelListParser()) {
+            return new ByteBufListResponseParser(configuration);
+        }
+
         EnumSet<ListObjectsTagHandler> excludedHandlers = EnumSet.noneOf(ListObjectsTagHandler.class);
+        if (configuration.isLazyLastModified()) {
+            excludedHandlers.add(ListObjectsTagHandler.CONTENTS);
+        } else {
+            excludedHandlers.add(ListObjectsTagHandler.LAZY_CONTENTS);
+        }
+
         if (configuration.isSkipParsingStorageClass()) {
             excludedHandlers.add(ListObjectsTagHandler.STORAGE_CLASS);
         }
@@ -0,0 +1,82 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.model.S3VersionSummary;
+import com.amazonaws.services.s3.model.VersionListing;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.ReferenceCountUtil;
+import org.xmlpull.v1.XmlPullParserFactory;
+import pl.codewise.amazon.client.ClientConfiguration;
+import pl.codewise.amazon.client.xml.handlers.ListVersionsTagHandler;
+import pl.codewise.amazon.client.xml.handlers.TagHandler;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.util.Arrays.stream;
+import static java.util.stream.Collectors.toMap;
+
+public class ListVersionsResponseParser extends GenericResponseParser<VersionListing> {
+
+    public ListVersionsResponseParser(XmlPullParserFactory pullParserFactory, Map<String, TagHandler<VersionListing>> tagHandlerMap) {
+        super(pullParserFactory, ListVersionsTagHandler.UNKNOWN, tagHandlerMap);
+    }
+
+    @Override
+    public VersionListing parse(HttpResponseStatus status, HttpHeaders headers, ByteBuf content) throws IOException {
+        return parse(content, new VersionListing());
+    }
+
+    private VersionListing parse(ByteBuf content, VersionListing versionListing) throws IOException {
+        try {
+            parse(new ByteBufInputStream(content), versionListing);
+            return versionListing;
+        } finally {
+            ReferenceCountUtil.release(content);
+        }
+    }
+
+    /**
+     * Returns parser that passes every version and delete marker to the consumer as soon as it is parsed. Returned
+     * listing contains everything but the summaries.
+     */
+    public GenericResponseParser<VersionListing> streamingTo(Consumer<S3VersionSummary> summaryConsumer) {
+        return new GenericResponseParser<VersionListing>(null, null, Collections.emptyMap()) {
+            @Override
+            public VersionListing parse(HttpResponseStatus status, HttpHeaders headers, ByteBuf content) throws IOException {
+                return ListVersionsResponseParser.this.parse(content, new StreamingVersionListing(summaryConsumer));
+            }
+        };
+    }
+
+    public static ListVersionsResponseParser newListVersionsResponseParser(XmlPullParserFactory pullParserFactory, ClientConfiguration configuration) {
+        EnumSet<ListVersionsTagHandler> excludedHandlers = EnumSet.noneOf(ListVersionsTagHandler.class);
+        if (configuration.isSkipParsingStorageClass()) {
+            excludedHandlers.add(ListVersionsTagHandler.STORAGE_CLASS);
+        }
+
+        if (configuration.isSkipParsingLastModified()) {
+            excludedHandlers.add(ListVersionsTagHandler.LAST_MODIFIED);
+        }
+
+        if (configuration.isSkipParsingETag()) {
+            excludedHandlers.add(ListVersionsTagHandler.ETAG);
+        }
+
+        if (configuration.isSkipParsingOwner()) {
+            excludedHandlers.add(ListVersionsTagHandler.OWNER);
+            excludedHandlers.add(ListVersionsTagHandler.ID);
+            excludedHandlers.add(ListVersionsTagHandler.DISPLAY_NAME);
+        }
+
+        return new ListVersionsResponseParser(pullParserFactory, stream(ListVersionsTagHandler.values())
+                .filter((handler) -> !excludedHandlers.contains(handler))
+                .collect(toMap(TagHandler::getTagName, Function.<TagHandler<VersionListing>>identity())));
+    }
+}
@@ -0,0 +1,34 @@
+package pl.codewise.amazon.client.xml;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import pl.codewise.amazon.client.ObjectLease;
+
+import java.util.Optional;
+
+/**
+ * Parses response to a conditional GET, which is empty if the object was not modified.
+ */
+public class ModifiedObjectParser extends GenericResponseParser<Optional<ObjectLease>> {
+
+    private static final ModifiedObjectParser INSTANCE = new ModifiedObjectParser();
+
+    public static ModifiedObjectParser getInstance() {
+        return INSTANCE;
+    }
+
+    private ModifiedObjectParser() {
+        super(null, null);
+    }
+
+    @Override
+    public Optional<ObjectLease> parse(HttpResponseStatus status, HttpHeaders headers, ByteBuf content) {
+        if (status.equals(HttpResponseStatus.NOT_MODIFIED)) {
+            content.release();
+            return Optional.empty();
+        }
+
+        return Optional.of(new ObjectLease(content, headers));
+    }
+}
@@ -0,0 +1,42 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.model.ObjectListing;
+
+import java.util.function.Consumer;
+
+/**
+ * ObjectListing that passes the next marker to the listener as soon as it is known and the listing is truncated,
+ * which for markers sent by the server happens before any Contents element is parsed. Listener is notified at most
+ * once.
+ */
+public class NextMarkerNotifyingObjectListing extends ObjectListing {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Consumer<String> nextMarkerListener;
+
+    private boolean notified;
+
+    public NextMarkerNotifyingObjectListing(Consumer<String> nextMarkerListener) {
+        this.nextMarkerListener = nextMarkerListener;
+    }
+
+    @Override
+    public void setNextMarker(String nextMarker) {
+        super.setNextMarker(nextMarker);
+        notifyIfKnown();
+    }
+
+    @Override
+    public void setTruncated(boolean isTruncated) {
+        super.setTruncated(isTruncated);
+        notifyIfKnown();
+    }
+
+    private void notifyIfKnown() {
+        if (!notified && isTruncated() && getNextMarker() != null) {
+            notified = true;
+            nextMarkerListener.accept(getNextMarker());
+        }
+    }
+}
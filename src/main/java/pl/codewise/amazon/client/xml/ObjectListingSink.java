@@ -0,0 +1,145 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import pl.codewise.amazon.client.xml.handlers.ListObjectsTagHandler;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Fills given listing with object summaries, decoding only the fields that are not configured to be skipped.
+ */
+class ObjectListingSink implements ListBucketResultSink<ObjectListing> {
+
+    private final ObjectListing listing;
+    private final FilteringObjectListing filteringListing;
+    private final KeyBytes rejectedKey = new KeyBytes();
+
+    private final boolean skipParsingOwner;
+    private final boolean skipParsingETag;
+    private final boolean skipParsingLastModified;
+    private final boolean skipParsingStorageClass;
+    private final boolean lazyLastModified;
+
+    ObjectListingSink(
+            ObjectListing listing,
+            boolean skipParsingOwner,
+            boolean skipParsingETag,
+            boolean skipParsingLastModified,
+            boolean skipParsingStorageClass,
+            boolean lazyLastModified) {
+        this.listing = listing;
+        this.filteringListing = listing instanceof FilteringObjectListing ? (FilteringObjectListing) listing : null;
+        this.skipParsingOwner = skipParsingOwner;
+        this.skipParsingETag = skipParsingETag;
+        this.skipParsingLastModified = skipParsingLastModified;
+        this.skipParsingStorageClass = skipParsingStorageClass;
+        this.lazyLastModified = lazyLastModified;
+    }
+
+    @Override
+    public void onBucketName(String bucketName) {
+        listing.setBucketName(bucketName);
+    }
+
+    @Override
+    public void onPrefix(String prefix) {
+        listing.setPrefix(prefix);
+    }
+
+    @Override
+    public void onMarker(String marker) {
+        listing.setMarker(marker);
+    }
+
+    @Override
+    public void onNextMarker(String nextMarker) {
+        listing.setNextMarker(nextMarker);
+    }
+
+    @Override
+    public void onDelimiter(String delimiter) {
+        listing.setDelimiter(delimiter);
+    }
+
+    @Override
+    public void onMaxKeys(int maxKeys) {
+        listing.setMaxKeys(maxKeys);
+    }
+
+    @Override
+    public void onTruncated(boolean truncated) {
+        listing.setTruncated(truncated);
+    }
+
+    @Override
+    public void onContents(ListBucketResultReader.Contents contents) throws IOException {
+        if (filteringListing != null) {
+            int keyLength = contents.decodeKey();
+            if (!contents.accepts(filteringListing.getFilter(), keyLength)) {
+                rejectedKey.set(contents.getDecodedBytes(), keyLength);
+                return;
+            }
+
+            rejectedKey.clear();
+        }
+
+        if (lazyLastModified) {
+            ListObjectsTagHandler.LAZY_CONTENTS.handleStart(listing, null);
+        } else {
+            ListObjectsTagHandler.CONTENTS.handleStart(listing, null);
+        }
+
+        List<S3ObjectSummary> objectSummaries = listing.getObjectSummaries();
+        S3ObjectSummary summary = objectSummaries.get(objectSummaries.size() - 1);
+
+        summary.setKey(contents.getKey());
+        if (contents.hasSize()) {
+            summary.setSize(contents.getSize());
+        }
+
+        if (!skipParsingETag) {
+            summary.setETag(contents.getETag());
+        }
+
+        if (!skipParsingLastModified && contents.hasLastModified()) {
+            if (lazyLastModified) {
+                ((LazyObjectSummary) summary).setLastModifiedMillis(contents.getLastModifiedMillis());
+            } else {
+                summary.setLastModified(contents.getLastModified());
+            }
+        }
+
+        if (!skipParsingStorageClass) {
+            summary.setStorageClass(contents.getStorageClass());
+        }
+
+        if (!skipParsingOwner) {
+            summary.setOwner(contents.getOwner());
+        }
+
+        if (filteringListing != null) {
+            filteringListing.summaryAccepted(summary);
+        }
+    }
+
+    @Override
+    public void onCommonPrefix(String prefix) {
+        listing.getCommonPrefixes().add(prefix);
+    }
+
+    @Override
+    public void onEnd() {
+        if (rejectedKey.isSet()) {
+            filteringListing.keySeen(rejectedKey.toString());
+        }
+
+        ListObjectsTagHandler.LIST_BUCKET_RESULT.handleEnd(listing, null);
+    }
+
+    @Override
+    public ObjectListing getResult() {
+        return ListResponseParser.completed(listing);
+    }
+}
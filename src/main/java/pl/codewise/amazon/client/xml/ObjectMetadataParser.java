@@ -0,0 +1,66 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.ReferenceCountUtil;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads object metadata from headers of HEAD or GET response. User metadata is stored without its x-amz-meta- prefix,
+ * other headers as they were received, except for the ETag which is stored without quotes.
+ */
+public class ObjectMetadataParser extends GenericResponseParser<ObjectMetadata> {
+
+    private static final ObjectMetadataParser INSTANCE = new ObjectMetadataParser();
+
+    public static ObjectMetadataParser getInstance() {
+        return INSTANCE;
+    }
+
+    private ObjectMetadataParser() {
+        super(null, null);
+    }
+
+    @Override
+    public ObjectMetadata parse(HttpResponseStatus status, HttpHeaders headers, ByteBuf content) {
+        ReferenceCountUtil.release(content);
+        return toObjectMetadata(headers);
+    }
+
+    public static ObjectMetadata toObjectMetadata(HttpHeaders headers) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        for (Map.Entry<String, String> header : headers) {
+            String name = header.getKey();
+            String value = header.getValue();
+
+            if (name.regionMatches(true, 0, Headers.S3_USER_METADATA_PREFIX, 0, Headers.S3_USER_METADATA_PREFIX.length())) {
+                metadata.addUserMetadata(name.substring(Headers.S3_USER_METADATA_PREFIX.length()).toLowerCase(Locale.US), value);
+            } else if (name.equalsIgnoreCase(Headers.CONTENT_LENGTH)) {
+                metadata.setContentLength(Long.parseLong(value));
+            } else if (name.equalsIgnoreCase(Headers.ETAG)) {
+                metadata.setHeader(Headers.ETAG, unquoted(value));
+            } else if (name.equalsIgnoreCase(Headers.LAST_MODIFIED)) {
+                metadata.setLastModified(Date.from(ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant()));
+            } else {
+                metadata.setHeader(name, value);
+            }
+        }
+
+        return metadata;
+    }
+
+    private static String unquoted(String value) {
+        if (value.length() >= 2 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+}
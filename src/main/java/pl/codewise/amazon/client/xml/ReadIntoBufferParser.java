@@ -0,0 +1,91 @@
+package pl.codewise.amazon.client.xml;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+import java.util.function.IntFunction;
+
+/**
+ * Reads response body into a buffer obtained for its length. When Content-Length is known chunks are copied into the
+ * buffer as they arrive, otherwise the aggregated body is copied. The buffer is released if the response cannot be
+ * read in full.
+ */
+public class ReadIntoBufferParser extends GenericResponseParser<ByteBuf> {
+
+    private final IntFunction<? extends ByteBuf> targetSupplier;
+
+    public ReadIntoBufferParser(IntFunction<? extends ByteBuf> targetSupplier) {
+        super(null, null);
+        this.targetSupplier = targetSupplier;
+    }
+
+    @Override
+    public ByteBuf parse(HttpResponseStatus status, HttpHeaders headers, ByteBuf content) {
+        try {
+            ByteBuf target = targetSupplier.apply(content.readableBytes());
+            try {
+                return target.writeBytes(content);
+            } catch (RuntimeException e) {
+                target.release();
+                throw e;
+            }
+        } finally {
+            content.release();
+        }
+    }
+
+    @Override
+    public ContentConsumer<ByteBuf> newContentConsumer(HttpResponseStatus status, HttpHeaders headers) {
+        String contentLength = headers.get(HttpHeaders.Names.CONTENT_LENGTH);
+        if (contentLength == null) {
+            return null;
+        }
+
+        long length = Long.parseLong(contentLength);
+        if (length > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        return new TargetConsumer((int) length);
+    }
+
+    private class TargetConsumer implements ContentConsumer<ByteBuf> {
+
+        private ByteBuf target;
+        private RuntimeException failure;
+
+        TargetConsumer(int contentLength) {
+            try {
+                target = targetSupplier.apply(contentLength);
+            } catch (RuntimeException e) {
+                // Reported once the response is complete, so that the connection can be reused
+                failure = e;
+            }
+        }
+
+        @Override
+        public void consume(ByteBuf chunk) {
+            if (failure == null) {
+                target.writeBytes(chunk);
+            }
+        }
+
+        @Override
+        public ByteBuf complete() {
+            if (failure != null) {
+                throw failure;
+            }
+
+            return target;
+        }
+
+        @Override
+        public void discard() {
+            if (target != null) {
+                target.release();
+                target = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import pl.codewise.amazon.client.ObjectSummaryFilter;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * ObjectListing that hands every accepted summary over to the consumer as soon as its Contents element is closed
+ * instead of collecting it. Only the key of the last summary is retained, so that the next marker can still be derived
+ * from it.
+ */
+public class StreamingObjectListing extends FilteringObjectListing {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Consumer<S3ObjectSummary> summaryConsumer;
+
+    public StreamingObjectListing(Consumer<S3ObjectSummary> summaryConsumer) {
+        this(summaryConsumer, ObjectSummaryFilter.ALL);
+    }
+
+    public StreamingObjectListing(Consumer<S3ObjectSummary> summaryConsumer, ObjectSummaryFilter filter) {
+        super(filter);
+        this.summaryConsumer = summaryConsumer;
+    }
+
+    @Override
+    void summaryAccepted(S3ObjectSummary summary) {
+        super.summaryAccepted(summary);
+
+        List<S3ObjectSummary> objectSummaries = getObjectSummaries();
+        objectSummaries.remove(objectSummaries.size() - 1);
+
+        summaryConsumer.accept(summary);
+    }
+}
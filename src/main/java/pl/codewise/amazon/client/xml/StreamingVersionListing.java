@@ -0,0 +1,27 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.model.S3VersionSummary;
+import com.amazonaws.services.s3.model.VersionListing;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * VersionListing that hands every version and delete marker over to the consumer as soon as its element is closed
+ * instead of collecting it.
+ */
+public class StreamingVersionListing extends VersionListing {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Consumer<S3VersionSummary> summaryConsumer;
+
+    public StreamingVersionListing(Consumer<S3VersionSummary> summaryConsumer) {
+        this.summaryConsumer = summaryConsumer;
+    }
+
+    public void summaryParsed() {
+        List<S3VersionSummary> versionSummaries = getVersionSummaries();
+        summaryConsumer.accept(versionSummaries.remove(versionSummaries.size() - 1));
+    }
+}
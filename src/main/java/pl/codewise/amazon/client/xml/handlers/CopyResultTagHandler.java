@@ -0,0 +1,68 @@
+package pl.codewise.amazon.client.xml.handlers;
+
+import org.xmlpull.v1.XmlPullParser;
+import pl.codewise.amazon.client.xml.ContextStack;
+import pl.codewise.amazon.client.xml.CopyResultBuilder;
+import pl.codewise.amazon.client.xml.DateTimeParser;
+
+public enum CopyResultTagHandler implements TagHandler<CopyResultBuilder> {
+
+    ETAG("ETag") {
+        @Override
+        public void handleText(CopyResultBuilder result, XmlPullParser parser, ContextStack handlerStack) {
+            result.setETag(parser.getText());
+        }
+    }, LAST_MODIFIED("LastModified") {
+        private final DateTimeParser dateTimeParser = new DateTimeParser();
+
+        @Override
+        public void handleText(CopyResultBuilder result, XmlPullParser parser, ContextStack handlerStack) {
+            result.setLastModified(dateTimeParser.parse(parser.getText()));
+        }
+    }, UPLOAD_ID("UploadId") {
+        @Override
+        public void handleText(CopyResultBuilder result, XmlPullParser parser, ContextStack handlerStack) {
+            result.setUploadId(parser.getText());
+        }
+    }, ERROR("Error") {
+        @Override
+        public void handleStart(CopyResultBuilder result, XmlPullParser parser) {
+            result.failed();
+        }
+    }, CODE("Code") {
+        @Override
+        public void handleText(CopyResultBuilder result, XmlPullParser parser, ContextStack handlerStack) {
+            result.failed().setErrorCode(parser.getText());
+        }
+    }, MESSAGE("Message") {
+        @Override
+        public void handleText(CopyResultBuilder result, XmlPullParser parser, ContextStack handlerStack) {
+            result.failed().setMessage(parser.getText());
+        }
+    }, REQUEST_ID("RequestId") {
+        @Override
+        public void handleText(CopyResultBuilder result, XmlPullParser parser, ContextStack handlerStack) {
+            result.failed().setRequestId(parser.getText());
+        }
+    }, UNKNOWN("Unknown");
+
+    private String tagName;
+
+    CopyResultTagHandler(String tagName) {
+        this.tagName = tagName;
+    }
+
+    @Override
+    public String getTagName() {
+        return tagName;
+    }
+
+    public void handleText(CopyResultBuilder result, XmlPullParser parser, ContextStack handlerStack) {
+    }
+
+    public void handleStart(CopyResultBuilder result, XmlPullParser parser) {
+    }
+
+    public void handleEnd(CopyResultBuilder result, XmlPullParser parser) {
+    }
+}
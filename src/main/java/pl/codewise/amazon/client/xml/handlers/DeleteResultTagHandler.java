@@ -0,0 +1,95 @@
+package pl.codewise.amazon.client.xml.handlers;
+
+import java.util.List;
+
+import com.amazonaws.services.s3.model.DeleteObjectsResult.DeletedObject;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException.DeleteError;
+import javolution.text.CharArray;
+import javolution.text.TypeFormat;
+import org.xmlpull.v1.XmlPullParser;
+import pl.codewise.amazon.client.BulkDeleteResult;
+import pl.codewise.amazon.client.xml.ContextStack;
+
+public enum DeleteResultTagHandler implements TagHandler<BulkDeleteResult> {
+
+    DELETED("Deleted") {
+        @Override
+        public void handleStart(BulkDeleteResult result, XmlPullParser parser) {
+            result.getDeletedObjects().add(new DeletedObject());
+        }
+    }, ERROR("Error") {
+        @Override
+        public void handleStart(BulkDeleteResult result, XmlPullParser parser) {
+            result.getErrors().add(new DeleteError());
+        }
+    }, KEY("Key") {
+        @Override
+        public void handleText(BulkDeleteResult result, XmlPullParser parser, ContextStack handlerStack) {
+            if (handlerStack.topMinusOne() == DELETED) {
+                lastDeletedObject(result).setKey(parser.getText());
+            } else {
+                lastError(result).setKey(parser.getText());
+            }
+        }
+    }, VERSION_ID("VersionId") {
+        @Override
+        public void handleText(BulkDeleteResult result, XmlPullParser parser, ContextStack handlerStack) {
+            if (handlerStack.topMinusOne() == DELETED) {
+                lastDeletedObject(result).setVersionId(parser.getText());
+            } else {
+                lastError(result).setVersionId(parser.getText());
+            }
+        }
+    }, DELETE_MARKER("DeleteMarker") {
+        @Override
+        public void handleText(BulkDeleteResult result, XmlPullParser parser, ContextStack handlerStack) {
+            CharArray text = handlerStack.getTextCharacters(parser);
+            lastDeletedObject(result).setDeleteMarker(TypeFormat.parseBoolean(text, handlerStack.getCursor()));
+        }
+    }, DELETE_MARKER_VERSION_ID("DeleteMarkerVersionId") {
+        @Override
+        public void handleText(BulkDeleteResult result, XmlPullParser parser, ContextStack handlerStack) {
+            lastDeletedObject(result).setDeleteMarkerVersionId(parser.getText());
+        }
+    }, CODE("Code") {
+        @Override
+        public void handleText(BulkDeleteResult result, XmlPullParser parser, ContextStack handlerStack) {
+            lastError(result).setCode(parser.getText());
+        }
+    }, MESSAGE("Message") {
+        @Override
+        public void handleText(BulkDeleteResult result, XmlPullParser parser, ContextStack handlerStack) {
+            lastError(result).setMessage(parser.getText());
+        }
+    }, UNKNOWN("Unknown");
+
+    private String tagName;
+
+    DeleteResultTagHandler(String tagName) {
+        this.tagName = tagName;
+    }
+
+    @Override
+    public String getTagName() {
+        return tagName;
+    }
+
+    public void handleText(BulkDeleteResult result, XmlPullParser parser, ContextStack handlerStack) {
+    }
+
+    public void handleStart(BulkDeleteResult result, XmlPullParser parser) {
+    }
+
+    public void handleEnd(BulkDeleteResult result, XmlPullParser parser) {
+    }
+
+    private static DeletedObject lastDeletedObject(BulkDeleteResult result) {
+        List<DeletedObject> deletedObjects = result.getDeletedObjects();
+        return deletedObjects.get(deletedObjects.size() - 1);
+    }
+
+    private static DeleteError lastError(BulkDeleteResult result) {
+        List<DeleteError> errors = result.getErrors();
+        return errors.get(errors.size() - 1);
+    }
+}
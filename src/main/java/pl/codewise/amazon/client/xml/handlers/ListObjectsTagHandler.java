@@ -11,12 +11,27 @@ import javolution.text.TypeFormat;
 import org.xmlpull.v1.XmlPullParser;
 import pl.codewise.amazon.client.xml.ContextStack;
 import pl.codewise.amazon.client.xml.DateTimeParser;
+import pl.codewise.amazon.client.xml.FilteringObjectListing;
+import pl.codewise.amazon.client.xml.LazyObjectSummary;
 
 public enum ListObjectsTagHandler implements TagHandler<ObjectListing> {
 
     LIST_BUCKET_RESULT("ListBucketResult") {
         @Override
         public void handleEnd(ObjectListing objectListing, XmlPullParser parser) {
+            if (objectListing.getNextMarker() != null) {
+                // Sent by the server when delimiter is used, it may point past common prefixes following the last key
+                return;
+            }
+
+            if (objectListing instanceof FilteringObjectListing) {
+                String lastKey = ((FilteringObjectListing) objectListing).getLastKey();
+                if (lastKey != null) {
+                    objectListing.setNextMarker(lastKey);
+                }
+                return;
+            }
+
             List<S3ObjectSummary> objectSummaries = objectListing.getObjectSummaries();
             if (objectSummaries.size() > 0) {
                 S3ObjectSummary summary = objectSummaries.get(objectSummaries.size() - 1);
@@ -64,8 +79,12 @@ public enum ListObjectsTagHandler implements TagHandler<ObjectListing> {
             S3ObjectSummary summary = objectSummaries.get(objectSummaries.size() - 1);
 
             CharArray text = handlerStack.getTextCharacters(parser);
-            Date lastModified = dateTimeParser.parse(text, handlerStack.getCursor(), handlerStack.getCalendar());
-            summary.setLastModified(lastModified);
+            long lastModified = dateTimeParser.parseMillis(text);
+            if (summary instanceof LazyObjectSummary) {
+                ((LazyObjectSummary) summary).setLastModifiedMillis(lastModified);
+            } else {
+                summary.setLastModified(new Date(lastModified));
+            }
         }
     }, STORAGE_CLASS("StorageClass") {
         @Override
@@ -109,6 +128,26 @@ public enum ListObjectsTagHandler implements TagHandler<ObjectListing> {
 
             objectListing.getObjectSummaries().add(summary);
         }
+
+        @Override
+        public void handleEnd(ObjectListing objectListing, XmlPullParser parser) {
+            if (objectListing instanceof FilteringObjectListing) {
+                ((FilteringObjectListing) objectListing).summaryParsed();
+            }
+        }
+    }, LAZY_CONTENTS("Contents") {
+        @Override
+        public void handleStart(ObjectListing objectListing, XmlPullParser parser) {
+            S3ObjectSummary summary = new LazyObjectSummary();
+            summary.setBucketName(objectListing.getBucketName());
+
+            objectListing.getObjectSummaries().add(summary);
+        }
+
+        @Override
+        public void handleEnd(ObjectListing objectListing, XmlPullParser parser) {
+            CONTENTS.handleEnd(objectListing, parser);
+        }
     }, NAME("Name") {
         @Override
         public void handleText(ObjectListing objectListing, XmlPullParser parser, ContextStack handlerStack) {
@@ -0,0 +1,165 @@
+package pl.codewise.amazon.client.xml.handlers;
+
+import java.util.Date;
+import java.util.List;
+
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.Owner;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import javolution.text.CharArray;
+import javolution.text.TypeFormat;
+import org.xmlpull.v1.XmlPullParser;
+import pl.codewise.amazon.client.xml.ContextStack;
+import pl.codewise.amazon.client.xml.DateTimeParser;
+import pl.codewise.amazon.client.xml.LazyObjectSummary;
+
+public enum ListObjectsV2TagHandler implements TagHandler<ListObjectsV2Result> {
+
+    IS_TRUNCATED("IsTruncated") {
+        @Override
+        public void handleText(ListObjectsV2Result result, XmlPullParser parser, ContextStack handlerStack) {
+            CharArray text = handlerStack.getTextCharacters(parser);
+            result.setTruncated(TypeFormat.parseBoolean(text, handlerStack.getCursor()));
+        }
+    }, KEY("Key") {
+        @Override
+        public void handleText(ListObjectsV2Result result, XmlPullParser parser, ContextStack handlerStack) {
+            lastSummary(result).setKey(parser.getText());
+        }
+    }, ETAG("ETag") {
+        @Override
+        public void handleText(ListObjectsV2Result result, XmlPullParser parser, ContextStack handlerStack) {
+            lastSummary(result).setETag(parser.getText());
+        }
+    }, SIZE("Size") {
+        @Override
+        public void handleText(ListObjectsV2Result result, XmlPullParser parser, ContextStack handlerStack) {
+            CharArray textCharacters = handlerStack.getTextCharacters(parser);
+            lastSummary(result).setSize(TypeFormat.parseLong(textCharacters, handlerStack.getCursor()));
+        }
+    }, LAST_MODIFIED("LastModified") {
+
+        private final DateTimeParser dateTimeParser = new DateTimeParser();
+
+        @Override
+        public void handleText(ListObjectsV2Result result, XmlPullParser parser, ContextStack handlerStack) {
+            S3ObjectSummary summary = lastSummary(result);
+
+            CharArray text = handlerStack.getTextCharacters(parser);
+            long lastModified = dateTimeParser.parseMillis(text);
+            if (summary instanceof LazyObjectSummary) {
+                ((LazyObjectSummary) summary).setLastModifiedMillis(lastModified);
+            } else {
+                summary.setLastModified(new Date(lastModified));
+            }
+        }
+    }, STORAGE_CLASS("StorageClass") {
+        @Override
+        public void handleText(ListObjectsV2Result result, XmlPullParser parser, ContextStack handlerStack) {
+            lastSummary(result).setStorageClass(parser.getText());
+        }
+    }, OWNER("Owner") {
+        @Override
+        public void handleStart(ListObjectsV2Result result, XmlPullParser parser) {
+            lastSummary(result).setOwner(new Owner());
+        }
+    }, ID("ID") {
+        @Override
+        public void handleText(ListObjectsV2Result result, XmlPullParser parser, ContextStack handlerStack) {
+            lastSummary(result).getOwner().setId(parser.getText());
+        }
+    }, DISPLAY_NAME("DisplayName") {
+        @Override
+        public void handleText(ListObjectsV2Result result, XmlPullParser parser, ContextStack handlerStack) {
+            lastSummary(result).getOwner().setDisplayName(parser.getText());
+        }
+    }, CONTENTS("Contents") {
+        @Override
+        public void handleStart(ListObjectsV2Result result, XmlPullParser parser) {
+            S3ObjectSummary summary = new S3ObjectSummary();
+            summary.setBucketName(result.getBucketName());
+
+            result.getObjectSummaries().add(summary);
+        }
+    }, LAZY_CONTENTS("Contents") {
+        @Override
+        public void handleStart(ListObjectsV2Result result, XmlPullParser parser) {
+            S3ObjectSummary summary = new LazyObjectSummary();
+            summary.setBucketName(result.getBucketName());
+
+            result.getObjectSummaries().add(summary);
+        }
+    }, NAME("Name") {
+        @Override
+        public void handleText(ListObjectsV2Result result, XmlPullParser parser, ContextStack handlerStack) {
+            result.setBucketName(parser.getText());
+        }
+    }, PREFIX("Prefix") {
+        @Override
+        public void handleText(ListObjectsV2Result result, XmlPullParser parser, ContextStack handlerStack) {
+            if (handlerStack.topMinusOne() == COMMON_PREFIXES) {
+                result.getCommonPrefixes().add(parser.getText());
+            } else {
+                result.setPrefix(parser.getText());
+            }
+        }
+    }, MAX_KEYS("MaxKeys") {
+        @Override
+        public void handleText(ListObjectsV2Result result, XmlPullParser parser, ContextStack handlerStack) {
+            CharArray textCharacters = handlerStack.getTextCharacters(parser);
+            result.setMaxKeys(TypeFormat.parseInt(textCharacters, handlerStack.getCursor()));
+        }
+    }, KEY_COUNT("KeyCount") {
+        @Override
+        public void handleText(ListObjectsV2Result result, XmlPullParser parser, ContextStack handlerStack) {
+            CharArray textCharacters = handlerStack.getTextCharacters(parser);
+            result.setKeyCount(TypeFormat.parseInt(textCharacters, handlerStack.getCursor()));
+        }
+    }, DELIMITER("Delimiter") {
+        @Override
+        public void handleText(ListObjectsV2Result result, XmlPullParser parser, ContextStack handlerStack) {
+            result.setDelimiter(parser.getText());
+        }
+    }, CONTINUATION_TOKEN("ContinuationToken") {
+        @Override
+        public void handleText(ListObjectsV2Result result, XmlPullParser parser, ContextStack handlerStack) {
+            result.setContinuationToken(parser.getText());
+        }
+    }, NEXT_CONTINUATION_TOKEN("NextContinuationToken") {
+        @Override
+        public void handleText(ListObjectsV2Result result, XmlPullParser parser, ContextStack handlerStack) {
+            result.setNextContinuationToken(parser.getText());
+        }
+    }, START_AFTER("StartAfter") {
+        @Override
+        public void handleText(ListObjectsV2Result result, XmlPullParser parser, ContextStack handlerStack) {
+            result.setStartAfter(parser.getText());
+        }
+    }, COMMON_PREFIXES("CommonPrefixes") {
+    }, UNKNOWN("Unknown");
+
+    private String tagName;
+
+    ListObjectsV2TagHandler(String tagName) {
+        this.tagName = tagName;
+    }
+
+    @Override
+    public String getTagName() {
+        return tagName;
+    }
+
+    public void handleText(ListObjectsV2Result result, XmlPullParser parser, ContextStack handlerStack) {
+    }
+
+    public void handleStart(ListObjectsV2Result result, XmlPullParser parser) {
+    }
+
+    public void handleEnd(ListObjectsV2Result result, XmlPullParser parser) {
+    }
+
+    private static S3ObjectSummary lastSummary(ListObjectsV2Result result) {
+        List<S3ObjectSummary> objectSummaries = result.getObjectSummaries();
+        return objectSummaries.get(objectSummaries.size() - 1);
+    }
+}
@@ -0,0 +1,180 @@
+package pl.codewise.amazon.client.xml.handlers;
+
+import java.util.List;
+
+import com.amazonaws.services.s3.model.Owner;
+import com.amazonaws.services.s3.model.S3VersionSummary;
+import com.amazonaws.services.s3.model.VersionListing;
+import javolution.text.CharArray;
+import javolution.text.TypeFormat;
+import org.xmlpull.v1.XmlPullParser;
+import pl.codewise.amazon.client.xml.ContextStack;
+import pl.codewise.amazon.client.xml.DateTimeParser;
+import pl.codewise.amazon.client.xml.StreamingVersionListing;
+
+public enum ListVersionsTagHandler implements TagHandler<VersionListing> {
+
+    IS_TRUNCATED("IsTruncated") {
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            CharArray text = handlerStack.getTextCharacters(parser);
+            versionListing.setTruncated(TypeFormat.parseBoolean(text, handlerStack.getCursor()));
+        }
+    }, VERSION("Version") {
+        @Override
+        public void handleStart(VersionListing versionListing, XmlPullParser parser) {
+            S3VersionSummary summary = new S3VersionSummary();
+            summary.setBucketName(versionListing.getBucketName());
+
+            versionListing.getVersionSummaries().add(summary);
+        }
+
+        @Override
+        public void handleEnd(VersionListing versionListing, XmlPullParser parser) {
+            if (versionListing instanceof StreamingVersionListing) {
+                ((StreamingVersionListing) versionListing).summaryParsed();
+            }
+        }
+    }, DELETE_MARKER("DeleteMarker") {
+        @Override
+        public void handleStart(VersionListing versionListing, XmlPullParser parser) {
+            S3VersionSummary summary = new S3VersionSummary();
+            summary.setBucketName(versionListing.getBucketName());
+            summary.setIsDeleteMarker(true);
+
+            versionListing.getVersionSummaries().add(summary);
+        }
+
+        @Override
+        public void handleEnd(VersionListing versionListing, XmlPullParser parser) {
+            VERSION.handleEnd(versionListing, parser);
+        }
+    }, KEY("Key") {
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            lastSummary(versionListing).setKey(parser.getText());
+        }
+    }, VERSION_ID("VersionId") {
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            lastSummary(versionListing).setVersionId(parser.getText());
+        }
+    }, IS_LATEST("IsLatest") {
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            CharArray text = handlerStack.getTextCharacters(parser);
+            lastSummary(versionListing).setIsLatest(TypeFormat.parseBoolean(text, handlerStack.getCursor()));
+        }
+    }, ETAG("ETag") {
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            lastSummary(versionListing).setETag(parser.getText());
+        }
+    }, SIZE("Size") {
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            CharArray textCharacters = handlerStack.getTextCharacters(parser);
+            lastSummary(versionListing).setSize(TypeFormat.parseLong(textCharacters, handlerStack.getCursor()));
+        }
+    }, LAST_MODIFIED("LastModified") {
+
+        private final DateTimeParser dateTimeParser = new DateTimeParser();
+
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            CharArray text = handlerStack.getTextCharacters(parser);
+            lastSummary(versionListing).setLastModified(dateTimeParser.parse(text));
+        }
+    }, STORAGE_CLASS("StorageClass") {
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            lastSummary(versionListing).setStorageClass(parser.getText());
+        }
+    }, OWNER("Owner") {
+        @Override
+        public void handleStart(VersionListing versionListing, XmlPullParser parser) {
+            lastSummary(versionListing).setOwner(new Owner());
+        }
+    }, ID("ID") {
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            lastSummary(versionListing).getOwner().setId(parser.getText());
+        }
+    }, DISPLAY_NAME("DisplayName") {
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            lastSummary(versionListing).getOwner().setDisplayName(parser.getText());
+        }
+    }, NAME("Name") {
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            versionListing.setBucketName(parser.getText());
+        }
+    }, PREFIX("Prefix") {
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            if (handlerStack.topMinusOne() == COMMON_PREFIXES) {
+                versionListing.getCommonPrefixes().add(parser.getText());
+            } else {
+                versionListing.setPrefix(parser.getText());
+            }
+        }
+    }, MAX_KEYS("MaxKeys") {
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            CharArray textCharacters = handlerStack.getTextCharacters(parser);
+            versionListing.setMaxKeys(TypeFormat.parseInt(textCharacters, handlerStack.getCursor()));
+        }
+    }, DELIMITER("Delimiter") {
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            versionListing.setDelimiter(parser.getText());
+        }
+    }, KEY_MARKER("KeyMarker") {
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            versionListing.setKeyMarker(parser.getText());
+        }
+    }, VERSION_ID_MARKER("VersionIdMarker") {
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            versionListing.setVersionIdMarker(parser.getText());
+        }
+    }, NEXT_KEY_MARKER("NextKeyMarker") {
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            versionListing.setNextKeyMarker(parser.getText());
+        }
+    }, NEXT_VERSION_ID_MARKER("NextVersionIdMarker") {
+        @Override
+        public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+            versionListing.setNextVersionIdMarker(parser.getText());
+        }
+    }, COMMON_PREFIXES("CommonPrefixes") {
+    }, UNKNOWN("Unknown");
+
+    private String tagName;
+
+    ListVersionsTagHandler(String tagName) {
+        this.tagName = tagName;
+    }
+
+    @Override
+    public String getTagName() {
+        return tagName;
+    }
+
+    public void handleText(VersionListing versionListing, XmlPullParser parser, ContextStack handlerStack) {
+    }
+
+    public void handleStart(VersionListing versionListing, XmlPullParser parser) {
+    }
+
+    public void handleEnd(VersionListing versionListing, XmlPullParser parser) {
+    }
+
+    private static S3VersionSummary lastSummary(VersionListing versionListing) {
+        List<S3VersionSummary> versionSummaries = versionListing.getVersionSummaries();
+        return versionSummaries.get(versionSummaries.size() - 1);
+    }
+}
@@ -0,0 +1,185 @@
+package pl.codewise.amazon.client;
+
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.CopyObjectResult;
+import com.amazonaws.services.s3.model.DeleteObjectsResult.DeletedObject;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.reactivex.schedulers.Schedulers;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.head;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends requests with bodies through the whole client to a fake S3 that fails the first attempt of each of them.
+ */
+public class AsyncS3ClientRequestBodyTest {
+
+    private static final String INTERNAL_ERROR = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<Error><Code>InternalError</Code><Message>We encountered an internal error. Please try again.</Message></Error>";
+
+    private final WireMockServer wireMockServer = new WireMockServer(options().dynamicPort());
+
+    private AsyncS3Client client;
+
+    @BeforeClass
+    public void startServer() {
+        wireMockServer.start();
+    }
+
+    @AfterClass
+    public void stopServer() {
+        wireMockServer.stop();
+    }
+
+    @BeforeMethod
+    public void setUp() {
+        wireMockServer.resetAll();
+
+        ClientConfiguration configuration = ClientConfiguration
+                .builder()
+                .connectTo("localhost:" + wireMockServer.port())
+                .useCredentials(new BasicAWSCredentials("access-key", "secret-key"))
+                .build();
+
+        client = new AsyncS3Client(
+                configuration,
+                GenericS3RetryTransformer.forRetries(1, Schedulers.computation()),
+                HttpClientFactory.defaultFactory().getHttpClient(configuration));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        client.close();
+    }
+
+    @Test
+    public void shouldSendWholeBulkDeleteBodyAgainWhenRetried() {
+        // Given
+        stubFailingOnce(post(urlEqualTo("/?delete")), aResponse()
+                .withStatus(200)
+                .withBody("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                        + "<DeleteResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">"
+                        + "<Deleted><Key>first</Key></Deleted>"
+                        + "<Deleted><Key>second</Key></Deleted>"
+                        + "</DeleteResult>"));
+
+        // When
+        BulkDeleteResult result = client.deleteObjects("bucket", Arrays.asList("first", "second")).blockingGet();
+
+        // Then
+        assertThat(result.hasErrors()).isFalse();
+        assertThat(result.getDeletedObjects().stream().map(DeletedObject::getKey).collect(Collectors.toList()))
+                .containsExactly("first", "second");
+
+        List<LoggedRequest> requests = wireMockServer.findAll(anyRequestedFor(anyUrl()));
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).getBodyAsString())
+                .contains("<Key>first</Key>", "<Key>second</Key>")
+                .isEqualTo(requests.get(1).getBodyAsString());
+    }
+
+    @Test
+    public void shouldSendWholePutBodyAgainWhenRetriedAndLeaveItToCaller() {
+        // Given
+        stubFailingOnce(put(urlEqualTo("/key")), aResponse().withStatus(200));
+
+        byte[] content = "object content".getBytes(StandardCharsets.UTF_8);
+        ByteBuf data = Unpooled.wrappedBuffer(content);
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(content.length);
+        metadata.setContentType("text/plain");
+        metadata.setContentMD5(Base64.encodeBase64String(DigestUtils.md5(content)));
+
+        // When
+        client.putObject("bucket", "key", data, metadata).blockingGet();
+
+        // Then
+        assertThat(data.refCnt()).isEqualTo(1);
+
+        List<LoggedRequest> requests = wireMockServer.findAll(anyRequestedFor(anyUrl()));
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).getBodyAsString()).isEqualTo("object content");
+        assertThat(requests.get(1).getBodyAsString()).isEqualTo("object content");
+    }
+
+    @Test
+    public void shouldSendWholeCompleteMultipartUploadBodyAgainWhenRetried() {
+        // Given
+        wireMockServer.stubFor(head(urlEqualTo("/source"))
+                .willReturn(aResponse().withStatus(200).withHeader("Content-Length", "12")));
+        wireMockServer.stubFor(post(urlEqualTo("/destination?uploads"))
+                .willReturn(aResponse().withStatus(200).withBody("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                        + "<InitiateMultipartUploadResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">"
+                        + "<Bucket>bucket</Bucket><Key>destination</Key><UploadId>upload/1</UploadId>"
+                        + "</InitiateMultipartUploadResult>")));
+        for (int partNumber = 1; partNumber <= 2; partNumber++) {
+            wireMockServer.stubFor(put(urlEqualTo("/destination?partNumber=" + partNumber + "&uploadId=upload%2F1"))
+                    .willReturn(aResponse().withStatus(200).withBody("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                            + "<CopyPartResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">"
+                            + "<LastModified>2014-12-20T23:02:11.123Z</LastModified>"
+                            + "<ETag>&quot;part-" + partNumber + "&quot;</ETag>"
+                            + "</CopyPartResult>")));
+        }
+        stubFailingOnce(post(urlEqualTo("/destination?uploadId=upload%2F1")), aResponse()
+                .withStatus(200)
+                .withBody("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                        + "<CompleteMultipartUploadResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">"
+                        + "<Bucket>bucket</Bucket><Key>destination</Key><ETag>&quot;upload-2&quot;</ETag>"
+                        + "</CompleteMultipartUploadResult>"));
+
+        // When
+        CopyObjectResult result = client
+                .copyObject(new CopyObjectRequest("bucket", "source", "bucket", "destination"), 10, 6, 2)
+                .blockingGet();
+
+        // Then
+        assertThat(result.getETag()).isEqualTo("\"upload-2\"");
+
+        List<LoggedRequest> requests = wireMockServer.findAll(postRequestedFor(urlEqualTo("/destination?uploadId=upload%2F1")));
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).getBodyAsString())
+                .contains("<PartNumber>1</PartNumber><ETag>part-1</ETag>", "<PartNumber>2</PartNumber><ETag>part-2</ETag>")
+                .isEqualTo(requests.get(1).getBodyAsString());
+    }
+
+    private void stubFailingOnce(MappingBuilder request, ResponseDefinitionBuilder response) {
+        wireMockServer.stubFor(request
+                .inScenario("failing once")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(500).withBody(INTERNAL_ERROR))
+                .willSetStateTo("failed"));
+
+        wireMockServer.stubFor(request
+                .inScenario("failing once")
+                .whenScenarioStateIs("failed")
+                .willReturn(response));
+    }
+}
@@ -25,6 +25,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
@@ -407,6 +408,88 @@ public class AsyncS3ClientTest {
                 .isNotTruncated();
     }
 
+    @Test
+    public void shouldStreamObjectSummariesAcrossPages() {
+        // Given
+        ListObjectsRequest request = new ListObjectsRequest();
+        request.setBucketName(bucketName);
+        request.setPrefix("COUNTRY_BY_DATE/2014/");
+        request.setMaxKeys(1);
+
+        List<String> expectedKeys = new ArrayList<>();
+        ObjectListing amazonListing = amazonS3Client.listObjects(request);
+        amazonListing.getObjectSummaries().forEach(summary -> expectedKeys.add(summary.getKey()));
+        while (amazonListing.isTruncated()) {
+            amazonListing = amazonS3Client.listNextBatchOfObjects(amazonListing);
+            amazonListing.getObjectSummaries().forEach(summary -> expectedKeys.add(summary.getKey()));
+        }
+
+        // When
+        List<String> actualKeys = client.listObjectsStream(request)
+                .map(S3ObjectSummary::getKey)
+                .toList()
+                .blockingGet();
+
+        // Then
+        assertThat(actualKeys).isEqualTo(expectedKeys);
+    }
+
+    @Test
+    public void shouldListShardsInKeyOrder() {
+        // Given
+        ListObjectsRequest request = new ListObjectsRequest();
+        request.setBucketName(bucketName);
+        request.setPrefix("COUNTRY_BY_DATE/2014/");
+        request.setMaxKeys(1);
+        List<String> splitPoints = Arrays.asList("COUNTRY_BY_DATE/2014/05/PL", "COUNTRY_BY_DATE/2014/06/");
+
+        // When
+        List<String> actualKeys = client.listObjectsSharded(request, splitPoints, 3, true)
+                .map(S3ObjectSummary::getKey)
+                .toList()
+                .blockingGet();
+
+        // Then
+        assertThat(actualKeys).containsExactly(
+                "COUNTRY_BY_DATE/2014/05/PL",
+                "COUNTRY_BY_DATE/2014/05/US",
+                "COUNTRY_BY_DATE/2014/06/CZ",
+                "COUNTRY_BY_DATE/2014/07/UK");
+    }
+
+    @Test
+    public void shouldSampleSplitPointsFromExistingKeys() {
+        // Given
+        ListObjectsRequest request = new ListObjectsRequest();
+        request.setBucketName(bucketName);
+        request.setPrefix("COUNTRY_BY_DATE/2014/0");
+
+        // When
+        List<String> splitPoints = client.sampleSplitPoints(request, "567", 4).blockingGet();
+
+        // Then
+        assertThat(splitPoints).containsExactly(
+                "COUNTRY_BY_DATE/2014/05/PL",
+                "COUNTRY_BY_DATE/2014/06/CZ",
+                "COUNTRY_BY_DATE/2014/07/UK");
+    }
+
+    @Test
+    public void shouldWalkAllPrefixesOfTree() {
+        // When
+        List<String> actualKeys = client.walkTree(bucketName, "COUNTRY_BY_DATE/", "/", 2)
+                .map(S3ObjectSummary::getKey)
+                .toList()
+                .blockingGet();
+
+        // Then
+        assertThat(actualKeys).containsOnly(
+                "COUNTRY_BY_DATE/2014/05/PL",
+                "COUNTRY_BY_DATE/2014/05/US",
+                "COUNTRY_BY_DATE/2014/06/CZ",
+                "COUNTRY_BY_DATE/2014/07/UK");
+    }
+
     @Test
     public void shouldPutObject() throws IOException {
         // Given
@@ -0,0 +1,41 @@
+package pl.codewise.amazon.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkDeleteRequestBodyTest {
+
+    @Test
+    public void shouldWriteEscapedKeys() {
+        // When
+        ByteBuf body = BulkDeleteRequestBody.write(UnpooledByteBufAllocator.DEFAULT, Arrays.asList("a&b<\u0142>", "plain"));
+
+        // Then
+        assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<Delete><Quiet>false</Quiet>"
+                + "<Object><Key>a&amp;b&lt;\u0142&gt;</Key></Object>"
+                + "<Object><Key>plain</Key></Object>"
+                + "</Delete>");
+    }
+
+    @Test
+    public void shouldComputeContentMd5OfBody() {
+        // Given
+        ByteBuf body = BulkDeleteRequestBody.write(UnpooledByteBufAllocator.DEFAULT, Arrays.asList("key"));
+        byte[] bytes = body.toString(StandardCharsets.UTF_8).getBytes(StandardCharsets.UTF_8);
+
+        // When
+        String md5 = BulkDeleteRequestBody.md5(body);
+
+        // Then
+        assertThat(md5).isEqualTo(Base64.encodeBase64String(DigestUtils.md5(bytes)));
+    }
+}
@@ -0,0 +1,108 @@
+package pl.codewise.amazon.client;
+
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.DeleteObjectsResult.DeletedObject;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException.DeleteError;
+import io.reactivex.Completable;
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeleteBatcherTest {
+
+    private TestScheduler scheduler;
+    private List<List<String>> sentBatches;
+
+    @BeforeMethod
+    public void setUp() {
+        scheduler = new TestScheduler();
+        sentBatches = new ArrayList<>();
+    }
+
+    @Test
+    public void shouldSendKeysTogetherAfterLingerTime() {
+        // Given
+        DeleteBatcher batcher = new DeleteBatcher(this::deleteAllButDenied, 1000, 10, scheduler);
+
+        // When
+        TestObserver<Void> first = delete(batcher, "bucket", "first");
+        TestObserver<Void> second = delete(batcher, "bucket", "second");
+
+        // Then
+        assertThat(sentBatches).isEmpty();
+
+        // When
+        scheduler.advanceTimeBy(10, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertThat(sentBatches).hasSize(1);
+        assertThat(sentBatches.get(0)).containsExactly("first", "second");
+        first.assertComplete();
+        second.assertComplete();
+    }
+
+    @Test
+    public void shouldSendFullBatchRightAway() {
+        // Given
+        DeleteBatcher batcher = new DeleteBatcher(this::deleteAllButDenied, 2, 10, scheduler);
+
+        // When
+        delete(batcher, "bucket", "first");
+        delete(batcher, "bucket", "second");
+        delete(batcher, "bucket", "third");
+
+        // Then
+        assertThat(sentBatches).hasSize(1);
+        assertThat(sentBatches.get(0)).containsExactly("first", "second");
+    }
+
+    @Test
+    public void shouldReportOutcomeOfEveryKey() {
+        // Given
+        DeleteBatcher batcher = new DeleteBatcher(this::deleteAllButDenied, 1000, 10, scheduler);
+
+        // When
+        TestObserver<Void> allowed = delete(batcher, "bucket", "allowed");
+        TestObserver<Void> denied = delete(batcher, "bucket", "denied");
+        TestObserver<Void> otherBucket = delete(batcher, "other-bucket", "allowed");
+        scheduler.advanceTimeBy(10, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertThat(sentBatches).hasSize(2);
+        allowed.assertComplete();
+        otherBucket.assertComplete();
+        denied.assertError(AmazonS3Exception.class);
+    }
+
+    private TestObserver<Void> delete(DeleteBatcher batcher, String bucketName, String key) {
+        return Completable.create(emitter -> batcher.delete(bucketName, key, emitter)).test();
+    }
+
+    private Single<BulkDeleteResult> deleteAllButDenied(String bucketName, List<String> keys) {
+        sentBatches.add(keys);
+
+        BulkDeleteResult result = new BulkDeleteResult();
+        for (String key : keys) {
+            if (key.equals("denied")) {
+                DeleteError error = new DeleteError();
+                error.setKey(key);
+                error.setCode("AccessDenied");
+                result.getErrors().add(error);
+            } else {
+                DeletedObject deletedObject = new DeletedObject();
+                deletedObject.setKey(key);
+                result.getDeletedObjects().add(deletedObject);
+            }
+        }
+
+        return Single.just(result);
+    }
+}
@@ -0,0 +1,111 @@
+package pl.codewise.amazon.client;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExistenceScanTest {
+
+    @Test
+    public void shouldGroupKeysByLongestCommonPrefix() {
+        // Given
+        ExistenceScan scan = new ExistenceScan(Arrays.asList(
+                "logs/b/2", "logs/a/1", "logs/a/2", "logs/a/3", "logs/b/1", "logs/b/3", "other"));
+
+        // When
+        List<ExistenceScan.Group> groups = scan.group(2, 3);
+
+        // Then
+        assertThat(groups).hasSize(2);
+        assertThat(groups.get(0).getPrefix()).isEqualTo("logs/a/");
+        assertThat(groups.get(0).getStartAfter()).isEqualTo("logs/a/");
+        assertThat(groups.get(0).size()).isEqualTo(3);
+        assertThat(groups.get(1).getPrefix()).isEqualTo("logs/b/");
+        assertThat(groups.get(1).size()).isEqualTo(3);
+        assertThat(scan.unlisted()).containsExactly("other");
+    }
+
+    @Test
+    public void shouldKeepKeysInOneGroupUpToMaxSize() {
+        // Given
+        ExistenceScan scan = new ExistenceScan(Arrays.asList("a/1", "a/2", "b/1", "b/2"));
+
+        // When
+        List<ExistenceScan.Group> groups = scan.group(1, 4);
+
+        // Then
+        assertThat(groups).hasSize(1);
+        assertThat(groups.get(0).getPrefix()).isNull();
+        assertThat(groups.get(0).getStartAfter()).isEqualTo("a/");
+    }
+
+    @Test
+    public void shouldAnswerKeysPassedByListing() {
+        // Given
+        ExistenceScan scan = new ExistenceScan(Arrays.asList("k/1", "k/3", "k/5", "k/7"));
+        ExistenceScan.Group group = scan.group(1, 10).get(0);
+
+        // When
+        int answered = group.onListed(page("k/1", "k/2", "k/5", "k/6"), true);
+
+        // Then
+        assertThat(answered).isEqualTo(3);
+        assertThat(group.isAnswered()).isFalse();
+
+        // When
+        answered = group.onListed(page("k/8"), false);
+
+        // Then
+        assertThat(answered).isEqualTo(1);
+        assertThat(group.isAnswered()).isTrue();
+        assertThat(scan.listedMissing()).containsOnly("k/3", "k/7");
+        assertThat(scan.unlisted()).isEmpty();
+    }
+
+    @Test
+    public void shouldLeaveKeysOfAbandonedGroupToHeadRequests() {
+        // Given
+        ExistenceScan scan = new ExistenceScan(Arrays.asList("k/3", "k/1", "k/5", "k/1"));
+        ExistenceScan.Group group = scan.group(1, 10).get(0);
+        group.onListed(page("k/1", "k/2"), true);
+
+        // When
+        group.giveUp();
+        Map<String, Boolean> results = scan.results(Collections.singletonMap("k/5", true));
+
+        // Then
+        assertThat(scan.unlisted()).containsExactly("k/3", "k/5");
+        assertThat(new ArrayList<>(results.keySet())).containsExactly("k/3", "k/1", "k/5");
+        assertThat(results.get("k/1")).isTrue();
+        assertThat(results.get("k/3")).isNull();
+        assertThat(results.get("k/5")).isTrue();
+    }
+
+    @Test
+    public void shouldCompareKeysInListingOrder() {
+        // Given
+        String supplementary = new String(Character.toChars(0x1F600));
+
+        // Then
+        assertThat(ExistenceScan.compareKeys("a", "ab")).isNegative();
+        assertThat(ExistenceScan.compareKeys("a/", "a0")).isNegative();
+        assertThat(ExistenceScan.compareKeys("\uFF01", supplementary)).isNegative();
+    }
+
+    private static List<S3ObjectSummary> page(String... keys) {
+        List<S3ObjectSummary> summaries = new ArrayList<>();
+        for (String key : keys) {
+            S3ObjectSummary summary = new S3ObjectSummary();
+            summary.setKey(key);
+            summaries.add(summary);
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,130 @@
+package pl.codewise.amazon.client;
+
+import com.amazonaws.services.s3.model.ListObjectsRequest;
+import io.reactivex.Single;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.SingleSubject;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ListingCacheTest {
+
+    private TestScheduler scheduler;
+    private AtomicInteger listings;
+
+    @BeforeMethod
+    public void setUp() {
+        scheduler = new TestScheduler();
+        listings = new AtomicInteger();
+    }
+
+    @Test
+    public void shouldServeRepeatedListingUntilItExpires() {
+        // Given
+        ListingCache cache = new ListingCache(1000, 10, scheduler);
+        CompactObjectListing listed = list(cache, request("prefix/", null));
+
+        // When
+        scheduler.advanceTimeBy(999, TimeUnit.MILLISECONDS);
+        CompactObjectListing cached = list(cache, request("prefix/", null));
+
+        // Then
+        assertThat(cached).isSameAs(listed);
+        assertThat(listings.get()).isEqualTo(1);
+
+        // When
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        list(cache, request("prefix/", null));
+
+        // Then
+        assertThat(listings.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldCacheEveryMarkerSeparately() {
+        // Given
+        ListingCache cache = new ListingCache(1000, 10, scheduler);
+
+        // When
+        list(cache, request("prefix/", null));
+        list(cache, request("prefix/", "prefix/a"));
+        list(cache, request("prefix/", "prefix/a"));
+
+        // Then
+        assertThat(listings.get()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldDropPagesCoveringWrittenKey() {
+        // Given
+        ListingCache cache = new ListingCache(1000, 10, scheduler);
+        list(cache, request("prefix/", null));
+        list(cache, request("other/", null));
+        list(cache, request(null, null));
+
+        // When
+        cache.invalidate("bucket", "prefix/key");
+
+        // Then
+        assertThat(cache.size()).isEqualTo(1);
+        list(cache, request("other/", null));
+        assertThat(listings.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldNotKeepPageListedDuringWrite() {
+        // Given
+        ListingCache cache = new ListingCache(1000, 10, scheduler);
+        SingleSubject<CompactObjectListing> response = SingleSubject.create();
+        cache.get(request("prefix/", null), () -> response).test();
+
+        // When
+        cache.invalidate("bucket", "prefix/key");
+        response.onSuccess(listing("prefix/"));
+
+        // Then
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedPage() {
+        // Given
+        ListingCache cache = new ListingCache(1000, 2, scheduler);
+        list(cache, request("first/", null));
+        list(cache, request("second/", null));
+        list(cache, request("first/", null));
+
+        // When
+        list(cache, request("third/", null));
+        list(cache, request("first/", null));
+        list(cache, request("second/", null));
+
+        // Then
+        assertThat(listings.get()).isEqualTo(4);
+    }
+
+    private CompactObjectListing list(ListingCache cache, ListObjectsRequest request) {
+        return cache.get(request, () -> Single.fromCallable(() -> {
+            listings.incrementAndGet();
+            return listing(request.getPrefix());
+        })).blockingGet();
+    }
+
+    private static ListObjectsRequest request(String prefix, String marker) {
+        return new ListObjectsRequest("bucket", prefix, marker, null, 1000);
+    }
+
+    private static CompactObjectListing listing(String prefix) {
+        return CompactObjectListing.builder()
+                .setBucketName("bucket")
+                .setPrefix(prefix)
+                .addObject(prefix + "key", 1, 0)
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package pl.codewise.amazon.client;
+
+import io.reactivex.schedulers.TestScheduler;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MissingKeyCacheTest {
+
+    private TestScheduler scheduler;
+
+    @BeforeMethod
+    public void setUp() {
+        scheduler = new TestScheduler();
+    }
+
+    @Test
+    public void shouldRememberMissingKeyUntilItExpires() {
+        // Given
+        MissingKeyCache cache = new MissingKeyCache(1000, 10, scheduler);
+
+        // When
+        cache.onMissing("bucket", "key", cache.writes());
+        scheduler.advanceTimeBy(999, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertThat(cache.isMissing("bucket", "key")).isTrue();
+        assertThat(cache.isMissing("other-bucket", "key")).isFalse();
+
+        // When
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertThat(cache.isMissing("bucket", "key")).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void shouldForgetWrittenKey() {
+        // Given
+        MissingKeyCache cache = new MissingKeyCache(1000, 10, scheduler);
+        cache.onMissing("bucket", "key", cache.writes());
+
+        // When
+        cache.onWritten("bucket", "key");
+
+        // Then
+        assertThat(cache.isMissing("bucket", "key")).isFalse();
+    }
+
+    @Test
+    public void shouldNotRememberKeyMissingWhileItWasWritten() {
+        // Given
+        MissingKeyCache cache = new MissingKeyCache(1000, 10, scheduler);
+        long writes = cache.writes();
+
+        // When
+        cache.onWritten("bucket", "key");
+        cache.onMissing("bucket", "key", writes);
+
+        // Then
+        assertThat(cache.isMissing("bucket", "key")).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void shouldDropEldestKeysOverLimit() {
+        // Given
+        MissingKeyCache cache = new MissingKeyCache(1000, 2, scheduler);
+
+        // When
+        cache.onMissing("bucket", "first", cache.writes());
+        cache.onMissing("bucket", "second", cache.writes());
+        cache.onMissing("bucket", "first", cache.writes());
+        cache.onMissing("bucket", "third", cache.writes());
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.isMissing("bucket", "second")).isFalse();
+        assertThat(cache.isMissing("bucket", "first")).isTrue();
+        assertThat(cache.isMissing("bucket", "third")).isTrue();
+    }
+}
@@ -0,0 +1,160 @@
+package pl.codewise.amazon.client;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.reactivex.Single;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ObjectReadChannelTest {
+
+    private static final int SIZE = 100;
+
+    private byte[] object;
+    private List<Long> requestedBlocks;
+    private List<ObjectLease> leases;
+
+    @BeforeMethod
+    public void setUp() {
+        object = new byte[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            object[i] = (byte) i;
+        }
+
+        requestedBlocks = new ArrayList<>();
+        leases = new ArrayList<>();
+    }
+
+    @Test
+    public void shouldReadRangeAcrossBlocks() throws IOException {
+        // Given
+        ObjectReadChannel channel = channel(10, 4, 2);
+        ByteBuffer target = ByteBuffer.allocate(15);
+
+        // When
+        channel.position(5);
+        int read = channel.read(target);
+
+        // Then
+        assertThat(read).isEqualTo(15);
+        assertThat(channel.position()).isEqualTo(20);
+        assertThat(target.array()).isEqualTo(Arrays.copyOfRange(object, 5, 20));
+        assertThat(requestedBlocks).containsExactly(0L, 10L);
+    }
+
+    @Test
+    public void shouldReadFooterWithoutReadingWholeObject() throws IOException {
+        // Given
+        ObjectReadChannel channel = channel(10, 4, 2);
+        ByteBuffer footer = ByteBuffer.allocate(8);
+
+        // When
+        channel.position(channel.size() - footer.capacity());
+        channel.read(footer);
+
+        // Then
+        assertThat(footer.array()).isEqualTo(Arrays.copyOfRange(object, 92, 100));
+        assertThat(requestedBlocks).containsExactly(90L);
+        assertThat(channel.read(ByteBuffer.allocate(1))).isEqualTo(-1);
+    }
+
+    @Test
+    public void shouldReadAheadAfterSequentialReads() throws IOException {
+        // Given
+        ObjectReadChannel channel = channel(10, 8, 4);
+
+        // When
+        channel.read(ByteBuffer.allocate(5));
+        channel.read(ByteBuffer.allocate(5));
+
+        // Then
+        assertThat(requestedBlocks).containsExactly(0L);
+
+        // When
+        channel.read(ByteBuffer.allocate(10));
+
+        // Then
+        assertThat(requestedBlocks).containsExactly(0L, 10L, 20L);
+
+        // When
+        channel.read(ByteBuffer.allocate(10));
+
+        // Then
+        assertThat(requestedBlocks).containsExactly(0L, 10L, 20L, 30L, 40L);
+    }
+
+    @Test
+    public void shouldStopReadingAheadAfterSeek() throws IOException {
+        // Given
+        ObjectReadChannel channel = channel(10, 8, 4);
+        channel.read(ByteBuffer.allocate(5));
+        channel.read(ByteBuffer.allocate(5));
+        channel.read(ByteBuffer.allocate(5));
+
+        // When
+        channel.position(70);
+        channel.read(ByteBuffer.allocate(5));
+
+        // Then
+        assertThat(requestedBlocks).containsExactly(0L, 10L, 20L, 70L);
+        assertThat(channel.cachedBlocks()).isEqualTo(4);
+    }
+
+    @Test
+    public void shouldReleaseEvictedBlocksAndCachedBlocksOnClose() throws IOException {
+        // Given
+        ObjectReadChannel channel = channel(10, 2, 1);
+
+        // When
+        for (long position : new long[]{0, 50, 90}) {
+            channel.position(position);
+            channel.read(ByteBuffer.allocate(1));
+        }
+
+        // Then
+        assertThat(channel.cachedBlocks()).isEqualTo(2);
+        assertThat(leases.get(0).refCnt()).isZero();
+        assertThat(leases.get(1).refCnt()).isEqualTo(1);
+
+        // When
+        channel.close();
+
+        // Then
+        for (ObjectLease lease : leases) {
+            assertThat(lease.refCnt()).isZero();
+        }
+    }
+
+    @Test(expectedExceptions = ClosedChannelException.class)
+    public void shouldNotReadFromClosedChannel() throws IOException {
+        // Given
+        ObjectReadChannel channel = channel(10, 2, 1);
+
+        // When
+        channel.close();
+        channel.read(ByteBuffer.allocate(1));
+    }
+
+    private ObjectReadChannel channel(int blockSize, int maxCachedBlocks, int maxReadaheadBlocks) {
+        return new ObjectReadChannel(SIZE, this::readRange, blockSize, maxCachedBlocks, maxReadaheadBlocks);
+    }
+
+    private Single<ObjectLease> readRange(long first, long last) {
+        requestedBlocks.add(first);
+
+        ObjectLease lease = new ObjectLease(
+                Unpooled.copiedBuffer(object, (int) first, (int) (last - first + 1)),
+                new DefaultHttpHeaders());
+        leases.add(lease);
+        return Single.just(lease);
+    }
+}
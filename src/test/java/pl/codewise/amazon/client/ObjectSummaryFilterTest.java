@@ -0,0 +1,51 @@
+package pl.codewise.amazon.client;
+
+import org.testng.annotations.Test;
+import pl.codewise.amazon.client.xml.LazyObjectSummary;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ObjectSummaryFilterTest {
+
+    @Test
+    public void shouldFilterLazySummaryWithoutCreatingItsDate() {
+        // Given
+        LazyObjectSummary summary = new DatelessObjectSummary();
+        summary.setKey("key");
+        summary.setLastModifiedMillis(1419116531123L);
+
+        // When
+        boolean modifiedSince = ObjectSummaryFilter.modifiedSince(new Date(1419116531123L)).accept(summary);
+        boolean modifiedLater = ObjectSummaryFilter.modifiedSince(new Date(1419116531124L)).accept(summary);
+
+        // Then
+        assertThat(modifiedSince).isTrue();
+        assertThat(modifiedLater).isFalse();
+    }
+
+    @Test
+    public void shouldAcceptSummaryWithoutModificationTime() {
+        // Given
+        LazyObjectSummary summary = new LazyObjectSummary();
+        summary.setKey("key");
+
+        // When
+        boolean accepted = ObjectSummaryFilter.modifiedSince(new Date()).accept(summary);
+
+        // Then
+        assertThat(accepted).isTrue();
+        assertThat(summary.getLastModified()).isNull();
+    }
+
+    private static class DatelessObjectSummary extends LazyObjectSummary {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Date getLastModified() {
+            throw new AssertionError("Date should not be created");
+        }
+    }
+}
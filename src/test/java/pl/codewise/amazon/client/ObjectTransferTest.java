@@ -0,0 +1,195 @@
+package pl.codewise.amazon.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.reactivex.Completable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.CompletableSubject;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import pl.codewise.amazon.client.http.StreamingBody;
+import pl.codewise.amazon.client.xml.ContentConsumer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ObjectTransferTest {
+
+    private EmbeddedChannel source;
+    private EmbeddedChannel destination;
+
+    private CompletableSubject upload;
+    private HttpHeaders uploadHeaders;
+    private StreamingBody uploadBody;
+
+    @BeforeMethod
+    public void setUp() {
+        source = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        destination = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+
+        upload = CompletableSubject.create();
+        uploadHeaders = null;
+        uploadBody = null;
+    }
+
+    @Test
+    public void shouldStartUploadWithHeadersOfSource() {
+        // Given
+        HttpHeaders headers = new DefaultHttpHeaders().set(HttpHeaders.Names.CONTENT_LENGTH, 6);
+
+        // When
+        ContentConsumer<Completable> consumer = newParser().newContentConsumer(HttpResponseStatus.OK, headers);
+
+        // Then
+        assertThat(consumer).isNotNull();
+        assertThat(uploadHeaders).isSameAs(headers);
+        assertThat(uploadBody).isSameAs(consumer);
+    }
+
+    @Test
+    public void shouldNotStreamObjectOfUnknownLength() {
+        // When
+        ContentConsumer<Completable> consumer = newParser().newContentConsumer(HttpResponseStatus.OK, new DefaultHttpHeaders());
+
+        // Then
+        assertThat(consumer).isNull();
+        assertThat(uploadBody).isNull();
+    }
+
+    @Test
+    public void shouldPauseSourceUntilUploadStarts() throws IOException {
+        // Given
+        ContentConsumer<Completable> consumer = newTransfer();
+        consumer.readFrom(source);
+
+        // When
+        consumer.consume(chunk("first"));
+        consumer.consume(chunk("second"));
+
+        // Then
+        assertThat(source.config().isAutoRead()).isFalse();
+        assertThat(destination.outboundMessages()).isEmpty();
+
+        // When
+        uploadBody.start(destination, destination.newPromise());
+
+        // Then
+        assertThat(source.config().isAutoRead()).isTrue();
+        assertThat(readOutbound()).isEqualTo("first");
+        assertThat(readOutbound()).isEqualTo("second");
+    }
+
+    @Test
+    public void shouldFinishBodyAndCompleteWithUpload() throws IOException {
+        // Given
+        ContentConsumer<Completable> consumer = newTransfer();
+        consumer.readFrom(source);
+        ChannelPromise written = destination.newPromise();
+        uploadBody.start(destination, written);
+
+        // When
+        consumer.consume(chunk("content"));
+        TestObserver<Void> observer = consumer.complete().test();
+
+        // Then
+        assertThat(readOutbound()).isEqualTo("content");
+        assertThat(destination.readOutbound()).isSameAs(LastHttpContent.EMPTY_LAST_CONTENT);
+        assertThat(written.isSuccess()).isTrue();
+        observer.assertNotComplete();
+
+        // When
+        upload.onComplete();
+
+        // Then
+        observer.assertComplete();
+    }
+
+    @Test
+    public void shouldFinishBodyOfSourceCompletedBeforeUploadStarts() throws IOException {
+        // Given
+        ContentConsumer<Completable> consumer = newTransfer();
+        consumer.readFrom(source);
+        consumer.consume(chunk("content"));
+        consumer.complete();
+
+        // When
+        ChannelPromise written = destination.newPromise();
+        uploadBody.start(destination, written);
+
+        // Then
+        assertThat(readOutbound()).isEqualTo("content");
+        assertThat(destination.readOutbound()).isSameAs(LastHttpContent.EMPTY_LAST_CONTENT);
+        assertThat(written.isSuccess()).isTrue();
+        assertThat(source.config().isAutoRead()).isTrue();
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldFailReadingWhenUploadFails() throws IOException {
+        // Given
+        ContentConsumer<Completable> consumer = newTransfer();
+        consumer.readFrom(source);
+
+        // When
+        upload.onError(new IOException("Connection reset"));
+
+        // Then
+        assertThat(source.config().isAutoRead()).isTrue();
+        consumer.consume(chunk("content"));
+    }
+
+    @Test
+    public void shouldAbortBodyWhenReadingFails() throws IOException {
+        // Given
+        ContentConsumer<Completable> consumer = newTransfer();
+        consumer.readFrom(source);
+        ByteBuf pending = chunk("content");
+        consumer.consume(pending);
+
+        // When
+        consumer.discard();
+        ChannelPromise written = destination.newPromise();
+        uploadBody.start(destination, written);
+
+        // Then
+        assertThat(pending.refCnt()).isEqualTo(1);
+        assertThat(written.isSuccess()).isFalse();
+        assertThat(written.cause()).isInstanceOf(IOException.class);
+        assertThat(destination.outboundMessages()).isEmpty();
+    }
+
+    private ObjectTransfer.ResponseParser newParser() {
+        return new ObjectTransfer.ResponseParser((headers, body) -> {
+            uploadHeaders = headers;
+            uploadBody = body;
+            return upload;
+        });
+    }
+
+    private ContentConsumer<Completable> newTransfer() {
+        HttpHeaders headers = new DefaultHttpHeaders().set(HttpHeaders.Names.CONTENT_LENGTH, 100);
+        return newParser().newContentConsumer(HttpResponseStatus.OK, headers);
+    }
+
+    private String readOutbound() {
+        HttpContent content = (HttpContent) destination.readOutbound();
+        try {
+            return content.content().toString(StandardCharsets.UTF_8);
+        } finally {
+            content.release();
+        }
+    }
+
+    private static ByteBuf chunk(String content) {
+        return Unpooled.copiedBuffer(content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,127 @@
+package pl.codewise.amazon.client;
+
+import io.reactivex.Single;
+import io.reactivex.subjects.SingleSubject;
+import io.reactivex.subscribers.TestSubscriber;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrefetchingPageFlowableTest {
+
+    @Test
+    public void shouldEmitAllPagesInOrder() {
+        // Given
+        PrefetchingPageFlowable<Integer, String> pages = new PrefetchingPageFlowable<>(
+                0,
+                (request, nextRequestConsumer) -> Single.just("page-" + request),
+                (request, page) -> request < 3 ? request + 1 : null,
+                2);
+
+        // When
+        List<String> actual = pages.toList().blockingGet();
+
+        // Then
+        assertThat(actual).containsExactly("page-0", "page-1", "page-2", "page-3");
+    }
+
+    @Test
+    public void shouldRequestNextPageBeforeCurrentOneCompletes() {
+        // Given
+        List<Integer> requests = new ArrayList<>();
+        List<SingleSubject<String>> responses = new ArrayList<>();
+        PrefetchingPageFlowable<Integer, String> pages = new PrefetchingPageFlowable<>(
+                0,
+                (request, nextRequestConsumer) -> {
+                    SingleSubject<String> response = SingleSubject.create();
+                    requests.add(request);
+                    responses.add(response);
+                    nextRequestConsumer.accept(request + 1);
+                    return response;
+                },
+                (request, page) -> request + 1,
+                2);
+
+        // When
+        TestSubscriber<String> subscriber = pages.test(1);
+
+        // Then
+        assertThat(requests).containsExactly(0, 1);
+
+        // When
+        responses.get(1).onSuccess("page-1");
+
+        // Then
+        subscriber.assertNoValues();
+        assertThat(requests).containsExactly(0, 1);
+
+        // When
+        responses.get(0).onSuccess("page-0");
+
+        // Then
+        subscriber.assertValues("page-0");
+        assertThat(requests).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    public void shouldRequestPageFollowingOneCompletedWhileEmittingPreviousOne() {
+        // Given
+        List<Integer> requests = new ArrayList<>();
+        List<SingleSubject<String>> responses = new ArrayList<>();
+        PrefetchingPageFlowable<Integer, String> pages = new PrefetchingPageFlowable<>(
+                0,
+                (request, nextRequestConsumer) -> {
+                    SingleSubject<String> response = SingleSubject.create();
+                    requests.add(request);
+                    responses.add(response);
+                    if (request == 0) {
+                        nextRequestConsumer.accept(1);
+                    }
+                    return response;
+                },
+                (request, page) -> request < 2 ? request + 1 : null,
+                2);
+        TestSubscriber<String> subscriber = pages
+                .doOnNext(page -> {
+                    if (page.equals("page-0")) {
+                        responses.get(1).onSuccess("page-1");
+                    }
+                })
+                .test();
+
+        // When
+        responses.get(0).onSuccess("page-0");
+
+        // Then
+        subscriber.assertValues("page-0", "page-1");
+        assertThat(requests).containsExactly(0, 1, 2);
+
+        // When
+        responses.get(2).onSuccess("page-2");
+
+        // Then
+        subscriber.assertValues("page-0", "page-1", "page-2");
+        subscriber.assertComplete();
+    }
+
+    @Test
+    public void shouldFailWhenPageFails() {
+        // Given
+        IllegalStateException failure = new IllegalStateException();
+        PrefetchingPageFlowable<Integer, String> pages = new PrefetchingPageFlowable<>(
+                0,
+                (request, nextRequestConsumer) -> request == 0 ? Single.just("page-0") : Single.error(failure),
+                (request, page) -> request + 1,
+                1);
+
+        // When
+        TestSubscriber<String> subscriber = pages.test();
+
+        // Then
+        subscriber.assertValues("page-0");
+        subscriber.assertError(failure);
+    }
+}
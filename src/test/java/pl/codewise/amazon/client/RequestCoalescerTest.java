@@ -0,0 +1,116 @@
+package pl.codewise.amazon.client;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.SingleSubject;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import pl.codewise.amazon.client.auth.Operation;
+import pl.codewise.amazon.client.http.Request;
+import pl.codewise.amazon.client.xml.LeaseBytesParser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestCoalescerTest {
+
+    private RequestCoalescer coalescer;
+    private SingleSubject<ObjectLease> response;
+    private AtomicInteger sent;
+
+    @BeforeMethod
+    public void setUp() {
+        coalescer = new RequestCoalescer();
+        response = SingleSubject.create();
+        sent = new AtomicInteger();
+    }
+
+    @Test
+    public void shouldShareRequestBetweenConcurrentCallers() {
+        // Given
+        TestObserver<ObjectLease> first = get(request("/key")).test();
+        TestObserver<ObjectLease> second = get(request("/key")).test();
+        ObjectLease lease = new ObjectLease(Unpooled.copiedBuffer("content", StandardCharsets.UTF_8), new DefaultHttpHeaders());
+
+        // When
+        response.onSuccess(lease);
+
+        // Then
+        assertThat(sent.get()).isEqualTo(1);
+        assertThat(coalescer.inFlight()).isZero();
+
+        ObjectLease firstLease = first.values().get(0);
+        ObjectLease secondLease = second.values().get(0);
+        assertThat(firstLease).isNotSameAs(secondLease);
+        assertThat(firstLease.getContent().toString(StandardCharsets.UTF_8)).isEqualTo("content");
+        assertThat(secondLease.getContent().toString(StandardCharsets.UTF_8)).isEqualTo("content");
+
+        assertThat(firstLease.release()).isFalse();
+        assertThat(secondLease.release()).isTrue();
+    }
+
+    @Test
+    public void shouldNotShareRequestsWithDifferentConditions() {
+        // When
+        get(request("/key").addHeader("If-None-Match", "\"1\"")).test();
+        get(request("/key").addHeader("If-None-Match", "\"2\"")).test();
+        get(request("/other")).test();
+
+        // Then
+        assertThat(sent.get()).isEqualTo(3);
+        assertThat(coalescer.inFlight()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldCancelRequestOnceAllCallersCancelled() {
+        // Given
+        TestObserver<ObjectLease> first = get(request("/key")).test();
+        TestObserver<ObjectLease> second = get(request("/key")).test();
+
+        // When
+        first.dispose();
+
+        // Then
+        assertThat(response.hasObservers()).isTrue();
+
+        // When
+        second.dispose();
+
+        // Then
+        assertThat(response.hasObservers()).isFalse();
+        assertThat(coalescer.inFlight()).isZero();
+    }
+
+    @Test
+    public void shouldSendNewRequestOnceSharedOneFailed() {
+        // Given
+        TestObserver<ObjectLease> first = get(request("/key")).test();
+        TestObserver<ObjectLease> second = get(request("/key")).test();
+
+        // When
+        response.onError(new IllegalStateException("Failed"));
+        get(request("/key")).test();
+
+        // Then
+        first.assertError(IllegalStateException.class);
+        second.assertError(IllegalStateException.class);
+        assertThat(sent.get()).isEqualTo(2);
+    }
+
+    private Single<ObjectLease> get(Request request) {
+        Single<ObjectLease> result = Single.defer(() -> {
+            sent.incrementAndGet();
+            return response;
+        });
+
+        return coalescer.coalesce(request, LeaseBytesParser.getInstance(), result, ObjectLease::retainedDuplicate, ObjectLease::release);
+    }
+
+    private static Request request(String url) {
+        return new Request(url, Operation.GET).setBucketName("bucket");
+    }
+}
@@ -0,0 +1,104 @@
+package pl.codewise.amazon.client;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VectoredReadTest {
+
+    private static final String OBJECT = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    @Test
+    public void shouldMergeSortedRangesWithinGap() {
+        // Given
+        VectoredRead read = new VectoredRead(Arrays.asList(
+                new Range(30, 2),
+                new Range(0, 4),
+                new Range(6, 2),
+                new Range(20, 4)));
+
+        // When
+        List<VectoredRead.Group> groups = read.merge(2, 100);
+
+        // Then
+        assertThat(groups).hasSize(3);
+        assertGroup(groups.get(0), 0, 7, 2);
+        assertGroup(groups.get(1), 20, 23, 1);
+        assertGroup(groups.get(2), 30, 31, 1);
+    }
+
+    @Test
+    public void shouldNotMergeRangesOverMaxSize() {
+        // Given
+        VectoredRead read = new VectoredRead(Arrays.asList(
+                new Range(0, 4),
+                new Range(4, 4),
+                new Range(8, 4)));
+
+        // When
+        List<VectoredRead.Group> groups = read.merge(0, 8);
+
+        // Then
+        assertThat(groups).hasSize(2);
+        assertGroup(groups.get(0), 0, 7, 2);
+        assertGroup(groups.get(1), 8, 11, 1);
+    }
+
+    @Test
+    public void shouldCutRangesOutOfMergedResponseInTheirOrder() throws IOException {
+        // Given
+        VectoredRead read = new VectoredRead(Arrays.asList(
+                new Range(10, 3),
+                new Range(2, 2),
+                new Range(11, 4)));
+        List<VectoredRead.Group> groups = read.merge(10, 100);
+        ObjectLease response = response(2, 14);
+
+        // When
+        groups.get(0).complete(response);
+        List<ObjectLease> results = read.results();
+
+        // Then
+        assertThat(groups).hasSize(1);
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).getContent().toString(StandardCharsets.UTF_8)).isEqualTo("abc");
+        assertThat(results.get(1).getContent().toString(StandardCharsets.UTF_8)).isEqualTo("23");
+        assertThat(results.get(2).getContent().toString(StandardCharsets.UTF_8)).isEqualTo("bcde");
+        assertThat(response.refCnt()).isEqualTo(3);
+
+        // When
+        read.release();
+
+        // Then
+        assertThat(response.refCnt()).isZero();
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldFailIfResponseIsShorterThanMergedRange() throws IOException {
+        // Given
+        VectoredRead read = new VectoredRead(Arrays.asList(new Range(0, 4), new Range(6, 4)));
+        List<VectoredRead.Group> groups = read.merge(10, 100);
+
+        // When
+        groups.get(0).complete(response(0, 5));
+    }
+
+    private static void assertGroup(VectoredRead.Group group, long first, long last, int size) {
+        assertThat(group.getFirst()).isEqualTo(first);
+        assertThat(group.getLast()).isEqualTo(last);
+        assertThat(group.size()).isEqualTo(size);
+    }
+
+    private static ObjectLease response(int first, int last) {
+        return new ObjectLease(
+                Unpooled.copiedBuffer(OBJECT.substring(first, last + 1), StandardCharsets.UTF_8),
+                new DefaultHttpHeaders());
+    }
+}
@@ -0,0 +1,182 @@
+package pl.codewise.amazon.client.cache;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import pl.codewise.amazon.client.ObjectLease;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DiskObjectCacheTest {
+
+    private Path directory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("disk-object-cache");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void shouldReadObjectsAfterRestart() throws IOException {
+        // Given
+        DiskObjectCache cache = DiskObjectCache.open(directory, 4096, 1024);
+        cache.put("bucket", "first", "\"1\"", content("first object"));
+        cache.put("bucket", "second", null, content("second object"));
+        cache.close();
+
+        // When
+        DiskObjectCache reopened = DiskObjectCache.open(directory, 4096, 1024);
+        ObjectLease first = reopened.get("bucket", "first");
+        ObjectLease second = reopened.get("bucket", "second");
+
+        // Then
+        assertThat(reopened.size()).isEqualTo(2);
+        assertThat(first.getContent().toString(StandardCharsets.UTF_8)).isEqualTo("first object");
+        assertThat(first.getETag()).isEqualTo("\"1\"");
+        assertThat(second.getContent().toString(StandardCharsets.UTF_8)).isEqualTo("second object");
+        assertThat(second.getETag()).isNull();
+        reopened.close();
+    }
+
+    @Test
+    public void shouldDropRecordTornByCrash() throws IOException {
+        // Given
+        DiskObjectCache cache = DiskObjectCache.open(directory, 4096, 1024);
+        cache.put("bucket", "first", "\"1\"", content("first object"));
+        cache.put("bucket", "second", "\"2\"", content("second object"));
+        corruptLastWrittenByte(directory.resolve("0.segment"));
+
+        // When
+        DiskObjectCache reopened = DiskObjectCache.open(directory, 4096, 1024);
+
+        // Then
+        assertThat(reopened.size()).isEqualTo(1);
+        assertThat(reopened.get("bucket", "first").getContent().toString(StandardCharsets.UTF_8)).isEqualTo("first object");
+        assertThat(reopened.get("bucket", "second")).isNull();
+        reopened.close();
+    }
+
+    @Test
+    public void shouldEvictOldestSegment() throws IOException {
+        // Given
+        DiskObjectCache cache = DiskObjectCache.open(directory, 512, 256);
+
+        // When
+        for (String key : Arrays.asList("a", "b", "c")) {
+            cache.put("bucket", key, null, content(padded(key)));
+        }
+
+        // Then
+        assertThat(cache.segments()).isEqualTo(2);
+        assertThat(cache.get("bucket", "a")).isNull();
+        assertThat(cache.get("bucket", "b").getContent().toString(StandardCharsets.UTF_8)).isEqualTo(padded("b"));
+        assertThat(cache.get("bucket", "c").getContent().toString(StandardCharsets.UTF_8)).isEqualTo(padded("c"));
+        assertThat(Files.exists(directory.resolve("0.segment"))).isFalse();
+        cache.close();
+    }
+
+    @Test
+    public void shouldNotRecoverInvalidatedObject() throws IOException {
+        // Given
+        DiskObjectCache cache = DiskObjectCache.open(directory, 4096, 1024);
+        cache.put("bucket", "key", "\"1\"", content("object"));
+
+        // When
+        cache.invalidate("bucket", "key");
+        cache.close();
+
+        // Then
+        DiskObjectCache reopened = DiskObjectCache.open(directory, 4096, 1024);
+        assertThat(reopened.get("bucket", "key")).isNull();
+        reopened.close();
+    }
+
+    @Test
+    public void shouldNotCacheObjectLargerThanSegment() throws IOException {
+        // Given
+        DiskObjectCache cache = DiskObjectCache.open(directory, 512, 256);
+        cache.put("bucket", "key", null, content("small"));
+
+        // When
+        cache.put("bucket", "key", null, content(padded(padded("key"))));
+
+        // Then
+        assertThat(cache.get("bucket", "key")).isNull();
+        assertThat(cache.segments()).isEqualTo(1);
+        cache.close();
+    }
+
+    @Test
+    public void shouldWriteObjectInBackgroundAndReleaseContent() throws IOException {
+        // Given
+        DiskObjectCache cache = DiskObjectCache.open(directory, 4096, 1024);
+        ByteBuf content = content("object");
+
+        // When
+        cache.putInBackground("bucket", "key", "\"1\"", content);
+        content.release();
+        cache.close();
+
+        // Then
+        assertThat(content.refCnt()).isZero();
+        DiskObjectCache reopened = DiskObjectCache.open(directory, 4096, 1024);
+        assertThat(reopened.get("bucket", "key").getContent().toString(StandardCharsets.UTF_8)).isEqualTo("object");
+        reopened.close();
+    }
+
+    @Test
+    public void shouldNotWriteInBackgroundAfterClose() throws IOException {
+        // Given
+        DiskObjectCache cache = DiskObjectCache.open(directory, 4096, 1024);
+        ByteBuf content = content("object");
+        cache.close();
+
+        // When
+        cache.putInBackground("bucket", "key", "\"1\"", content);
+
+        // Then
+        assertThat(content.refCnt()).isEqualTo(1);
+        assertThat(cache.get("bucket", "key")).isNull();
+    }
+
+    private static void corruptLastWrittenByte(Path segment) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long position = file.length() - 1;
+            file.seek(position);
+            while (file.read() == 0) {
+                file.seek(--position);
+            }
+
+            file.seek(position);
+            file.write(0);
+        }
+    }
+
+    private static ByteBuf content(String content) {
+        return Unpooled.copiedBuffer(content, StandardCharsets.UTF_8);
+    }
+
+    private static String padded(String content) {
+        char[] padding = new char[100];
+        Arrays.fill(padding, '.');
+        return content + new String(padding);
+    }
+}
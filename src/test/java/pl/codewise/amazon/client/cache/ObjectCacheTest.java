@@ -0,0 +1,203 @@
+package pl.codewise.amazon.client.cache;
+
+import com.amazonaws.services.s3.Headers;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import io.reactivex.schedulers.TestScheduler;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import pl.codewise.amazon.client.ObjectLease;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ObjectCacheTest {
+
+    private TestScheduler scheduler;
+    private Map<String, AtomicInteger> loads;
+    private Map<String, AtomicInteger> revalidations;
+    private Map<String, String> eTags;
+    private ObjectLoader loader;
+
+    @BeforeMethod
+    public void setUp() {
+        scheduler = new TestScheduler();
+        loads = new HashMap<>();
+        revalidations = new HashMap<>();
+        eTags = new HashMap<>();
+        loader = new TestLoader();
+    }
+
+    @Test
+    public void shouldReturnRetainedSliceOnHit() {
+        // Given
+        ObjectCache cache = new ObjectCache(loader, 1000, 16, 1000, emptyMap(), 0, scheduler);
+        ObjectLease loaded = cache.getObject("bucket", "key").blockingGet();
+
+        // When
+        ObjectLease hit = cache.getObject("bucket", "key").blockingGet();
+
+        // Then
+        assertThat(loads.get("bucket/key").get()).isEqualTo(1);
+        assertThat(hit.getContent().toString(StandardCharsets.UTF_8)).isEqualTo(content("bucket/key"));
+        assertThat(hit.refCnt()).isEqualTo(2);
+        assertThat(hit.release()).isFalse();
+
+        loaded.release();
+        cache.close();
+        assertThat(hit.refCnt()).isZero();
+    }
+
+    @Test
+    public void shouldKeepFrequentlyReadObjectsDuringScan() {
+        // Given
+        ObjectCache cache = new ObjectCache(loader, 1000, 64, 60_000, emptyMap(), 0, scheduler);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 9; i++) {
+                cache.getObject("bucket", "hot" + i).blockingGet().release();
+            }
+        }
+
+        // When
+        for (int i = 0; i < 30; i++) {
+            cache.getObject("bucket", "cold" + i).blockingGet().release();
+        }
+        for (int i = 0; i < 9; i++) {
+            cache.getObject("bucket", "hot" + i).blockingGet().release();
+        }
+
+        // Then
+        for (int i = 0; i < 9; i++) {
+            assertThat(loads.get("bucket/hot" + i).get()).isEqualTo(1);
+        }
+        assertThat(cache.weightedSize()).isLessThanOrEqualTo(1000);
+    }
+
+    @Test
+    public void shouldExpireObjectsAfterTtlOfTheirBucket() {
+        // Given
+        ObjectCache cache = new ObjectCache(loader, 1000, 16, 1000, singletonMap("short", 100L), 0, scheduler);
+        cache.getObject("short", "key").blockingGet().release();
+        cache.getObject("long", "key").blockingGet().release();
+
+        // When
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        cache.getObject("short", "key").blockingGet().release();
+        cache.getObject("long", "key").blockingGet().release();
+
+        // Then
+        assertThat(loads.get("short/key").get()).isEqualTo(2);
+        assertThat(loads.get("long/key").get()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRevalidateExpiredObjectByETag() {
+        // Given
+        eTags.put("bucket/key", "\"v1\"");
+        ObjectCache cache = new ObjectCache(loader, 1000, 16, 1000, emptyMap(), 0, scheduler);
+        cache.getObject("bucket", "key").blockingGet().release();
+
+        // When
+        scheduler.advanceTimeBy(1000, TimeUnit.MILLISECONDS);
+        ObjectLease unchanged = cache.getObject("bucket", "key").blockingGet();
+        cache.getObject("bucket", "key").blockingGet().release();
+
+        // Then
+        assertThat(unchanged.getContent().toString(StandardCharsets.UTF_8)).isEqualTo(content("bucket/key"));
+        assertThat(loads.get("bucket/key").get()).isEqualTo(1);
+        assertThat(revalidations.get("bucket/key").get()).isEqualTo(1);
+        unchanged.release();
+
+        // When
+        eTags.put("bucket/key", "\"v2\"");
+        scheduler.advanceTimeBy(1000, TimeUnit.MILLISECONDS);
+        ObjectLease changed = cache.getObject("bucket", "key").blockingGet();
+
+        // Then
+        assertThat(changed.getETag()).isEqualTo("\"v2\"");
+        assertThat(loads.get("bucket/key").get()).isEqualTo(2);
+        assertThat(revalidations.get("bucket/key").get()).isEqualTo(2);
+        changed.release();
+    }
+
+    @Test
+    public void shouldRefreshFrequentlyReadObjectAheadOfExpiration() {
+        // Given
+        ObjectCache cache = new ObjectCache(loader, 1000, 16, 1000, emptyMap(), 0.5, scheduler);
+        for (int i = 0; i < 3; i++) {
+            cache.getObject("bucket", "key").blockingGet().release();
+        }
+
+        // When
+        scheduler.advanceTimeBy(600, TimeUnit.MILLISECONDS);
+        cache.getObject("bucket", "key").blockingGet().release();
+
+        // Then
+        assertThat(loads.get("bucket/key").get()).isEqualTo(2);
+
+        // When
+        scheduler.advanceTimeBy(400, TimeUnit.MILLISECONDS);
+        cache.getObject("bucket", "key").blockingGet().release();
+
+        // Then
+        assertThat(loads.get("bucket/key").get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotCacheObjectLargerThanCache() {
+        // Given
+        ObjectCache cache = new ObjectCache(loader, 10, 16, 1000, emptyMap(), 0, scheduler);
+
+        // When
+        cache.getObject("bucket", "key").blockingGet().release();
+
+        // Then
+        assertThat(cache.size()).isZero();
+        assertThat(cache.weightedSize()).isZero();
+    }
+
+    private class TestLoader implements ObjectLoader {
+
+        @Override
+        public Single<ObjectLease> load(String bucketName, String key) {
+            String cacheKey = bucketName + "/" + key;
+            loads.computeIfAbsent(cacheKey, ignored -> new AtomicInteger()).incrementAndGet();
+
+            HttpHeaders headers = new DefaultHttpHeaders();
+            if (eTags.containsKey(cacheKey)) {
+                headers.set(Headers.ETAG, eTags.get(cacheKey));
+            }
+
+            return Single.fromCallable(() -> new ObjectLease(
+                    Unpooled.copiedBuffer(content(cacheKey), StandardCharsets.UTF_8), headers));
+        }
+
+        @Override
+        public Maybe<ObjectLease> loadIfChanged(String bucketName, String key, String eTag) {
+            String cacheKey = bucketName + "/" + key;
+            revalidations.computeIfAbsent(cacheKey, ignored -> new AtomicInteger()).incrementAndGet();
+
+            if (eTag.equals(eTags.get(cacheKey))) {
+                return Maybe.empty();
+            }
+            return load(bucketName, key).toMaybe();
+        }
+    }
+
+    private static String content(String cacheKey) {
+        char[] padding = new char[100 - cacheKey.length()];
+        Arrays.fill(padding, '.');
+        return cacheKey + new String(padding);
+    }
+}
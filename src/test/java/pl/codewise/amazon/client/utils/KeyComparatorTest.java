@@ -0,0 +1,48 @@
+package pl.codewise.amazon.client.utils;
+
+import java.nio.charset.StandardCharsets;
+
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeyComparatorTest {
+
+    @Test
+    public void shouldOrderKeysByTheirBytes() {
+        // Given
+        String privateUse = "a\uE000";
+        String supplementary = "a\uD83D\uDE00";
+
+        // When
+        int result = KeyComparator.getInstance().compare(privateUse, supplementary);
+
+        // Then
+        assertThat(privateUse.compareTo(supplementary)).isPositive();
+        assertThat(result).isNegative();
+        assertThat(compareBytes(privateUse, supplementary)).isNegative();
+    }
+
+    @Test
+    public void shouldOrderPrefixBeforeLongerKey() {
+        // When
+        int result = KeyComparator.getInstance().compare("logs/2014", "logs/2014/05");
+
+        // Then
+        assertThat(result).isNegative();
+        assertThat(KeyComparator.getInstance().compare("logs/2014", "logs/2014")).isZero();
+    }
+
+    private static int compareBytes(String first, String second) {
+        byte[] firstBytes = first.getBytes(StandardCharsets.UTF_8);
+        byte[] secondBytes = second.getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i < Math.min(firstBytes.length, secondBytes.length); i++) {
+            if (firstBytes[i] != secondBytes[i]) {
+                return Integer.compare(firstBytes[i] & 0xff, secondBytes[i] & 0xff);
+            }
+        }
+
+        return Integer.compare(firstBytes.length, secondBytes.length);
+    }
+}
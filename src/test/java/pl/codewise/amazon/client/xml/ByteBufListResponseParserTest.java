@@ -0,0 +1,164 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.xmlpull.v1.XmlPullParserFactory;
+import pl.codewise.amazon.client.ClientConfiguration;
+import pl.codewise.amazon.client.ObjectSummaryFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static pl.codewise.amazon.client.AsyncS3ClientAssertions.assertThat;
+import static pl.codewise.amazon.client.xml.XmlResponses.LISTING;
+import static pl.codewise.amazon.client.xml.XmlResponses.buffer;
+
+public class ByteBufListResponseParserTest {
+
+    private XmlPullParserFactory pullParserFactory;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+        Locale.setDefault(Locale.US);
+
+        pullParserFactory = XmlPullParserFactory.newInstance();
+        pullParserFactory.setNamespaceAware(false);
+    }
+
+    @Test
+    public void shouldParseListingLikePullParser() throws IOException {
+        // Given
+        ClientConfiguration configuration = ClientConfiguration.builder().build();
+        ListResponseParser pullParser = ListResponseParser.newListResponseParser(pullParserFactory, configuration);
+        ListResponseParser byteParser = new ByteBufListResponseParser(configuration);
+
+        // When
+        ObjectListing expected = pullParser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(LISTING));
+        ObjectListing actual = byteParser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(LISTING));
+
+        // Then
+        assertThat(actual).isEqualTo(expected).isTruncated().hasSize(2);
+        assertThat(actual.getObjectSummaries().get(0).getKey()).isEqualTo("COUNTRY_BY_DATE/2014/05/PL&<\u0142\u00F3d\u017A");
+        assertThat(actual.getObjectSummaries().get(0).getOwner()).isEqualTo(expected.getObjectSummaries().get(0).getOwner());
+        assertThat(actual.getNextMarker()).isEqualTo("COUNTRY_BY_DATE/2014/05/\u0141\u00D3D\u0179");
+    }
+
+    @Test
+    public void shouldSkipConfiguredFields() throws IOException {
+        // Given
+        ClientConfiguration configuration = ClientConfiguration.builder()
+                .skipParsingOwner()
+                .skipParsingETag()
+                .skipParsingLasModified()
+                .skipParsingStorageClass()
+                .build();
+        ListResponseParser byteParser = new ByteBufListResponseParser(configuration);
+
+        // When
+        ObjectListing actual = byteParser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(LISTING));
+
+        // Then
+        S3ObjectSummary summary = actual.getObjectSummaries().get(0);
+        assertThat(summary.getKey()).isEqualTo("COUNTRY_BY_DATE/2014/05/PL&<\u0142\u00F3d\u017A");
+        assertThat(summary.getSize()).isEqualTo(42);
+        assertThat(summary.getOwner()).isNull();
+        assertThat(summary.getETag()).isNull();
+        assertThat(summary.getLastModified()).isNull();
+        assertThat(summary.getStorageClass()).isNull();
+    }
+
+    @Test
+    public void shouldParseListingSplitIntoArbitraryChunks() throws IOException {
+        // Given
+        ClientConfiguration configuration = ClientConfiguration.builder().build();
+        ListResponseParser byteParser = new ByteBufListResponseParser(configuration);
+        ObjectListing expected = byteParser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(LISTING));
+
+        byte[] bytes = LISTING.getBytes(StandardCharsets.UTF_8);
+        for (int chunkSize = 1; chunkSize < bytes.length; chunkSize += 7) {
+            ContentConsumer<ObjectListing> consumer = byteParser.newContentConsumer(HttpResponseStatus.OK, new DefaultHttpHeaders());
+
+            // When
+            for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+                ByteBuf chunk = Unpooled.wrappedBuffer(bytes, offset, Math.min(chunkSize, bytes.length - offset));
+                consumer.consume(chunk);
+            }
+            ObjectListing actual = consumer.complete();
+
+            // Then
+            assertThat(actual).isEqualTo(expected).isTruncated().hasSize(2);
+        }
+    }
+
+    @Test
+    public void shouldFilterSummariesBeforeCreatingThem() throws IOException {
+        // Given
+        ClientConfiguration configuration = ClientConfiguration.builder().build();
+        ListResponseParser pullParser = ListResponseParser.newListResponseParser(pullParserFactory, configuration);
+        ListResponseParser byteParser = new ByteBufListResponseParser(configuration);
+        ObjectSummaryFilter filter = ObjectSummaryFilter.minSize(1).and(ObjectSummaryFilter.keySuffix("d\u017A"));
+
+        // When
+        ObjectListing expected = pullParser.filteredBy(filter).parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(LISTING));
+        ObjectListing actual = byteParser.filteredBy(filter).parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(LISTING));
+
+        // Then
+        assertThat(actual).isEqualTo(expected).isTruncated().hasSize(1);
+        assertThat(actual.getObjectSummaries().get(0).getKey()).isEqualTo("COUNTRY_BY_DATE/2014/05/PL&<\u0142\u00F3d\u017A");
+        assertThat(actual.getNextMarker()).isEqualTo("COUNTRY_BY_DATE/2014/05/\u0141\u00D3D\u0179");
+    }
+
+    @Test
+    public void shouldCreateLastModifiedDatesLazily() throws IOException {
+        // Given
+        ClientConfiguration configuration = ClientConfiguration.builder().parseLastModifiedLazily().build();
+        ListResponseParser pullParser = ListResponseParser.newListResponseParser(pullParserFactory, configuration);
+        ListResponseParser byteParser = new ByteBufListResponseParser(configuration);
+
+        // When
+        ObjectListing expected = pullParser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(LISTING));
+        ObjectListing actual = byteParser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(LISTING));
+
+        // Then
+        LazyObjectSummary summary = (LazyObjectSummary) actual.getObjectSummaries().get(0);
+        assertThat(expected.getObjectSummaries().get(0)).isInstanceOf(LazyObjectSummary.class);
+        assertThat(summary.getLastModifiedMillis()).isEqualTo(1419116531123L);
+        assertThat(summary.getLastModified()).isEqualTo(expected.getObjectSummaries().get(0).getLastModified());
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldComplainOnIncompleteDocument() throws IOException {
+        // Given
+        ListResponseParser byteParser = new ByteBufListResponseParser(ClientConfiguration.builder().build());
+
+        // When
+        byteParser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(LISTING.substring(0, LISTING.length() / 2)));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldComplainOnCharacterReferenceOutOfUnicodeRange() throws IOException {
+        // Given
+        ListResponseParser byteParser = new ByteBufListResponseParser(ClientConfiguration.builder().build());
+
+        // When
+        byteParser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(LISTING.replace("&#378;", "&#x110000;")));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldComplainOnCharacterReferenceToSurrogate() throws IOException {
+        // Given
+        ListResponseParser byteParser = new ByteBufListResponseParser(ClientConfiguration.builder().build());
+
+        // When
+        byteParser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(LISTING.replace("&#378;", "&#xD800;")));
+    }
+}
@@ -0,0 +1,89 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.model.ObjectListing;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import pl.codewise.amazon.client.ClientConfiguration;
+import pl.codewise.amazon.client.CompactObjectListing;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static pl.codewise.amazon.client.AsyncS3ClientAssertions.assertThat;
+import static pl.codewise.amazon.client.xml.XmlResponses.LISTING;
+import static pl.codewise.amazon.client.xml.XmlResponses.buffer;
+
+public class CompactListResponseParserTest {
+
+    @BeforeClass
+    public void setUp() {
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+        Locale.setDefault(Locale.US);
+    }
+
+    @Test
+    public void shouldParseListingIntoCompactForm() throws IOException {
+        // Given
+        ClientConfiguration configuration = ClientConfiguration.builder().skipParsingOwner().build();
+        ListResponseParser byteParser = new ByteBufListResponseParser(configuration);
+        CompactListResponseParser compactParser = new CompactListResponseParser(configuration);
+
+        // When
+        ObjectListing expected = byteParser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(LISTING));
+        CompactObjectListing actual = compactParser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(LISTING));
+
+        // Then
+        assertThat(actual.size()).isEqualTo(2);
+        assertThat(actual.getKey(0)).isEqualTo("COUNTRY_BY_DATE/2014/05/PL&<\u0142\u00F3d\u017A");
+        assertThat(actual.getSize(0)).isEqualTo(42);
+        assertThat(actual.getETag(0)).isEqualTo("\"5d41402abc4b2a76b9719d911017c592\"");
+        assertThat(actual.getStorageClass(1)).isEqualTo("REDUCED_REDUNDANCY");
+        assertThat(actual.getNextMarker()).isEqualTo("COUNTRY_BY_DATE/2014/05/\u0141\u00D3D\u0179");
+        assertThat(actual.toObjectListing()).isEqualTo(expected).isTruncated().hasSize(2);
+    }
+
+    @Test
+    public void shouldKeepETagsThatAreNotDigests() throws IOException {
+        // Given
+        CompactListResponseParser compactParser = new CompactListResponseParser(ClientConfiguration.builder().build());
+        String listing = LISTING.replace("7d41402abc4b2a76b9719d911017c592", "7d41402abc4b2a76b9719d911017c592-3");
+
+        // When
+        CompactObjectListing actual = compactParser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(listing));
+
+        // Then
+        byte[] digest = new byte[16];
+        assertThat(actual.copyETagDigest(0, digest, 0)).isTrue();
+        assertThat(digest[0]).isEqualTo((byte) 0x5d);
+        assertThat(actual.copyETagDigest(1, digest, 0)).isFalse();
+        assertThat(actual.getETag(1)).isEqualTo("\"7d41402abc4b2a76b9719d911017c592-3\"");
+    }
+
+    @Test
+    public void shouldVisitObjectsParsedFromChunks() throws IOException {
+        // Given
+        CompactListResponseParser compactParser = new CompactListResponseParser(ClientConfiguration.builder().build());
+        ContentConsumer<CompactObjectListing> consumer = compactParser.newContentConsumer(HttpResponseStatus.OK, new DefaultHttpHeaders());
+
+        byte[] bytes = LISTING.getBytes(StandardCharsets.UTF_8);
+        for (int offset = 0; offset < bytes.length; offset += 100) {
+            ByteBuf chunk = Unpooled.wrappedBuffer(bytes, offset, Math.min(100, bytes.length - offset));
+            consumer.consume(chunk);
+        }
+
+        // When
+        List<String> keys = new ArrayList<>();
+        consumer.complete().forEach((listing, index) -> keys.add(listing.getKey(index)));
+
+        // Then
+        assertThat(keys).containsExactly("COUNTRY_BY_DATE/2014/05/PL&<\u0142\u00F3d\u017A", "COUNTRY_BY_DATE/2014/05/\u0141\u00D3D\u0179");
+    }
+}
@@ -0,0 +1,88 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CopyObjectResult;
+import com.googlecode.catchexception.CatchException;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.xmlpull.v1.XmlPullParserFactory;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static com.googlecode.catchexception.CatchException.catchException;
+import static org.assertj.core.api.Assertions.assertThat;
+import static pl.codewise.amazon.client.xml.XmlResponses.buffer;
+
+public class CopyResultResponseParserTest {
+
+    private CopyResultResponseParser parser;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+        Locale.setDefault(Locale.US);
+
+        XmlPullParserFactory pullParserFactory = XmlPullParserFactory.newInstance();
+        pullParserFactory.setNamespaceAware(false);
+
+        parser = new CopyResultResponseParser(pullParserFactory);
+    }
+
+    @Test
+    public void shouldParseCopyResult() throws IOException {
+        // Given
+        String document = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<CopyObjectResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">"
+                + "<LastModified>2014-12-20T23:02:11.123Z</LastModified>"
+                + "<ETag>&quot;5d41402abc4b2a76b9719d911017c592&quot;</ETag>"
+                + "</CopyObjectResult>";
+
+        // When
+        CopyObjectResult result = parser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(document)).build();
+
+        // Then
+        assertThat(result.getETag()).isEqualTo("\"5d41402abc4b2a76b9719d911017c592\"");
+        assertThat(result.getLastModifiedDate().getTime()).isEqualTo(1419116531123L);
+    }
+
+    @Test
+    public void shouldParseUploadId() throws IOException {
+        // Given
+        String document = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<InitiateMultipartUploadResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">"
+                + "<Bucket>async-client-test</Bucket>"
+                + "<Key>COUNTRY_BY_DATE/2014/05/PL</Key>"
+                + "<UploadId>VXBsb2FkIElEIGZvciA2aWWpbmcncyBteS1tb3ZpZS5tMnRzIHVwbG9hZA</UploadId>"
+                + "</InitiateMultipartUploadResult>";
+
+        // When
+        String uploadId = parser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(document)).getUploadId();
+
+        // Then
+        assertThat(uploadId).isEqualTo("VXBsb2FkIElEIGZvciA2aWWpbmcncyBteS1tb3ZpZS5tMnRzIHVwbG9hZA");
+    }
+
+    @Test
+    public void shouldFailOnErrorSentWithSuccessfulStatus() throws IOException {
+        // Given
+        String document = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<Error>"
+                + "<Code>InternalError</Code>"
+                + "<Message>We encountered an internal error. Please try again.</Message>"
+                + "<RequestId>656c76696e6727732072657175657374</RequestId>"
+                + "</Error>";
+        CopyResultBuilder result = parser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(document));
+
+        // When
+        catchException(result).build();
+
+        // Then
+        assertThat(CatchException.<Exception>caughtException()).isInstanceOf(AmazonS3Exception.class);
+        assertThat(((AmazonS3Exception) CatchException.<Exception>caughtException()).getErrorCode()).isEqualTo("InternalError");
+        assertThat(((AmazonS3Exception) CatchException.<Exception>caughtException()).getStatusCode()).isEqualTo(200);
+    }
+}
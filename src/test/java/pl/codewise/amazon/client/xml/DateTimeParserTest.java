@@ -4,6 +4,7 @@ import javolution.text.CharArray;
 import javolution.text.Cursor;
 import org.testng.annotations.Test;
 
+import java.time.Instant;
 import java.util.Calendar;
 import java.util.Date;
 
@@ -81,4 +82,40 @@ public class DateTimeParserTest {
 		// When
 		parser.parse(charArray, new Cursor(), Calendar.getInstance());
 	}
+
+	@Test
+	public void shouldParseMillisSinceEpochRegardlessOfDefaultTimeZone() {
+		// Given
+		DateTimeParser parser = new DateTimeParser();
+		String text = "2014-12-20T23:02:11.123Z";
+
+		// When
+		long actual = parser.parseMillis(text);
+
+		// Then
+		assertThat(actual).isEqualTo(Instant.parse(text).toEpochMilli());
+	}
+
+	@Test
+	public void shouldParseMillisAroundLeapDaysAndBeforeEpoch() {
+		// Given
+		DateTimeParser parser = new DateTimeParser();
+
+		// When
+		long leapDay = parser.parseMillis("2000-02-29T12:00:00.000Z");
+		long beforeEpoch = parser.parseMillis("1969-12-31T23:59:59.999Z");
+
+		// Then
+		assertThat(leapDay).isEqualTo(Instant.parse("2000-02-29T12:00:00.000Z").toEpochMilli());
+		assertThat(beforeEpoch).isEqualTo(-1);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void shouldComplainOnMissingTimeZoneDesignator() {
+		// Given
+		DateTimeParser parser = new DateTimeParser();
+
+		// When
+		parser.parseMillis("2014-12-20T23:02:11.123");
+	}
 }
@@ -0,0 +1,60 @@
+package pl.codewise.amazon.client.xml;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.xmlpull.v1.XmlPullParserFactory;
+import pl.codewise.amazon.client.BulkDeleteResult;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static pl.codewise.amazon.client.xml.XmlResponses.buffer;
+
+public class DeleteResultResponseParserTest {
+
+    private static final String RESULT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<DeleteResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">"
+            + "<Deleted><Key>COUNTRY_BY_DATE/2014/05/PL&amp;&lt;</Key></Deleted>"
+            + "<Deleted>"
+            + "<Key>COUNTRY_BY_DATE/2014/05/US</Key>"
+            + "<DeleteMarker>true</DeleteMarker>"
+            + "<DeleteMarkerVersionId>NeQt5xeFTfgPJD8B4CGWnkSLtluMr11s</DeleteMarkerVersionId>"
+            + "</Deleted>"
+            + "<Error>"
+            + "<Key>COUNTRY_BY_DATE/2014/06/CZ</Key>"
+            + "<Code>AccessDenied</Code>"
+            + "<Message>Access Denied</Message>"
+            + "</Error>"
+            + "</DeleteResult>";
+
+    private DeleteResultResponseParser parser;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        XmlPullParserFactory pullParserFactory = XmlPullParserFactory.newInstance();
+        pullParserFactory.setNamespaceAware(false);
+
+        parser = new DeleteResultResponseParser(pullParserFactory);
+    }
+
+    @Test
+    public void shouldParseDeletedKeysAndErrors() throws IOException {
+        // When
+        BulkDeleteResult result = parser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(RESULT));
+
+        // Then
+        assertThat(result.getDeletedObjects()).hasSize(2);
+        assertThat(result.getDeletedObjects().get(0).getKey()).isEqualTo("COUNTRY_BY_DATE/2014/05/PL&<");
+        assertThat(result.getDeletedObjects().get(0).isDeleteMarker()).isFalse();
+        assertThat(result.getDeletedObjects().get(1).isDeleteMarker()).isTrue();
+        assertThat(result.getDeletedObjects().get(1).getDeleteMarkerVersionId()).isEqualTo("NeQt5xeFTfgPJD8B4CGWnkSLtluMr11s");
+
+        assertThat(result.hasErrors()).isTrue();
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).getKey()).isEqualTo("COUNTRY_BY_DATE/2014/06/CZ");
+        assertThat(result.getErrors().get(0).getCode()).isEqualTo("AccessDenied");
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("Access Denied");
+    }
+}
@@ -0,0 +1,75 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.xmlpull.v1.XmlPullParserFactory;
+import pl.codewise.amazon.client.ClientConfiguration;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static pl.codewise.amazon.client.xml.XmlResponses.buffer;
+
+public class ListObjectsV2ResponseParserTest {
+
+    private static final String LISTING = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">"
+            + "<Name>async-client-test</Name>"
+            + "<Prefix>COUNTRY_BY_DATE/</Prefix>"
+            + "<StartAfter>COUNTRY_BY_DATE/2014/04</StartAfter>"
+            + "<ContinuationToken>1ueGcxLPRx1Tr/XYExHnhbYLgveDs2J/wm36Hy4vbOwM=</ContinuationToken>"
+            + "<NextContinuationToken>2ueGcxLPRx1Tr/XYExHnhbYLgveDs2J/wm36Hy4vbOwM=</NextContinuationToken>"
+            + "<KeyCount>2</KeyCount>"
+            + "<MaxKeys>2</MaxKeys>"
+            + "<Delimiter>/</Delimiter>"
+            + "<IsTruncated>true</IsTruncated>"
+            + "<Contents>"
+            + "<Key>COUNTRY_BY_DATE/2014/05/PL</Key>"
+            + "<LastModified>2014-12-20T23:02:11.123Z</LastModified>"
+            + "<ETag>&quot;5d41402abc4b2a76b9719d911017c592&quot;</ETag>"
+            + "<Size>42</Size>"
+            + "<StorageClass>STANDARD</StorageClass>"
+            + "</Contents>"
+            + "<CommonPrefixes><Prefix>COUNTRY_BY_DATE/2014/06/</Prefix></CommonPrefixes>"
+            + "</ListBucketResult>";
+
+    private XmlPullParserFactory pullParserFactory;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        pullParserFactory = XmlPullParserFactory.newInstance();
+        pullParserFactory.setNamespaceAware(false);
+    }
+
+    @Test
+    public void shouldParseListObjectsV2Result() throws IOException {
+        // Given
+        ListObjectsV2ResponseParser parser = ListObjectsV2ResponseParser.newListObjectsV2ResponseParser(
+                pullParserFactory, ClientConfiguration.builder().build());
+
+        // When
+        ListObjectsV2Result result = parser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(LISTING));
+
+        // Then
+        assertThat(result.getBucketName()).isEqualTo("async-client-test");
+        assertThat(result.getPrefix()).isEqualTo("COUNTRY_BY_DATE/");
+        assertThat(result.getStartAfter()).isEqualTo("COUNTRY_BY_DATE/2014/04");
+        assertThat(result.getContinuationToken()).isEqualTo("1ueGcxLPRx1Tr/XYExHnhbYLgveDs2J/wm36Hy4vbOwM=");
+        assertThat(result.getNextContinuationToken()).isEqualTo("2ueGcxLPRx1Tr/XYExHnhbYLgveDs2J/wm36Hy4vbOwM=");
+        assertThat(result.getKeyCount()).isEqualTo(2);
+        assertThat(result.getMaxKeys()).isEqualTo(2);
+        assertThat(result.isTruncated()).isTrue();
+        assertThat(result.getCommonPrefixes()).containsExactly("COUNTRY_BY_DATE/2014/06/");
+
+        S3ObjectSummary summary = result.getObjectSummaries().get(0);
+        assertThat(summary.getBucketName()).isEqualTo("async-client-test");
+        assertThat(summary.getKey()).isEqualTo("COUNTRY_BY_DATE/2014/05/PL");
+        assertThat(summary.getSize()).isEqualTo(42);
+        assertThat(summary.getLastModified().getTime()).isEqualTo(1419116531123L);
+        assertThat(summary.getOwner()).isNull();
+    }
+}
@@ -0,0 +1,104 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.model.S3VersionSummary;
+import com.amazonaws.services.s3.model.VersionListing;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.xmlpull.v1.XmlPullParserFactory;
+import pl.codewise.amazon.client.ClientConfiguration;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static pl.codewise.amazon.client.xml.XmlResponses.buffer;
+
+public class ListVersionsResponseParserTest {
+
+    private static final String LISTING = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<ListVersionsResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">"
+            + "<Name>async-client-test</Name>"
+            + "<Prefix>COUNTRY_BY_DATE/</Prefix>"
+            + "<KeyMarker></KeyMarker>"
+            + "<VersionIdMarker></VersionIdMarker>"
+            + "<NextKeyMarker>COUNTRY_BY_DATE/2014/05/PL</NextKeyMarker>"
+            + "<NextVersionIdMarker>3/L4kqtJl40Nr8X8gdRQBpUMLUo</NextVersionIdMarker>"
+            + "<MaxKeys>2</MaxKeys>"
+            + "<IsTruncated>true</IsTruncated>"
+            + "<Version>"
+            + "<Key>COUNTRY_BY_DATE/2014/05/PL</Key>"
+            + "<VersionId>3/L4kqtJlcpXroDTDmJ+rmSpXd3dIbrHY+MTRCxf3vjVBH40Nr8X8gdRQBpUMLUo</VersionId>"
+            + "<IsLatest>true</IsLatest>"
+            + "<LastModified>2014-12-20T23:02:11.123Z</LastModified>"
+            + "<ETag>&quot;5d41402abc4b2a76b9719d911017c592&quot;</ETag>"
+            + "<Size>42</Size>"
+            + "<Owner><ID>75aa57f09aa0c8caeab4f8c24e99d10f</ID><DisplayName>webfile</DisplayName></Owner>"
+            + "<StorageClass>STANDARD</StorageClass>"
+            + "</Version>"
+            + "<DeleteMarker>"
+            + "<Key>COUNTRY_BY_DATE/2014/05/PL</Key>"
+            + "<VersionId>3/L4kqtJl40Nr8X8gdRQBpUMLUo</VersionId>"
+            + "<IsLatest>false</IsLatest>"
+            + "<LastModified>2014-12-19T23:02:11.123Z</LastModified>"
+            + "<Owner><ID>75aa57f09aa0c8caeab4f8c24e99d10f</ID><DisplayName>webfile</DisplayName></Owner>"
+            + "</DeleteMarker>"
+            + "</ListVersionsResult>";
+
+    private XmlPullParserFactory pullParserFactory;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        pullParserFactory = XmlPullParserFactory.newInstance();
+        pullParserFactory.setNamespaceAware(false);
+    }
+
+    @Test
+    public void shouldParseVersionsAndDeleteMarkers() throws IOException {
+        // Given
+        ListVersionsResponseParser parser = ListVersionsResponseParser.newListVersionsResponseParser(
+                pullParserFactory, ClientConfiguration.builder().skipParsingOwner().build());
+
+        // When
+        VersionListing listing = parser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(LISTING));
+
+        // Then
+        assertThat(listing.getBucketName()).isEqualTo("async-client-test");
+        assertThat(listing.isTruncated()).isTrue();
+        assertThat(listing.getNextKeyMarker()).isEqualTo("COUNTRY_BY_DATE/2014/05/PL");
+        assertThat(listing.getNextVersionIdMarker()).isEqualTo("3/L4kqtJl40Nr8X8gdRQBpUMLUo");
+        assertThat(listing.getVersionSummaries()).hasSize(2);
+
+        S3VersionSummary version = listing.getVersionSummaries().get(0);
+        assertThat(version.getVersionId()).isEqualTo("3/L4kqtJlcpXroDTDmJ+rmSpXd3dIbrHY+MTRCxf3vjVBH40Nr8X8gdRQBpUMLUo");
+        assertThat(version.isLatest()).isTrue();
+        assertThat(version.isDeleteMarker()).isFalse();
+        assertThat(version.getSize()).isEqualTo(42);
+        assertThat(version.getOwner()).isNull();
+
+        S3VersionSummary deleteMarker = listing.getVersionSummaries().get(1);
+        assertThat(deleteMarker.isDeleteMarker()).isTrue();
+        assertThat(deleteMarker.isLatest()).isFalse();
+        assertThat(deleteMarker.getLastModified().getTime()).isEqualTo(1419030131123L);
+    }
+
+    @Test
+    public void shouldStreamVersionSummaries() throws IOException {
+        // Given
+        ListVersionsResponseParser parser = ListVersionsResponseParser.newListVersionsResponseParser(
+                pullParserFactory, ClientConfiguration.builder().build());
+        List<S3VersionSummary> streamed = new ArrayList<>();
+
+        // When
+        VersionListing listing = parser.streamingTo(streamed::add).parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), buffer(LISTING));
+
+        // Then
+        assertThat(listing.getVersionSummaries()).isEmpty();
+        assertThat(listing.getNextKeyMarker()).isEqualTo("COUNTRY_BY_DATE/2014/05/PL");
+        assertThat(streamed).hasSize(2);
+        assertThat(streamed.get(0).isDeleteMarker()).isFalse();
+        assertThat(streamed.get(1).isDeleteMarker()).isTrue();
+    }
+}
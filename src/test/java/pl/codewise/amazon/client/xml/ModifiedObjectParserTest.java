@@ -0,0 +1,42 @@
+package pl.codewise.amazon.client.xml;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.testng.annotations.Test;
+import pl.codewise.amazon.client.ObjectLease;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ModifiedObjectParserTest {
+
+    @Test
+    public void shouldReturnNothingWhenNotModified() {
+        // Given
+        ByteBuf content = Unpooled.buffer();
+
+        // When
+        Optional<ObjectLease> result = ModifiedObjectParser.getInstance().parse(HttpResponseStatus.NOT_MODIFIED, new DefaultHttpHeaders(), content);
+
+        // Then
+        assertThat(result.isPresent()).isFalse();
+        assertThat(content.refCnt()).isZero();
+    }
+
+    @Test
+    public void shouldLeaseModifiedContent() {
+        // Given
+        ByteBuf content = Unpooled.copiedBuffer("content", StandardCharsets.UTF_8);
+
+        // When
+        Optional<ObjectLease> result = ModifiedObjectParser.getInstance().parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), content);
+
+        // Then
+        assertThat(result.isPresent()).isTrue();
+        assertThat(result.get().getContent()).isSameAs(content);
+    }
+}
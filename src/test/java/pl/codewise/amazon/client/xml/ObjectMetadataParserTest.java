@@ -0,0 +1,34 @@
+package pl.codewise.amazon.client.xml;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ObjectMetadataParserTest {
+
+    @Test
+    public void shouldReadMetadataFromHeaders() {
+        // Given
+        HttpHeaders headers = new DefaultHttpHeaders()
+                .add("Content-Length", "42")
+                .add("Content-Type", "text/plain")
+                .add("ETag", "\"5d41402abc4b2a76b9719d911017c592\"")
+                .add("Last-Modified", "Sat, 20 Dec 2014 23:02:11 GMT")
+                .add("X-Amz-Meta-Country", "PL");
+
+        // When
+        ObjectMetadata metadata = ObjectMetadataParser.getInstance().parse(HttpResponseStatus.OK, headers, Unpooled.EMPTY_BUFFER);
+
+        // Then
+        assertThat(metadata.getContentLength()).isEqualTo(42);
+        assertThat(metadata.getContentType()).isEqualTo("text/plain");
+        assertThat(metadata.getETag()).isEqualTo("5d41402abc4b2a76b9719d911017c592");
+        assertThat(metadata.getLastModified().getTime()).isEqualTo(1419116531000L);
+        assertThat(metadata.getUserMetadata()).containsEntry("country", "PL");
+    }
+}
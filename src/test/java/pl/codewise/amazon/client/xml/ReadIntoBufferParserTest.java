@@ -0,0 +1,104 @@
+package pl.codewise.amazon.client.xml;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static pl.codewise.amazon.client.xml.XmlResponses.buffer;
+
+public class ReadIntoBufferParserTest {
+
+    @Test
+    public void shouldCopyChunksIntoBufferSizedFromContentLength() throws IOException {
+        // Given
+        List<Integer> requestedSizes = new ArrayList<>();
+        ReadIntoBufferParser parser = new ReadIntoBufferParser(size -> {
+            requestedSizes.add(size);
+            return Unpooled.buffer(size, size);
+        });
+        HttpHeaders headers = new DefaultHttpHeaders().set(HttpHeaders.Names.CONTENT_LENGTH, 11);
+
+        // When
+        ContentConsumer<ByteBuf> consumer = parser.newContentConsumer(HttpResponseStatus.OK, headers);
+        consumer.consume(buffer("hello "));
+        consumer.consume(buffer("world"));
+        ByteBuf content = consumer.complete();
+
+        // Then
+        assertThat(requestedSizes).containsExactly(11);
+        assertThat(content.toString(StandardCharsets.UTF_8)).isEqualTo("hello world");
+    }
+
+    @Test
+    public void shouldCopyAggregatedBodyOfUnknownLength() {
+        // Given
+        ReadIntoBufferParser parser = new ReadIntoBufferParser(Unpooled::buffer);
+        ByteBuf body = buffer("hello world");
+
+        // When
+        ContentConsumer<ByteBuf> consumer = parser.newContentConsumer(HttpResponseStatus.OK, new DefaultHttpHeaders());
+        ByteBuf content = parser.parse(HttpResponseStatus.OK, new DefaultHttpHeaders(), body);
+
+        // Then
+        assertThat(consumer).isNull();
+        assertThat(content.toString(StandardCharsets.UTF_8)).isEqualTo("hello world");
+        assertThat(body.refCnt()).isZero();
+    }
+
+    @Test
+    public void shouldWriteIntoWrappedNioBuffer() throws IOException {
+        // Given
+        ByteBuffer target = ByteBuffer.allocate(16);
+        target.position(2);
+        ReadIntoBufferParser parser = new ReadIntoBufferParser(size -> Unpooled.wrappedBuffer(target).clear());
+        HttpHeaders headers = new DefaultHttpHeaders().set(HttpHeaders.Names.CONTENT_LENGTH, 5);
+
+        // When
+        ContentConsumer<ByteBuf> consumer = parser.newContentConsumer(HttpResponseStatus.OK, headers);
+        consumer.consume(buffer("hello"));
+        consumer.complete();
+
+        // Then
+        assertThat(new String(target.array(), 2, 5, StandardCharsets.UTF_8)).isEqualTo("hello");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldReportTargetThatCannotBeObtainedOnceResponseIsComplete() throws IOException {
+        // Given
+        ReadIntoBufferParser parser = new ReadIntoBufferParser(size -> {
+            throw new IllegalArgumentException("Too large");
+        });
+        HttpHeaders headers = new DefaultHttpHeaders().set(HttpHeaders.Names.CONTENT_LENGTH, 5);
+        ContentConsumer<ByteBuf> consumer = parser.newContentConsumer(HttpResponseStatus.OK, headers);
+        consumer.consume(buffer("hello"));
+
+        // When
+        consumer.complete();
+    }
+
+    @Test
+    public void shouldReleaseTargetWhenDiscarded() throws IOException {
+        // Given
+        ByteBuf target = Unpooled.buffer(5);
+        ReadIntoBufferParser parser = new ReadIntoBufferParser(size -> target);
+        HttpHeaders headers = new DefaultHttpHeaders().set(HttpHeaders.Names.CONTENT_LENGTH, 5);
+        ContentConsumer<ByteBuf> consumer = parser.newContentConsumer(HttpResponseStatus.OK, headers);
+        consumer.consume(buffer("hel"));
+
+        // When
+        consumer.discard();
+
+        // Then
+        assertThat(target.refCnt()).isZero();
+    }
+}
@@ -0,0 +1,43 @@
+package pl.codewise.amazon.client.xml;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.nio.charset.StandardCharsets;
+
+final class XmlResponses {
+
+    static final String LISTING = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">"
+            + "<Name>async-client-test</Name>"
+            + "<Prefix>COUNTRY_BY_DATE/2014/</Prefix>"
+            + "<Marker></Marker>"
+            + "<MaxKeys>1000</MaxKeys>"
+            + "<Delimiter>/</Delimiter>"
+            + "<IsTruncated>true</IsTruncated>"
+            + "<Contents>"
+            + "<Key>COUNTRY_BY_DATE/2014/05/PL&amp;&lt;&#x142;&#243;d&#378;</Key>"
+            + "<LastModified>2014-12-20T23:02:11.123Z</LastModified>"
+            + "<ETag>&quot;5d41402abc4b2a76b9719d911017c592&quot;</ETag>"
+            + "<Size>42</Size>"
+            + "<Owner><ID>75aa57f09aa0c8caeab4f8c24e99d10f</ID><DisplayName>webfile</DisplayName></Owner>"
+            + "<StorageClass>STANDARD</StorageClass>"
+            + "</Contents>\n"
+            + "<Contents>\n"
+            + "  <Key>COUNTRY_BY_DATE/2014/05/\u0141\u00D3D\u0179</Key>\n"
+            + "  <LastModified>2014-12-21T01:00:00.000Z</LastModified>\n"
+            + "  <ETag>&quot;7d41402abc4b2a76b9719d911017c592&quot;</ETag>\n"
+            + "  <Size>0</Size>\n"
+            + "  <StorageClass>REDUCED_REDUNDANCY</StorageClass>\n"
+            + "</Contents>"
+            + "<CommonPrefixes><Prefix>COUNTRY_BY_DATE/2014/06/</Prefix></CommonPrefixes>"
+            + "<CommonPrefixes><Prefix>COUNTRY_BY_DATE/2014/07/</Prefix></CommonPrefixes>"
+            + "</ListBucketResult>";
+
+    private XmlResponses() {
+    }
+
+    static ByteBuf buffer(String content) {
+        return Unpooled.copiedBuffer(content, StandardCharsets.UTF_8);
+    }
+}